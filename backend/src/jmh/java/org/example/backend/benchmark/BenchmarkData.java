@@ -0,0 +1,37 @@
+package org.example.backend.benchmark;
+
+import org.example.backend.model.Book;
+import org.example.backend.model.User;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Entities shared by the benchmarks, shaped like the ones the API returns.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static Book book(Long id) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle("Dune");
+        book.setAuthor("Frank Herbert");
+        book.setAmount(5);
+        book.setAmountOfBorrowedBooks(2);
+        book.setVersion(3L);
+        return book;
+    }
+
+    static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("Reader" + id);
+        user.setMembershipDate(Date.valueOf(LocalDate.of(2024, 1, 15)));
+        user.setNumberOfBorrowedBooks(2);
+        user.setVersion(1L);
+        return user;
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.backend.benchmark;
+
+import org.example.backend.BackendApplication;
+import org.example.backend.model.Book;
+import org.example.backend.model.User;
+import org.example.backend.repository.BookRepository;
+import org.example.backend.repository.UserRepository;
+import org.example.backend.service.BookService;
+import org.example.backend.service.BorrowingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the borrow and return service paths, including the aspects, the transaction and the
+ * outbox write, against an in-memory H2 database. Each invocation borrows a book and returns it,
+ * so the data stays the same across iterations; users rotate so the borrowing limit is never hit.
+ * Run with {@code -p hibernateStatistics=true,false} to see what Hibernate statistics cost, and
+ * with {@code -p sqlTrace=true,false} for the sampled SQL trace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BorrowingServiceBenchmark {
+    private static final int USERS = 100;
+
+    @Param({"true"})
+    public boolean hibernateStatistics;
+
+    @Param({"true"})
+    public boolean sqlTrace;
+
+    private ConfigurableApplicationContext context;
+    private BorrowingService borrowingService;
+    private BookService bookService;
+    private List<Long> userIds;
+    private Long bookId;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database=DEFAULT",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.docker.compose.enabled=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=" + hibernateStatistics,
+                        "--sql.trace.enabled=" + sqlTrace,
+                        "--logging.level.root=WARN");
+        borrowingService = context.getBean(BorrowingService.class);
+        bookService = context.getBean(BookService.class);
+
+        Book book = BenchmarkData.book(null);
+        book.setVersion(null);
+        book.setAmount(USERS);
+        book.setAmountOfBorrowedBooks(0);
+        bookId = context.getBean(BookRepository.class).save(book).getId();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = BenchmarkData.user(null);
+            user.setName("Benchmark" + i);
+            user.setNumberOfBorrowedBooks(0);
+            user.setVersion(null);
+            users.add(user);
+        }
+        userIds = context.getBean(UserRepository.class).saveAll(users).stream().map(User::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void borrowAndReturn() {
+        Long userId = userIds.get(next);
+        next = (next + 1) % USERS;
+        borrowingService.borrowBook(userId, bookId);
+        borrowingService.returnBook(userId, bookId);
+    }
+
+    @Benchmark
+    public Book readBook() {
+        return bookService.readBook(bookId);
+    }
+}
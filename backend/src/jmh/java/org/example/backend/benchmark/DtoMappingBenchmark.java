@@ -0,0 +1,60 @@
+package org.example.backend.benchmark;
+
+import org.example.backend.dto.response.BookInformationResponse;
+import org.example.backend.dto.response.BorrowingInformationResponse;
+import org.example.backend.dto.response.UserInformationResponse;
+import org.example.backend.model.Book;
+import org.example.backend.model.Borrowing;
+import org.example.backend.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping entities to the response DTOs returned by the controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+    private Book book;
+    private User user;
+    private Borrowing borrowing;
+
+    @Setup
+    public void setUp() {
+        book = BenchmarkData.book(1L);
+        user = BenchmarkData.user(1L);
+        borrowing = new Borrowing();
+        borrowing.setId(1L);
+        borrowing.setBook(book);
+        borrowing.setUser(user);
+    }
+
+    @Benchmark
+    public BookInformationResponse bookInformationResponse() {
+        return new BookInformationResponse(book);
+    }
+
+    @Benchmark
+    public BorrowingInformationResponse borrowingInformationResponse() {
+        return new BorrowingInformationResponse(borrowing);
+    }
+
+    @Benchmark
+    public UserInformationResponse userInformationResponse() {
+        return new UserInformationResponse(user);
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.dto.request.BookCreationRequest;
+import org.example.backend.dto.response.BookInformationResponse;
+import org.example.backend.dto.response.BorrowedBooksStatisticResponse;
+import org.example.backend.dto.response.UserInformationResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing and reading the snake_case JSON of the API DTOs, with an ObjectMapper configured
+ * the way Spring MVC builds its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    @Param({"100"})
+    public int statisticRows;
+
+    private ObjectMapper objectMapper;
+    private BookInformationResponse book;
+    private UserInformationResponse user;
+    private List<BorrowedBooksStatisticResponse> statistics;
+    private byte[] bookCreationJson;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        book = new BookInformationResponse(BenchmarkData.book(1L));
+        user = new UserInformationResponse(BenchmarkData.user(1L));
+        statistics = new ArrayList<>();
+        for (int i = 0; i < statisticRows; i++) {
+            statistics.add(new BorrowedBooksStatisticResponse("Title" + i, (long) i));
+        }
+        bookCreationJson = "{\"title\":\"Dune\",\"author\":\"Frank Herbert\"}".getBytes();
+    }
+
+    @Benchmark
+    public byte[] writeBook() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(book);
+    }
+
+    @Benchmark
+    public byte[] writeUser() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] writeStatistics() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(statistics);
+    }
+
+    @Benchmark
+    public BookCreationRequest readBookCreationRequest() throws IOException {
+        return objectMapper.readValue(bookCreationJson, BookCreationRequest.class);
+    }
+}
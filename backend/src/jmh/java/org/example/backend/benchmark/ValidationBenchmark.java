@@ -0,0 +1,83 @@
+package org.example.backend.benchmark;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.example.backend.dto.request.BookCreationRequest;
+import org.example.backend.dto.request.BookUpdateRequest;
+import org.example.backend.dto.request.UserInformationRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of Bean Validation of the request DTOs, as done for every {@code @Valid} request body.
+ * Invalid requests are measured separately because building violations is the expensive part.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private BookCreationRequest validBook;
+    private BookCreationRequest invalidBook;
+    private BookUpdateRequest validUpdate;
+    private UserInformationRequest validUser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validBook = new BookCreationRequest("Dune", "Frank Herbert");
+        invalidBook = new BookCreationRequest("dune", "frank");
+        validUpdate = new BookUpdateRequest();
+        validUpdate.setTitle("Dune");
+        validUpdate.setAuthor("Frank Herbert");
+        validUpdate.setAmount(5);
+        validUpdate.setAmountOfBorrowedBooks(2);
+        validUser = new UserInformationRequest();
+        validUser.setName("Reader");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BookCreationRequest>> validBookCreation() {
+        return validator.validate(validBook);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BookCreationRequest>> invalidBookCreation() {
+        return validator.validate(invalidBook);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BookUpdateRequest>> validBookUpdate() {
+        return validator.validate(validUpdate);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserInformationRequest>> validUserInformation() {
+        return validator.validate(validUser);
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.backend.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Additive-increase/multiplicative-decrease concurrency limit of one endpoint.
+ * A call whose latency stays under the threshold raises the limit by one, but only while at least
+ * half of the limit is in use, so an idle endpoint does not grow an unbounded limit.
+ * A slow call or an overload failure multiplies the limit by the backoff ratio.
+ */
+final class AdaptiveLimit {
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile double limit;
+
+    /**
+     * Constructs a new AdaptiveLimit.
+     *
+     * @param initialLimit the limit before any call completed
+     * @param minLimit the lowest limit the backoff may reach
+     * @param maxLimit the highest limit the increase may reach
+     * @param latencyThresholdNanos latency above which a call counts as a sign of overload
+     * @param backoffRatio factor applied to the limit on overload, between 0 and 1
+     */
+    AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Admits a call if fewer calls than the current limit are in flight.
+     *
+     * @return true if the call was admitted and must be completed with {@link #release(long, boolean)}
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= getLimit()) return false;
+            if (inflight.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    /**
+     * Completes an admitted call and adjusts the limit from its outcome.
+     *
+     * @param latencyNanos time the call took
+     * @param overloaded whether the call failed because a downstream resource was saturated
+     */
+    void release(long latencyNanos, boolean overloaded) {
+        int inUse = inflight.getAndDecrement();
+        synchronized (this) {
+            if (overloaded || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (inUse * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    /**
+     * Returns the current limit.
+     *
+     * @return number of calls admitted concurrently
+     */
+    int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Returns the number of admitted calls that have not completed yet.
+     *
+     * @return calls in flight
+     */
+    int getInflight() {
+        return inflight.get();
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.backend.concurrency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Serializes calls of the annotated method per book within this application instance.
+ * The lock is taken before the transaction starts, so callers waiting for a contended book
+ * queue in memory instead of holding a pooled database connection.
+ *
+ * @see BookLockAspect
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BookLock {
+    /**
+     * Name of the method parameter holding the book ID.
+     *
+     * @return parameter name
+     */
+    String value() default "bookId";
+}
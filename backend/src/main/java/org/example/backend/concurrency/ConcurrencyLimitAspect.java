@@ -0,0 +1,129 @@
+package org.example.backend.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.example.backend.exceptions.custom.ServiceOverloadedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits calls of {@link ConcurrencyLimited} endpoints up to an adaptive per-endpoint limit and
+ * rejects the rest with {@link ServiceOverloadedException}, which is answered with 503 and Retry-After.
+ * The limit follows observed latency: it grows while calls finish under the latency threshold and
+ * backs off when they are slow or fail because the connection pool or the database is saturated.
+ * Business failures such as an unavailable book count as ordinary samples.
+ * Rejecting early keeps the admitted requests' latency bounded instead of letting every request
+ * queue for a connection until the pool timeout.
+ */
+@Aspect
+@Component
+@Profile("!reactive")
+@Order(Ordered.LOWEST_PRECEDENCE - 4)
+@ConditionalOnProperty(name = "concurrency.limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitAspect {
+    private final Map<String, EndpointLimit> limits = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    /**
+     * Constructs a new ConcurrencyLimitAspect with the specified limit settings, shared by all endpoints.
+     *
+     * @param meterRegistry the registry receiving limit metrics
+     * @param initialLimit the limit of an endpoint before any call completed
+     * @param minLimit the lowest limit an endpoint backs off to
+     * @param maxLimit the highest limit an endpoint grows to
+     * @param latencyThresholdMs latency above which a call counts as a sign of overload
+     * @param backoffRatio factor applied to the limit on overload
+     */
+    public ConcurrencyLimitAspect(MeterRegistry meterRegistry,
+                                  @Value("${concurrency.limit.initial:20}") int initialLimit,
+                                  @Value("${concurrency.limit.min:2}") int minLimit,
+                                  @Value("${concurrency.limit.max:200}") int maxLimit,
+                                  @Value("${concurrency.limit.latency-threshold-ms:250}") long latencyThresholdMs,
+                                  @Value("${concurrency.limit.backoff-ratio:0.9}") double backoffRatio) {
+        this.meterRegistry = meterRegistry;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs);
+        this.backoffRatio = backoffRatio;
+    }
+
+    /**
+     * Invokes the annotated endpoint if its limit admits another call.
+     *
+     * @param joinPoint the annotated method invocation
+     * @param concurrencyLimited the annotation naming the endpoint
+     * @return the result of the method
+     * @throws ServiceOverloadedException if the endpoint is at its limit
+     * @throws Throwable any exception thrown by the method
+     */
+    @Around("@annotation(concurrencyLimited)")
+    public Object limit(ProceedingJoinPoint joinPoint, ConcurrencyLimited concurrencyLimited) throws Throwable {
+        EndpointLimit endpoint = limits.computeIfAbsent(concurrencyLimited.value(), this::register);
+        if (!endpoint.limit.tryAcquire()) {
+            endpoint.rejected.increment();
+            throw new ServiceOverloadedException("Too many concurrent requests, please try again later");
+        }
+        long start = System.nanoTime();
+        boolean overloaded = false;
+        try {
+            return joinPoint.proceed();
+        } catch (ServiceOverloadedException | CannotCreateTransactionException
+                 | QueryTimeoutException | TransientDataAccessResourceException e) {
+            overloaded = true;
+            throw e;
+        } finally {
+            endpoint.limit.release(System.nanoTime() - start, overloaded);
+        }
+    }
+
+    private EndpointLimit register(String endpoint) {
+        AdaptiveLimit limit = new AdaptiveLimit(initialLimit, minLimit, maxLimit, latencyThresholdNanos, backoffRatio);
+        Gauge.builder("concurrency.limit", limit, AdaptiveLimit::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("concurrency.inflight", limit, AdaptiveLimit::getInflight)
+                .description("Admitted calls in flight")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Counter rejected = Counter.builder("concurrency.rejected")
+                .description("Calls rejected because the endpoint was at its limit")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        return new EndpointLimit(limit, rejected);
+    }
+
+    /**
+     * Limit of one endpoint together with its rejection counter.
+     */
+    private static final class EndpointLimit {
+        private final AdaptiveLimit limit;
+        private final Counter rejected;
+
+        private EndpointLimit(AdaptiveLimit limit, Counter rejected) {
+            this.limit = limit;
+            this.rejected = rejected;
+        }
+    }
+}
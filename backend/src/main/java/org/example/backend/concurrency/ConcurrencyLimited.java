@@ -0,0 +1,25 @@
+package org.example.backend.concurrency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caps the number of concurrent calls of the annotated endpoint with an adaptive limit.
+ * Calls above the limit are rejected immediately instead of queueing for a pooled connection.
+ *
+ * @see ConcurrencyLimitAspect
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimited {
+    /**
+     * Name of the endpoint, used as the metrics tag; methods sharing a name share one limit.
+     *
+     * @return endpoint name
+     */
+    String value();
+}
@@ -0,0 +1,28 @@
+package org.example.backend.concurrency;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Value;
+
+/**
+ * A row that lost optimistic locking races, as listed by {@link OptimisticConflictsEndpoint}.
+ */
+@Value
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class ContendedRow {
+    /**
+     * Simple class name of the entity, e.g. {@code Book}.
+     */
+    String entity;
+
+    /**
+     * ID of the row.
+     */
+    String id;
+
+    /**
+     * Version conflicts on the row since startup; an upper bound for rows that entered the
+     * tracked set after another row was dropped from it.
+     */
+    long conflicts;
+}
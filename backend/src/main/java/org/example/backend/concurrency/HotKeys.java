@@ -0,0 +1,71 @@
+package org.example.backend.concurrency;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed-size sketch of the most frequent keys, using the Space-Saving algorithm: it keeps at most
+ * {@code capacity} counters, and a new key replaces the key with the lowest count, inheriting
+ * that count. Every key seen more often than {@code total / capacity} times is kept, and the count
+ * of a key exceeds its true count by at most the count it inherited, so the heaviest keys and
+ * their order are reliable while the memory stays bounded however many keys there are.
+ *
+ * @param <K> the key type
+ */
+public final class HotKeys<K> {
+    private final int capacity;
+    private final Map<K, long[]> counts = new HashMap<>();
+
+    /**
+     * Creates a sketch keeping the specified number of counters.
+     *
+     * @param capacity maximum number of keys tracked at once
+     */
+    public HotKeys(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Counts one occurrence of the key.
+     *
+     * @param key the key
+     */
+    public synchronized void record(K key) {
+        long[] count = counts.get(key);
+        if (count != null) {
+            count[0]++;
+            return;
+        }
+        long inherited = 0;
+        if (counts.size() >= capacity) {
+            Map.Entry<K, long[]> lowest = null;
+            for (Map.Entry<K, long[]> entry : counts.entrySet()) {
+                if (lowest == null || entry.getValue()[0] < lowest.getValue()[0]) {
+                    lowest = entry;
+                }
+            }
+            counts.remove(lowest.getKey());
+            inherited = lowest.getValue()[0];
+        }
+        counts.put(key, new long[]{inherited + 1});
+    }
+
+    /**
+     * Returns the keys with the highest counts.
+     *
+     * @param limit maximum number of keys to return
+     * @return keys and their estimated counts, highest first
+     */
+    public synchronized List<Map.Entry<K, Long>> top(int limit) {
+        List<Map.Entry<K, Long>> top = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> top.add(Map.entry(key, count[0])));
+        top.sort(Map.Entry.<K, Long>comparingByValue(Comparator.reverseOrder()));
+        return top.subList(0, Math.min(limit, top.size()));
+    }
+}
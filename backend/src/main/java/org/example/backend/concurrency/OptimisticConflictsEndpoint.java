@@ -0,0 +1,41 @@
+package org.example.backend.concurrency;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint at {@code /actuator/conflicts} listing the rows with the most optimistic
+ * locking conflicts, e.g. {@code /actuator/conflicts?limit=10}, to find hot books and users that
+ * the bounded {@code optimistic.lock.conflicts} metric does not tag.
+ */
+@Component
+@Endpoint(id = "conflicts")
+public class OptimisticConflictsEndpoint {
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final OptimisticRetryAspect optimisticRetryAspect;
+
+    /**
+     * Constructs a new OptimisticConflictsEndpoint reading the specified aspect's counts.
+     *
+     * @param optimisticRetryAspect the aspect counting conflicts per row
+     */
+    public OptimisticConflictsEndpoint(OptimisticRetryAspect optimisticRetryAspect) {
+        this.optimisticRetryAspect = optimisticRetryAspect;
+    }
+
+    /**
+     * Returns the most contended rows.
+     *
+     * @param limit maximum number of rows, 20 by default
+     * @return rows with their conflict counts, most contended first
+     */
+    @ReadOperation
+    public List<ContendedRow> rows(@Nullable Integer limit) {
+        return optimisticRetryAspect.contendedRows(limit == null ? DEFAULT_LIMIT : limit);
+    }
+}
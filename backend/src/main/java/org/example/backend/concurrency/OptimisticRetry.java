@@ -0,0 +1,20 @@
+package org.example.backend.concurrency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a transactional service method that is re-run when its transaction fails with an
+ * optimistic locking conflict, i.e. another transaction changed the same versioned row first.
+ * The method must be safe to run again from the start: it has to re-read the entities it changes.
+ *
+ * @see OptimisticRetryAspect
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OptimisticRetry {
+}
@@ -0,0 +1,142 @@
+package org.example.backend.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Re-runs {@link OptimisticRetry} methods that failed with a version conflict.
+ * Ordered before the transaction interceptor, so every attempt runs in a fresh transaction and
+ * re-reads the current row versions. Attempts are bounded and separated by a randomized
+ * exponential backoff, which spreads out writers that collided on the same row.
+ * Every conflict is counted in {@code optimistic.lock.conflicts}, tagged with the entity type and
+ * the retried method, so the number of series stays bounded. The contended rows are counted in a
+ * fixed-size {@link HotKeys} sketch instead, which {@link OptimisticConflictsEndpoint} lists to
+ * find hot books and users.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class OptimisticRetryAspect {
+    private final MeterRegistry meterRegistry;
+    private final HotKeys<Row> contendedRows;
+
+    @Value("${optimistic-retry.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${optimistic-retry.initial-backoff-ms:5}")
+    private long initialBackoffMs;
+
+    @Value("${optimistic-retry.max-backoff-ms:200}")
+    private long maxBackoffMs;
+
+    /**
+     * Constructs a new OptimisticRetryAspect with the specified meter registry.
+     *
+     * @param meterRegistry the registry receiving conflict metrics
+     * @param hotRows number of contended rows tracked at once
+     */
+    public OptimisticRetryAspect(MeterRegistry meterRegistry,
+                                 @Value("${optimistic-retry.hot-rows:100}") int hotRows) {
+        this.meterRegistry = meterRegistry;
+        this.contendedRows = new HotKeys<>(hotRows);
+    }
+
+    /**
+     * Invokes the annotated method, retrying it on optimistic locking conflicts.
+     * Inside an already running transaction the call is not retried, because the outer
+     * transaction is rolled back anyway.
+     *
+     * @param joinPoint the annotated method invocation
+     * @return the result of the first successful attempt
+     * @throws Throwable the exception of the last attempt, or any non-conflict exception
+     */
+    @Around("@annotation(org.example.backend.concurrency.OptimisticRetry)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                recordConflict(e, joinPoint);
+                if (attempt >= maxAttempts) {
+                    meterRegistry.counter("optimistic.lock.retries.exhausted",
+                            "method", joinPoint.getSignature().toShortString()).increment();
+                    throw e;
+                }
+                if (!backoff(attempt)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void recordConflict(OptimisticLockingFailureException e, ProceedingJoinPoint joinPoint) {
+        String entity = "unknown";
+        Object id = null;
+        if (e instanceof ObjectOptimisticLockingFailureException conflict && conflict.getPersistentClassName() != null) {
+            String className = conflict.getPersistentClassName();
+            entity = className.substring(className.lastIndexOf('.') + 1);
+            id = conflict.getIdentifier();
+        }
+        String method = joinPoint.getSignature().toShortString();
+        meterRegistry.counter("optimistic.lock.conflicts", "entity", entity, "method", method).increment();
+        if (id != null) {
+            contendedRows.record(new Row(entity, id.toString()));
+        }
+        log.debug("Version conflict on {} {} in {}", entity, id, method);
+    }
+
+    /**
+     * Returns the rows with the most conflicts since startup.
+     *
+     * @param limit maximum number of rows
+     * @return the most contended rows, most conflicts first
+     */
+    public List<ContendedRow> contendedRows(int limit) {
+        return contendedRows.top(limit).stream()
+                .map(entry -> new ContendedRow(entry.getKey().entity, entry.getKey().id, entry.getValue()))
+                .toList();
+    }
+
+    private boolean backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+            return true;
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Entity type and ID of a contended row.
+     */
+    @EqualsAndHashCode
+    private static final class Row {
+        private final String entity;
+        private final String id;
+
+        private Row(String entity, String id) {
+            this.entity = entity;
+            this.id = id;
+        }
+    }
+}
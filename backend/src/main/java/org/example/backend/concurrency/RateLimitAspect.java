@@ -0,0 +1,153 @@
+package org.example.backend.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.example.backend.exceptions.custom.RateLimitExceededException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits calls of {@link RateLimited} endpoints only while the caller's token bucket holds a token,
+ * and rejects the rest with {@link RateLimitExceededException}, which is answered with 429 and Retry-After.
+ * Ordered before {@link ConcurrencyLimitAspect}, so a rejected call takes no concurrency slot and no
+ * database connection.
+ * Buckets are kept per endpoint and key in maps bounded by {@code rate-limit.max-keys}; buckets that
+ * have refilled completely are evicted periodically, since a full bucket behaves like a new one.
+ * When a map is still full after eviction, callers without a bucket are admitted untracked rather than
+ * rejected, so a flood of distinct keys cannot lock out every other client.
+ */
+@Aspect
+@Component
+@Profile("!reactive")
+@Order(Ordered.LOWEST_PRECEDENCE - 5)
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitAspect {
+    private final Map<String, EndpointBuckets> endpoints = new ConcurrentHashMap<>();
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final int maxKeys;
+
+    /**
+     * Constructs a new RateLimitAspect.
+     *
+     * @param environment the environment holding the per-endpoint rates
+     * @param meterRegistry the registry receiving rate limit metrics
+     * @param maxKeys maximum number of buckets kept per endpoint
+     */
+    public RateLimitAspect(Environment environment, MeterRegistry meterRegistry,
+                           @Value("${rate-limit.max-keys:100000}") int maxKeys) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Invokes the annotated endpoint if the caller's bucket holds a token.
+     *
+     * @param joinPoint the annotated method invocation
+     * @param rateLimited the annotation naming the endpoint and the key parameter
+     * @return the result of the method
+     * @throws RateLimitExceededException if the caller's bucket is empty
+     * @throws Throwable any exception thrown by the method
+     */
+    @Around("@annotation(rateLimited)")
+    public Object limit(ProceedingJoinPoint joinPoint, RateLimited rateLimited) throws Throwable {
+        EndpointBuckets endpoint = endpoints.computeIfAbsent(rateLimited.value(), this::register);
+        long now = System.nanoTime();
+        TokenBucket bucket = endpoint.bucket(key(joinPoint, rateLimited.key()), now);
+        if (bucket != null) {
+            long waitNanos = bucket.tryAcquire(now, endpoint.intervalNanos, endpoint.toleranceNanos);
+            if (waitNanos > 0) {
+                endpoint.rejected.increment();
+                long retryAfterSeconds = (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+                throw new RateLimitExceededException("Too many requests, please slow down", retryAfterSeconds);
+            }
+        }
+        return joinPoint.proceed();
+    }
+
+    /**
+     * Evicts buckets that have refilled completely.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:10000}")
+    public void evictFullBuckets() {
+        long now = System.nanoTime();
+        endpoints.values().forEach(endpoint -> endpoint.evictFull(now));
+    }
+
+    private EndpointBuckets register(String endpoint) {
+        String prefix = "rate-limit.endpoints." + endpoint + ".";
+        double permitsPerSecond = environment.getProperty(prefix + "permits-per-second", Double.class,
+                environment.getProperty("rate-limit.default.permits-per-second", Double.class, 10.0));
+        int burst = environment.getProperty(prefix + "burst", Integer.class,
+                environment.getProperty("rate-limit.default.burst", Integer.class, 20));
+        EndpointBuckets buckets = new EndpointBuckets(permitsPerSecond, burst, maxKeys,
+                meterRegistry.counter("rate.limit.rejected", "endpoint", endpoint),
+                meterRegistry.counter("rate.limit.untracked", "endpoint", endpoint));
+        meterRegistry.gaugeMapSize("rate.limit.buckets", Tags.of("endpoint", endpoint), buckets.buckets);
+        return buckets;
+    }
+
+    private static Object key(ProceedingJoinPoint joinPoint, String parameterName) {
+        String[] parameterNames = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
+        Object[] args = joinPoint.getArgs();
+        for (int i = 0; i < parameterNames.length; i++) {
+            if (parameterNames[i].equals(parameterName) && args[i] != null) {
+                return args[i];
+            }
+        }
+        throw new IllegalArgumentException("Rate limit key parameter '" + parameterName + "' is missing or null");
+    }
+
+    /**
+     * Buckets of one endpoint together with its rate and metrics.
+     */
+    private static final class EndpointBuckets {
+        private final Map<Object, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final long intervalNanos;
+        private final long toleranceNanos;
+        private final int maxKeys;
+        private final Counter rejected;
+        private final Counter untracked;
+
+        private EndpointBuckets(double permitsPerSecond, int burst, int maxKeys, Counter rejected, Counter untracked) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+            this.toleranceNanos = (Math.max(1, burst) - 1) * intervalNanos;
+            this.maxKeys = maxKeys;
+            this.rejected = rejected;
+            this.untracked = untracked;
+        }
+
+        private TokenBucket bucket(Object key, long now) {
+            TokenBucket bucket = buckets.get(key);
+            if (bucket != null) return bucket;
+            if (buckets.size() >= maxKeys) {
+                evictFull(now);
+                if (buckets.size() >= maxKeys) {
+                    untracked.increment();
+                    return null;
+                }
+            }
+            return buckets.computeIfAbsent(key, k -> new TokenBucket(now));
+        }
+
+        private void evictFull(long now) {
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.backend.concurrency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits the request rate of the annotated endpoint per client, with one token bucket per key.
+ * The rate and burst are configured per endpoint under {@code rate-limit.endpoints.<name>}.
+ *
+ * @see RateLimitAspect
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    /**
+     * Name of the endpoint, used for its configuration and as the metrics tag.
+     *
+     * @return endpoint name
+     */
+    String value();
+
+    /**
+     * Name of the method parameter holding the client key.
+     *
+     * @return parameter name
+     */
+    String key() default "user_id";
+}
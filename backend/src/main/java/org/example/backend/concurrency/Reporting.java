@@ -0,0 +1,19 @@
+package org.example.backend.concurrency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read-only reporting query. Calls run on the bounded reporting executor with their own
+ * timeout, and take their connection from the reporting pool instead of the primary pool.
+ *
+ * @see ReportingAspect
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Reporting {
+}
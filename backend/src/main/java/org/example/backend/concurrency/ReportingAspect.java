@@ -0,0 +1,144 @@
+package org.example.backend.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.example.backend.datasource.ReadOnlyRoutingDataSource;
+import org.example.backend.exceptions.custom.ServiceOverloadedException;
+import org.example.backend.tracing.TaskContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs methods annotated with {@link Reporting} on a small bounded executor, in a read-only
+ * transaction with a timeout, on connections of the reporting pool.
+ * The executor has as many threads as the reporting pool has connections and a short queue;
+ * when both are full, or a query does not finish in time, the caller gets
+ * {@link ServiceOverloadedException} instead of waiting. Ordered before the transaction
+ * interceptor, so the transaction starts on the reporting thread. The call runs in the caller's
+ * {@link TaskContext}, so its spans and log lines belong to the caller's trace.
+ */
+@Aspect
+@Component
+@Profile("!reactive")
+@Order(Ordered.LOWEST_PRECEDENCE - 3)
+public class ReportingAspect {
+    private final ThreadPoolExecutor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final long timeoutMs;
+    private final Timer queueWait;
+    private final Counter rejected;
+    private final Counter timeouts;
+
+    /**
+     * Constructs a new ReportingAspect with the specified executor limits.
+     *
+     * @param transactionManager the transaction manager used for reporting transactions
+     * @param meterRegistry the registry receiving executor metrics
+     * @param threads number of reporting threads, at most the size of the reporting pool
+     * @param queueCapacity number of reporting calls that may wait for a thread
+     * @param timeoutMs maximum time a caller waits for a reporting result
+     */
+    public ReportingAspect(PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${reporting.threads:4}") int threads,
+                           @Value("${reporting.queue-capacity:16}") int queueCapacity,
+                           @Value("${reporting.timeout-ms:10000}") long timeoutMs) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("reporting-"));
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMs)));
+        this.timeoutMs = timeoutMs;
+        this.queueWait = Timer.builder("reporting.queue.wait")
+                .description("Time reporting calls wait for a reporting thread")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = meterRegistry.counter("reporting.rejected");
+        this.timeouts = meterRegistry.counter("reporting.timeouts");
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "reporting");
+    }
+
+    /**
+     * Invokes the annotated method on the reporting executor and waits for its result.
+     *
+     * @param joinPoint the annotated method invocation
+     * @return the result of the method
+     * @throws Throwable any exception thrown by the method
+     */
+    @Around("@annotation(org.example.backend.concurrency.Reporting)")
+    public Object report(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ReadOnlyRoutingDataSource.isReporting()) {
+            return joinPoint.proceed();
+        }
+        long submitted = System.nanoTime();
+        TaskContext context = TaskContext.capture();
+        Future<Object> result;
+        try {
+            result = executor.submit(context.wrap(() -> {
+                queueWait.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return ReadOnlyRoutingDataSource.onReporting(() -> transactionTemplate.execute(status -> proceed(joinPoint)));
+            }));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceOverloadedException("Too many reporting requests, please try again later");
+        }
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            timeouts.increment();
+            throw new ServiceOverloadedException("Reporting request timed out, please try again later");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof ReportingFailure failure ? failure.getCause() : cause;
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Reporting request was interrupted");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static Object proceed(ProceedingJoinPoint joinPoint) {
+        try {
+            return joinPoint.proceed();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ReportingFailure(e);
+        }
+    }
+
+    /**
+     * Carries a checked exception of the reporting method back to the caller.
+     */
+    private static final class ReportingFailure extends RuntimeException {
+        private ReportingFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+}
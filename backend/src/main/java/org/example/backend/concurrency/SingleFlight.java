@@ -0,0 +1,25 @@
+package org.example.backend.concurrency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets concurrent calls of the annotated read method with equal arguments share one execution.
+ * The result is shared by reference, so callers must not modify it.
+ *
+ * @see SingleFlightAspect
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SingleFlight {
+    /**
+     * Name of the read, used as part of the key and as the metrics tag.
+     *
+     * @return read name
+     */
+    String value();
+}
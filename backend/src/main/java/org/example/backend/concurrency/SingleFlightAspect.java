@@ -0,0 +1,124 @@
+package org.example.backend.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.example.backend.datasource.ReadOnlyRoutingDataSource;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces concurrent {@link SingleFlight} calls with equal arguments: the first caller runs the
+ * method, and callers arriving while it runs wait for and share its result or exception.
+ * Nothing is kept once the call completes, so a later caller always runs a new query; a read cache
+ * in front of the method keeps working as before and only its misses are coalesced.
+ * Ordered before {@link ReportingAspect} and the transaction interceptor, so waiting callers take
+ * neither a reporting slot nor a connection. Calls made inside a transaction are never coalesced,
+ * because they must see their own persistence context, and callers pinned to the primary only
+ * share calls with other pinned callers.
+ */
+@Aspect
+@Component
+@Profile("!reactive")
+@Order(Ordered.LOWEST_PRECEDENCE - 4)
+public class SingleFlightAspect {
+    private final Map<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, FlightMetrics> metrics = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructs a new SingleFlightAspect.
+     *
+     * @param meterRegistry the registry receiving coalescing metrics
+     */
+    public SingleFlightAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs the annotated method, or joins an equal call that is already running.
+     *
+     * @param joinPoint the annotated method invocation
+     * @param singleFlight the annotation naming the read
+     * @return the result of the method or of the joined call
+     * @throws Throwable any exception thrown by the method or by the joined call
+     */
+    @Around("@annotation(singleFlight)")
+    public Object coalesce(ProceedingJoinPoint joinPoint, SingleFlight singleFlight) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        FlightMetrics flightMetrics = metrics.computeIfAbsent(singleFlight.value(), this::register);
+        flightMetrics.calls.increment();
+        List<Object> key = Arrays.asList(singleFlight.value(), ReadOnlyRoutingDataSource.isPinnedToPrimary(),
+                Arrays.asList(joinPoint.getArgs()));
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            flightMetrics.shared.increment();
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        }
+        try {
+            Object result = joinPoint.proceed();
+            inFlight.remove(key, own);
+            own.complete(result);
+            return result;
+        } catch (Throwable e) {
+            inFlight.remove(key, own);
+            own.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private FlightMetrics register(String name) {
+        FlightMetrics flightMetrics = new FlightMetrics(
+                Counter.builder("singleflight.calls")
+                        .description("Calls of a single-flight read outside a transaction")
+                        .tag("name", name)
+                        .register(meterRegistry),
+                Counter.builder("singleflight.shared")
+                        .description("Calls that shared the result of an equal call already running")
+                        .tag("name", name)
+                        .register(meterRegistry));
+        Gauge.builder("singleflight.coalescing.ratio", flightMetrics, FlightMetrics::ratio)
+                .description("Share of calls answered by another call's query")
+                .tag("name", name)
+                .register(meterRegistry);
+        return flightMetrics;
+    }
+
+    /**
+     * Call counters of one single-flight read.
+     */
+    private static final class FlightMetrics {
+        private final Counter calls;
+        private final Counter shared;
+
+        private FlightMetrics(Counter calls, Counter shared) {
+            this.calls = calls;
+            this.shared = shared;
+        }
+
+        private double ratio() {
+            double total = calls.count();
+            return total == 0 ? 0.0 : shared.count() / total;
+        }
+    }
+}
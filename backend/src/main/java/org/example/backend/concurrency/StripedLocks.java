@@ -0,0 +1,86 @@
+package org.example.backend.concurrency;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed table of locks indexed by the hash of a key. Callers using the same key always get the
+ * same lock, while different keys only share a lock when they fall into the same stripe, so the
+ * memory cost stays constant no matter how many keys exist.
+ */
+public final class StripedLocks {
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    /**
+     * Creates a lock table with at least the requested number of stripes, rounded up to a power of two.
+     *
+     * @param stripes minimum number of stripes
+     */
+    public StripedLocks(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Number of stripes must be positive");
+        }
+        int size = Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new ReentrantLock[Math.max(size, 1)];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock(true);
+        }
+        this.mask = this.stripes.length - 1;
+    }
+
+    /**
+     * Returns the lock guarding the given key.
+     *
+     * @param key the key, e.g. a book ID
+     * @return the lock of the key's stripe
+     */
+    public ReentrantLock get(Object key) {
+        return stripes[index(key)];
+    }
+
+    /**
+     * Returns the distinct locks guarding the given keys, ordered by stripe, so callers taking
+     * several locks always take them in the same order.
+     *
+     * @param keys the keys, e.g. book IDs
+     * @return the locks of the keys' stripes, each once
+     */
+    public List<ReentrantLock> getAll(Collection<?> keys) {
+        int[] indexes = keys.stream().mapToInt(this::index).distinct().sorted().toArray();
+        List<ReentrantLock> locks = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            locks.add(stripes[index]);
+        }
+        return locks;
+    }
+
+    /**
+     * Returns the number of stripes in the table.
+     *
+     * @return number of stripes
+     */
+    public int size() {
+        return stripes.length;
+    }
+
+    /**
+     * Returns the number of threads currently waiting for any stripe.
+     *
+     * @return estimated number of waiting threads
+     */
+    public int getQueueLength() {
+        int waiting = 0;
+        for (ReentrantLock stripe : stripes) {
+            waiting += stripe.getQueueLength();
+        }
+        return waiting;
+    }
+
+    private int index(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
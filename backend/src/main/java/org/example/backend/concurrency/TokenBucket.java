@@ -0,0 +1,54 @@
+package org.example.backend.concurrency;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket of one client, kept as a single theoretical arrival time (the
+ * generic cell rate algorithm form of a token bucket), so admitting a request is one CAS.
+ * The bucket is full again once the theoretical arrival time lies in the past; such a bucket
+ * behaves exactly like a new one and can be evicted.
+ */
+final class TokenBucket {
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * Constructs a new, full TokenBucket.
+     *
+     * @param now the current {@link System#nanoTime()}
+     */
+    TokenBucket(long now) {
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @param intervalNanos time in which one token is refilled
+     * @param toleranceNanos how far ahead of its rate the client may run, i.e. (burst - 1) intervals
+     * @return 0 if a token was taken, otherwise nanoseconds until one is available
+     */
+    long tryAcquire(long now, long intervalNanos, long toleranceNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long start = Math.max(arrival, now);
+            long ahead = start - now;
+            if (ahead > toleranceNanos) {
+                return ahead - toleranceNanos;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns whether the bucket has refilled completely.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return true if the bucket holds its full burst
+     */
+    boolean isFull(long now) {
+        return theoreticalArrival.get() - now <= 0;
+    }
+}
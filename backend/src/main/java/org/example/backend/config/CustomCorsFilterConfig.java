@@ -6,6 +6,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
+import org.springframework.context.annotation.Profile;
 
 /**
  * Configuration class for CORS (Cross-Origin Resource Sharing) settings.
@@ -13,6 +14,7 @@ import org.springframework.web.filter.CorsFilter;
  * with common HTTP methods and headers.
  */
 @Configuration
+@Profile("!reactive")
 public class CustomCorsFilterConfig {
 
     /**
@@ -0,0 +1,34 @@
+package org.example.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+/**
+ * Configuration class for CORS (Cross-Origin Resource Sharing) settings of the reactive stack.
+ * Applies the same permissive policy as {@link CustomCorsFilterConfig} when the "reactive" profile is active.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveCorsFilterConfig {
+
+    /**
+     * Creates a CORS web filter allowing requests from any origin with any method and header.
+     *
+     * @return CorsWebFilter configured with the CORS settings
+     */
+    @Bean
+    public CorsWebFilter corsWebFilter() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.addAllowedOrigin("*");
+        configuration.addAllowedMethod("*");
+        configuration.addAllowedHeader("*");
+
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return new CorsWebFilter(source);
+    }
+}
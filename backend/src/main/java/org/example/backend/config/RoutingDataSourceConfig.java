@@ -0,0 +1,147 @@
+package org.example.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.example.backend.datasource.ReadOnlyRoutingDataSource;
+import org.example.backend.datasource.ReadYourWritesFilter;
+import org.example.backend.sql.SqlTrace;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Set;
+
+/**
+ * Configuration splitting database traffic between separate connection pools.
+ * Writes and ordinary reads use the primary pool configured by {@code spring.datasource.*}.
+ * Reporting queries use a small reporting pool, so a burst of statistics requests cannot take
+ * the connections borrows and returns need. When {@code datasource.replica.url} is set,
+ * read-only transactions use a replica pool, and reporting queries go to the replica database too.
+ * Every pool reports its metrics and long connection waits through the same tracker factory.
+ * Statements on all pools pass through the {@link SqlTrace} listener.
+ */
+@Configuration
+@Profile("!reactive")
+public class RoutingDataSourceConfig {
+
+    /**
+     * Creates the primary connection pool from the standard datasource properties.
+     *
+     * @param properties the {@code spring.datasource.*} properties
+     * @param metricsTrackerFactory the tracker recording pool metrics and connection waits
+     * @return the primary pool
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties,
+                                              MetricsTrackerFactory metricsTrackerFactory) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        dataSource.setMetricsTrackerFactory(metricsTrackerFactory);
+        return dataSource;
+    }
+
+    /**
+     * Creates the replica connection pool.
+     *
+     * @param url the JDBC URL of the replica
+     * @param username the replica user, the primary's by default
+     * @param password the replica password, the primary's by default
+     * @param metricsTrackerFactory the tracker recording pool metrics and connection waits
+     * @return the replica pool
+     */
+    @Bean
+    @ConditionalOnProperty(name = "datasource.replica.url")
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${datasource.replica.url}") String url,
+                                              @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${datasource.replica.password:${spring.datasource.password:}}") String password,
+                                              MetricsTrackerFactory metricsTrackerFactory) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMetricsTrackerFactory(metricsTrackerFactory);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Creates the reporting connection pool, pointing at the replica if there is one.
+     *
+     * @param properties the {@code spring.datasource.*} properties
+     * @param replicaUrl the JDBC URL of the replica, or empty
+     * @param replicaUsername the replica user
+     * @param replicaPassword the replica password
+     * @param maximumPoolSize the pool size, one connection per reporting thread by default
+     * @param metricsTrackerFactory the tracker recording pool metrics and connection waits
+     * @return the reporting pool
+     */
+    @Bean
+    @ConfigurationProperties("datasource.reporting.hikari")
+    public HikariDataSource reportingDataSource(DataSourceProperties properties,
+                                                @Value("${datasource.replica.url:}") String replicaUrl,
+                                                @Value("${datasource.replica.username:${spring.datasource.username:}}") String replicaUsername,
+                                                @Value("${datasource.replica.password:${spring.datasource.password:}}") String replicaPassword,
+                                                @Value("${datasource.reporting.hikari.maximum-pool-size:${reporting.threads:4}}") int maximumPoolSize,
+                                                MetricsTrackerFactory metricsTrackerFactory) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (!replicaUrl.isEmpty()) {
+            dataSource.setJdbcUrl(replicaUrl);
+            dataSource.setUsername(replicaUsername);
+            dataSource.setPassword(replicaPassword);
+        }
+        dataSource.setPoolName("reporting");
+        dataSource.setMetricsTrackerFactory(metricsTrackerFactory);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Creates the data source used by JPA, routing each connection when it is first used.
+     *
+     * @param primary the primary pool
+     * @param replica the replica pool, if configured
+     * @param reporting the reporting pool
+     * @param sqlTrace the statement trace, unless disabled
+     * @return the routing data source
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") ObjectProvider<DataSource> replica,
+                                 @Qualifier("reportingDataSource") DataSource reporting,
+                                 ObjectProvider<SqlTrace> sqlTrace) {
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReadOnlyRoutingDataSource(primary, replica.getIfAvailable(), reporting));
+        SqlTrace trace = sqlTrace.getIfAvailable();
+        return trace == null ? routing : ProxyDataSourceBuilder.create("dataSource", routing).listener(trace).build();
+    }
+
+    /**
+     * Creates the filter keeping a client on the primary for a short time after it wrote.
+     * {@code POST /borrowing/name} only reads; it takes its user name as a request body.
+     *
+     * @param windowSeconds how long after a write the client reads from the primary
+     * @return the filter
+     */
+    @Bean
+    @ConditionalOnProperty(name = "datasource.replica.url")
+    public ReadYourWritesFilter readYourWritesFilter(@Value("${datasource.replica.read-your-writes-seconds:2}") int windowSeconds) {
+        return new ReadYourWritesFilter(windowSeconds, Set.of("/borrowing/name"));
+    }
+}
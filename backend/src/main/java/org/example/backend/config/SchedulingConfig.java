@@ -0,0 +1,23 @@
+package org.example.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class enabling Spring's scheduled task execution.
+ * All {@code @Scheduled} jobs run on the one auto-configured scheduler:
+ * <ul>
+ *     <li>flushing buffered availability events to SSE subscribers</li>
+ *     <li>draining the SQL trace queue</li>
+ *     <li>evicting idle rate limit buckets</li>
+ *     <li>refreshing the statistics snapshots, which waits on the reporting executor</li>
+ *     <li>relaying the outbox, which waits on the outbox sink</li>
+ * </ul>
+ * A fixed-delay job never overlaps itself, so {@code spring.task.scheduling.pool.size} is set to
+ * one thread per job; with fewer, the two blocking jobs can hold every thread and delay the
+ * others. A new job needs another thread.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
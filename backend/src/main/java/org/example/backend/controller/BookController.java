@@ -1,14 +1,21 @@
 package org.example.backend.controller;
 
 import jakarta.validation.Valid;
+import org.example.backend.concurrency.ConcurrencyLimited;
 import org.example.backend.dto.request.BookCreationRequest;
 import org.example.backend.dto.request.BookUpdateRequest;
+import org.example.backend.dto.response.BookAvailabilityResponse;
 import org.example.backend.dto.response.BookInformationResponse;
+import org.example.backend.event.BookAvailabilityChangedEvent;
 import org.example.backend.model.Book;
+import org.example.backend.readmodel.BookAvailabilityReadModel;
+import org.example.backend.readmodel.PackedAvailabilityMap;
 import org.example.backend.service.BookService;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.context.annotation.Profile;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -22,22 +29,28 @@ import io.swagger.v3.oas.annotations.media.Schema;
  * Provides endpoints for creating, reading, updating, and deleting books.
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/book")
 @Tag(name = "Book Management", description = "API for book management operations")
 public class BookController {
     private final BookService bookService;
+    private final BookAvailabilityReadModel availabilityReadModel;
 
     /**
      * Constructs a new BookController with the specified book service.
      *
      * @param bookService the book service implementation
+     * @param availabilityReadModel the in-memory availability of every book
      */
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, BookAvailabilityReadModel availabilityReadModel) {
         this.bookService = bookService;
+        this.availabilityReadModel = availabilityReadModel;
     }
 
     /**
      * Retrieves a book by its ID.
+     * The response carries a strong ETag derived from the book's version, so a client
+     * sending a matching If-None-Match gets 304 Not Modified without a response body.
      *
      * @param id the book ID
      * @return ResponseEntity containing the book information
@@ -50,12 +63,46 @@ public class BookController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Book found",
                     content = @Content(schema = @Schema(implementation = BookInformationResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Book not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Book not found")
     })
     public ResponseEntity<?> readBook(@Parameter(description = "Book ID", example = "1")
                                       @PathVariable Long id) {
         Book book = bookService.readBook(id);
-        return ResponseEntity.ok(new BookInformationResponse(book));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(String.valueOf(book.getVersion()))
+                .body(new BookInformationResponse(book));
+    }
+
+    /**
+     * Retrieves the available and borrowed amount of a book from the in-memory read model.
+     * A book missing from the read model, e.g. created by another instance, is read from the
+     * database once and added to it.
+     *
+     * @param id the book ID
+     * @return ResponseEntity containing the book availability
+     */
+    @GetMapping("/{id}/availability")
+    @Operation(
+            summary = "Get book availability",
+            description = "Returns the available and borrowed amount of a book without querying the database"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Availability found",
+                    content = @Content(schema = @Schema(implementation = BookAvailabilityResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Book not found")
+    })
+    public ResponseEntity<?> readAvailability(@Parameter(description = "Book ID", example = "1")
+                                              @PathVariable Long id) {
+        long packed = availabilityReadModel.get(id);
+        if (packed != PackedAvailabilityMap.MISSING) {
+            return ResponseEntity.ok(new BookAvailabilityResponse(id,
+                    PackedAvailabilityMap.amount(packed), PackedAvailabilityMap.borrowed(packed)));
+        }
+        BookAvailabilityChangedEvent state = new BookAvailabilityChangedEvent(bookService.readBook(id));
+        availabilityReadModel.apply(state);
+        return ResponseEntity.ok(new BookAvailabilityResponse(state));
     }
 
     /**
@@ -72,8 +119,10 @@ public class BookController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Book created",
                     content = @Content(schema = @Schema(implementation = BookInformationResponse.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid request data")
+            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent requests")
     })
+    @ConcurrencyLimited("book.create")
     public ResponseEntity<?> createBook(@Parameter(description = "Book creation data")
                                         @RequestBody @Valid BookCreationRequest request) {
         Book book = bookService.createBook(request);
@@ -96,12 +145,16 @@ public class BookController {
             @ApiResponse(responseCode = "200", description = "Book updated",
                     content = @Content(schema = @Schema(implementation = BookInformationResponse.class))),
             @ApiResponse(responseCode = "404", description = "Book not found"),
-            @ApiResponse(responseCode = "400", description = "Invalid request data")
+            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent requests")
     })
+    @ConcurrencyLimited("book.update")
     public ResponseEntity<?> updateBook(@Parameter(description = "Book ID to update", example = "1")
                                         @PathVariable Long id, @Parameter(description = "Book update data") @RequestBody @Valid BookUpdateRequest request) {
         Book book = bookService.updateBook(id, request);
-        return ResponseEntity.ok(new BookInformationResponse(book));
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(book.getVersion()))
+                .body(new BookInformationResponse(book));
     }
 
     /**
@@ -117,8 +170,10 @@ public class BookController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Book deleted"),
-            @ApiResponse(responseCode = "404", description = "Book not found")
+            @ApiResponse(responseCode = "404", description = "Book not found"),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent requests")
     })
+    @ConcurrencyLimited("book.delete")
     public ResponseEntity<?> deleteBook(@Parameter(description = "Book ID to delete", example = "1")
                                         @PathVariable Long id) {
         bookService.deleteBook(id);
@@ -0,0 +1,87 @@
+package org.example.backend.controller;
+
+import org.example.backend.event.BookAvailabilityBroadcaster;
+import org.example.backend.event.BookAvailabilityChangedEvent;
+import org.example.backend.model.Book;
+import org.example.backend.service.BookService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.context.annotation.Profile;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * REST controller for streaming book availability changes.
+ * Provides Server-Sent Events endpoints for a single book and for the whole catalog.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/book")
+@Tag(name = "Book Events", description = "API for streaming book availability changes")
+public class BookEventController {
+    private final BookService bookService;
+    private final BookAvailabilityBroadcaster broadcaster;
+
+    @Value("${book.events.timeout-ms:1800000}")
+    private long timeout;
+
+    /**
+     * Constructs a new BookEventController with the specified book service and broadcaster.
+     *
+     * @param bookService the book service implementation
+     * @param broadcaster the broadcaster delivering availability changes
+     */
+    public BookEventController(BookService bookService, BookAvailabilityBroadcaster broadcaster) {
+        this.bookService = bookService;
+        this.broadcaster = broadcaster;
+    }
+
+    /**
+     * Streams availability changes of a single book, starting with its current state.
+     *
+     * @param id the book ID
+     * @return SseEmitter delivering availability events
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream book availability",
+            description = "Streams amount and borrowed amount changes of a book as Server-Sent Events"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "404", description = "Book not found")
+    })
+    public SseEmitter streamBookEvents(@Parameter(description = "Book ID", example = "1") @PathVariable Long id) {
+        Book book = bookService.readBook(id);
+        SseEmitter emitter = new SseEmitter(timeout);
+        broadcaster.subscribe(emitter, new BookAvailabilityChangedEvent(book));
+        return emitter;
+    }
+
+    /**
+     * Streams availability changes of every book in the catalog.
+     *
+     * @return SseEmitter delivering availability events
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream catalog availability",
+            description = "Streams amount and borrowed amount changes of all books as Server-Sent Events"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened")
+    })
+    public SseEmitter streamCatalogEvents() {
+        SseEmitter emitter = new SseEmitter(timeout);
+        broadcaster.subscribeToCatalog(emitter);
+        return emitter;
+    }
+}
@@ -1,16 +1,24 @@
 package org.example.backend.controller;
 
 import jakarta.validation.Valid;
+import org.example.backend.concurrency.ConcurrencyLimited;
+import org.example.backend.concurrency.RateLimited;
 import org.example.backend.dto.request.UserInformationRequest;
 import org.example.backend.dto.response.BookInformationResponse;
 import org.example.backend.dto.response.BorrowedBooksStatisticResponse;
 import org.example.backend.dto.response.BorrowedTitlesResponse;
 import org.example.backend.dto.response.BorrowingInformationResponse;
 import org.example.backend.model.Borrowing;
+import org.example.backend.readmodel.StatisticsSnapshots;
+import org.example.backend.service.impl.BorrowingBatcher;
 import org.example.backend.service.impl.BorrowingServiceImpl;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.context.annotation.Profile;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -26,18 +34,26 @@ import java.util.List;
  * Provides endpoints for borrowing books, returning books, and retrieving borrowing statistics.
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/borrowing")
 @Tag(name = "Borrowing Management", description = "API for book borrowing operations")
 public class BorrowingController {
     private final BorrowingServiceImpl borrowingService;
+    private final ObjectProvider<BorrowingBatcher> borrowingBatcher;
+    private final ObjectProvider<StatisticsSnapshots> statisticsSnapshots;
 
     /**
      * Constructs a new BorrowingController with the specified borrowing service.
      *
      * @param borrowingService the borrowing service implementation
+     * @param borrowingBatcher the borrow batcher, available when {@code borrowing.batch.enabled} is set
+     * @param statisticsSnapshots the precomputed statistics, available unless {@code statistics.snapshot.enabled} is false
      */
-    public BorrowingController(BorrowingServiceImpl borrowingService) {
+    public BorrowingController(BorrowingServiceImpl borrowingService, ObjectProvider<BorrowingBatcher> borrowingBatcher,
+                               ObjectProvider<StatisticsSnapshots> statisticsSnapshots) {
         this.borrowingService = borrowingService;
+        this.borrowingBatcher = borrowingBatcher;
+        this.statisticsSnapshots = statisticsSnapshots;
     }
 
     /**
@@ -56,11 +72,16 @@ public class BorrowingController {
             @ApiResponse(responseCode = "201", description = "Book borrowed successfully",
                     content = @Content(schema = @Schema(implementation = BorrowingInformationResponse.class))),
             @ApiResponse(responseCode = "400", description = "Invalid request or book already borrowed"),
-            @ApiResponse(responseCode = "404", description = "User or book not found")
+            @ApiResponse(responseCode = "404", description = "User or book not found"),
+            @ApiResponse(responseCode = "429", description = "Borrow rate of the user exceeded"),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent or pending borrow requests")
     })
+    @RateLimited("borrowing.borrow")
+    @ConcurrencyLimited("borrowing.borrow")
     public ResponseEntity<?> borrow(@Parameter(description = "User ID", example = "1") @PathVariable() Long user_id,
                                     @Parameter(description = "Book ID", example = "1") @PathVariable() Long book_id) {
-        Borrowing borrowing = borrowingService.borrowBook(user_id, book_id);
+        BorrowingBatcher batcher = borrowingBatcher.getIfAvailable();
+        Borrowing borrowing = batcher != null ? batcher.borrow(user_id, book_id) : borrowingService.borrowBook(user_id, book_id);
         return ResponseEntity.status(HttpStatus.CREATED).body(new BorrowingInformationResponse(borrowing));
     }
 
@@ -89,7 +110,10 @@ public class BorrowingController {
 
     /**
      * Gets all distinct book titles that have been borrowed.
+     * Answered from the precomputed snapshot when available, with 304 if it has not changed since
+     * the client's If-Modified-Since.
      *
+     * @param webRequest the current request, used for the conditional check
      * @return ResponseEntity containing the list of distinct borrowed book titles
      */
     @GetMapping("/titles/distinct")
@@ -99,16 +123,25 @@ public class BorrowingController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Distinct titles found",
-                    content = @Content(schema = @Schema(implementation = BorrowedTitlesResponse.class)))
+                    content = @Content(schema = @Schema(implementation = BorrowedTitlesResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Titles not modified since If-Modified-Since"),
+            @ApiResponse(responseCode = "503", description = "Too many reporting requests or reporting timed out")
     })
-    public ResponseEntity<?> getDistinctBorrowedBooksTitles() {
+    public ResponseEntity<?> getDistinctBorrowedBooksTitles(WebRequest webRequest) {
+        StatisticsSnapshots snapshots = statisticsSnapshots.getIfAvailable();
+        if (snapshots != null) {
+            return snapshotResponse(snapshots.titles(), webRequest);
+        }
         List<BorrowedTitlesResponse> distinctTitlesResponses = borrowingService.getDistinctBorrowedBooksTitles();
         return ResponseEntity.ok(distinctTitlesResponses);
     }
 
     /**
      * Gets statistics about borrowed books including title and count of borrowings.
+     * Answered from the precomputed snapshot when available, with 304 if it has not changed since
+     * the client's If-Modified-Since.
      *
+     * @param webRequest the current request, used for the conditional check
      * @return ResponseEntity containing the borrowing statistics
      */
     @GetMapping("/statistic")
@@ -118,9 +151,15 @@ public class BorrowingController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Statistics retrieved",
-                    content = @Content(schema = @Schema(implementation = BorrowedBooksStatisticResponse.class)))
+                    content = @Content(schema = @Schema(implementation = BorrowedBooksStatisticResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Statistics not modified since If-Modified-Since"),
+            @ApiResponse(responseCode = "503", description = "Too many reporting requests or reporting timed out")
     })
-    public ResponseEntity<?> getBorrowedBooksStatistics() {
+    public ResponseEntity<?> getBorrowedBooksStatistics(WebRequest webRequest) {
+        StatisticsSnapshots snapshots = statisticsSnapshots.getIfAvailable();
+        if (snapshots != null) {
+            return snapshotResponse(snapshots.statistics(), webRequest);
+        }
         List<BorrowedBooksStatisticResponse> borrowedBooksStatisticResponses = borrowingService.getDistinctBorrowedBooksTitlesAndCounts();
         return ResponseEntity.ok(borrowedBooksStatisticResponses);
     }
@@ -140,11 +179,25 @@ public class BorrowingController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Book returned successfully"),
             @ApiResponse(responseCode = "404", description = "User, book, or borrowing not found"),
-            @ApiResponse(responseCode = "400", description = "Book is not currently borrowed by this user")
+            @ApiResponse(responseCode = "400", description = "Book is not currently borrowed by this user"),
+            @ApiResponse(responseCode = "429", description = "Return rate of the user exceeded"),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent requests")
     })
+    @RateLimited("borrowing.return")
+    @ConcurrencyLimited("borrowing.return")
     public ResponseEntity<?> returnBook(@Parameter(description = "User ID", example = "1") @PathVariable() Long user_id,
                                         @Parameter(description = "Book ID", example = "1") @PathVariable() Long book_id) {
         borrowingService.returnBook(user_id, book_id);
         return ResponseEntity.ok().build();
     }
+
+    private static ResponseEntity<?> snapshotResponse(StatisticsSnapshots.Snapshot snapshot, WebRequest webRequest) {
+        if (webRequest.checkNotModified(snapshot.getLastModified().toEpochMilli())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .lastModified(snapshot.getLastModified())
+                .body(snapshot.getJson());
+    }
 }
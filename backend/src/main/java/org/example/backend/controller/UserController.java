@@ -6,9 +6,11 @@ import org.example.backend.dto.request.UserUpdateRequest;
 import org.example.backend.dto.response.UserInformationResponse;
 import org.example.backend.model.User;
 import org.example.backend.service.impl.UserServiceImpl;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.context.annotation.Profile;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -22,6 +24,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
  * Provides endpoints for creating, reading, updating, and deleting users.
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/user")
 @Tag(name = "User Management", description = "API for user management operations")
 public class UserController {
@@ -59,6 +62,8 @@ public class UserController {
 
     /**
      * Retrieves a user by their ID.
+     * The response carries a strong ETag derived from the user's version, so a client
+     * sending a matching If-None-Match gets 304 Not Modified without a response body.
      *
      * @param id the user ID
      * @return ResponseEntity containing the user information
@@ -71,11 +76,15 @@ public class UserController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User found",
                     content = @Content(schema = @Schema(implementation = UserInformationResponse.class))),
+            @ApiResponse(responseCode = "304", description = "User not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "User not found")
     })
     public ResponseEntity<?> readUser(@Parameter(description = "User ID", example = "1") @PathVariable Long id) {
         User user = userService.readUser(id);
-        return ResponseEntity.ok(new UserInformationResponse(user));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(String.valueOf(user.getVersion()))
+                .body(new UserInformationResponse(user));
     }
 
     /**
@@ -99,7 +108,9 @@ public class UserController {
     public ResponseEntity<?> updateUser(@Parameter(description = "User ID to update", example = "1") @PathVariable Long id,
                                         @Parameter(description = "User update data") @RequestBody @Valid UserUpdateRequest request) {
         User user = userService.updateUser(id, request);
-        return ResponseEntity.ok(new UserInformationResponse(user));
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(user.getVersion()))
+                .body(new UserInformationResponse(user));
     }
 
     /**
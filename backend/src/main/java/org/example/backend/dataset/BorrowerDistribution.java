@@ -0,0 +1,79 @@
+package org.example.backend.dataset;
+
+import java.util.SplittableRandom;
+
+/**
+ * Heavy-tailed number of open borrowings per user: a Pareto (Lomax) draw rounded down and capped
+ * at the borrowing limit. Most users hold no or few books while a small share sits at the limit.
+ * The scale is solved so that the expected number of borrowings per user matches the target.
+ */
+final class BorrowerDistribution {
+    private final int limit;
+    private final double alpha;
+    private final double scale;
+
+    /**
+     * Constructs a distribution with the given mean, capped at the borrowing limit.
+     *
+     * @param mean target mean number of borrowings per user; values at or above the limit give
+     *             every user the limit
+     * @param limit maximum number of borrowings per user
+     * @param alpha tail index; smaller values give a heavier tail
+     */
+    BorrowerDistribution(double mean, int limit, double alpha) {
+        if (alpha <= 0) throw new IllegalArgumentException("Tail index must be positive");
+        this.limit = limit;
+        this.alpha = alpha;
+        this.scale = mean <= 0 || limit <= 0 ? 0.0 : mean >= limit ? Double.POSITIVE_INFINITY : solveScale(mean);
+    }
+
+    /**
+     * Draws the number of borrowings of one user.
+     *
+     * @param random random stream to draw from
+     * @return number of borrowings between 0 and the limit
+     */
+    int sample(SplittableRandom random) {
+        if (scale == 0.0) return 0;
+        if (Double.isInfinite(scale)) return limit;
+        double draw = scale * (Math.pow(1.0 - random.nextDouble(), -1.0 / alpha) - 1.0);
+        return (int) Math.min(limit, draw);
+    }
+
+    /**
+     * Returns the expected number of borrowings per user.
+     *
+     * @return expected value of {@link #sample(SplittableRandom)}
+     */
+    double mean() {
+        if (scale == 0.0) return 0.0;
+        if (Double.isInfinite(scale)) return limit;
+        return mean(scale);
+    }
+
+    /**
+     * E[min(limit, floor(X))] = sum over k = 1..limit of P(X >= k) = sum of (1 + k / scale)^-alpha,
+     * which grows with the scale, so the scale is found by bisection.
+     */
+    private double solveScale(double target) {
+        double low = 0.0;
+        double high = 1.0;
+        while (mean(high) < target) {
+            high *= 2;
+        }
+        for (int i = 0; i < 100; i++) {
+            double middle = (low + high) / 2;
+            if (mean(middle) < target) low = middle;
+            else high = middle;
+        }
+        return high;
+    }
+
+    private double mean(double scale) {
+        double sum = 0.0;
+        for (int k = 1; k <= limit; k++) {
+            sum += Math.pow(1.0 + k / scale, -alpha);
+        }
+        return sum;
+    }
+}
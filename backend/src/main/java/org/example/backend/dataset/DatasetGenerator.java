@@ -0,0 +1,306 @@
+package org.example.backend.dataset;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fills the books, users and borrowing tables with a large synthetic dataset, active with the
+ * "generate" profile. Book popularity follows a Zipf distribution and the number of books per
+ * user is heavy-tailed up to the borrowing limit; the counters on books and users match the
+ * generated borrowings exactly, so the data is valid input for the borrowing rules.
+ * <p>
+ * Rows are written with batched JDBC inserts by parallel workers, each on its own connection.
+ * Every table is split into fixed-size chunks with their own random stream derived from the seed,
+ * so the same seed produces the same data with any number of workers. Generated rows are appended
+ * after the highest existing IDs, and the identity columns are moved past them afterwards.
+ */
+@Slf4j
+@Component
+@Profile("generate")
+public class DatasetGenerator implements ApplicationRunner {
+    static final int CHUNK_SIZE = 10_000;
+
+    private final DataSource dataSource;
+    private final ConfigurableApplicationContext context;
+    private final long books;
+    private final long users;
+    private final long borrowings;
+    private final long seed;
+    private final int workers;
+    private final int batchSize;
+    private final double titleSkew;
+    private final double borrowerSkew;
+    private final int maxAvailableCopies;
+    private final int borrowingLimit;
+    private final boolean exitWhenDone;
+
+    /**
+     * Constructs a new DatasetGenerator with the specified data source and volumes.
+     *
+     * @param dataSource the data source the rows are written to
+     * @param context the application context, closed when generation is done
+     * @param books number of books to generate
+     * @param users number of users to generate
+     * @param borrowings target number of open borrowings; capped at users times the borrowing limit
+     * @param seed seed of all random streams
+     * @param workers number of parallel workers, each holding one pooled connection
+     * @param batchSize number of rows per JDBC batch and per transaction
+     * @param titleSkew Zipf exponent of book popularity
+     * @param borrowerSkew tail index of the number of books per user; smaller is more skewed
+     * @param maxAvailableCopies maximum number of copies of a book left on the shelf
+     * @param borrowingLimit maximum number of books a user may hold
+     * @param exitWhenDone whether to close the application after generation
+     */
+    public DatasetGenerator(DataSource dataSource,
+                            ConfigurableApplicationContext context,
+                            @Value("${dataset.books:100000}") long books,
+                            @Value("${dataset.users:50000}") long users,
+                            @Value("${dataset.borrowings:200000}") long borrowings,
+                            @Value("${dataset.seed:42}") long seed,
+                            @Value("${dataset.workers:4}") int workers,
+                            @Value("${dataset.batch-size:1000}") int batchSize,
+                            @Value("${dataset.title-skew:1.0}") double titleSkew,
+                            @Value("${dataset.borrower-skew:1.5}") double borrowerSkew,
+                            @Value("${dataset.max-available-copies:3}") int maxAvailableCopies,
+                            @Value("${borrowing.limit}") int borrowingLimit,
+                            @Value("${dataset.exit-when-done:true}") boolean exitWhenDone) {
+        this.dataSource = dataSource;
+        this.context = context;
+        this.books = books;
+        this.users = users;
+        this.borrowings = borrowings;
+        this.seed = seed;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.titleSkew = titleSkew;
+        this.borrowerSkew = borrowerSkew;
+        this.maxAvailableCopies = maxAvailableCopies;
+        this.borrowingLimit = borrowingLimit;
+        this.exitWhenDone = exitWhenDone;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        generate();
+        if (exitWhenDone) {
+            context.close();
+        }
+    }
+
+    /**
+     * Generates and writes the whole dataset.
+     *
+     * @throws SQLException if reading the current IDs or writing a row fails
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public void generate() throws SQLException, InterruptedException {
+        if (borrowings > 0 && books == 0) throw new IllegalArgumentException("Borrowings need at least one book");
+        long capacity = users * borrowingLimit;
+        if (borrowings > capacity) {
+            log.warn("{} borrowings requested, but {} users may hold at most {} books; generating about {}",
+                    borrowings, users, borrowingLimit, capacity);
+        }
+        BorrowerDistribution borrowers = new BorrowerDistribution(users == 0 ? 0 : borrowings / (double) users,
+                borrowingLimit, borrowerSkew);
+        ZipfSampler popularity = new ZipfSampler(Math.max(books, 1), titleSkew);
+        long bookBase = maxId("books");
+        long userBase = maxId("users");
+        log.info("Generating {} books, {} users and about {} borrowings with seed {} on {} workers",
+                books, users, Math.round(borrowers.mean() * users), seed, workers);
+
+        AtomicIntegerArray borrowedCopies = new AtomicIntegerArray(Math.toIntExact(books));
+        timed("Counted borrowings per book", chunks(users), chunk -> {
+            List<GeneratedUser> generated = users(chunk, borrowers, popularity);
+            for (GeneratedUser user : generated) {
+                for (long book : user.books) {
+                    borrowedCopies.incrementAndGet((int) book);
+                }
+            }
+            return generated.size();
+        });
+        timed("Wrote books", chunks(books), chunk -> writeBooks(chunk, bookBase, borrowedCopies));
+        timed("Wrote users and borrowings", chunks(users), chunk -> writeUsers(chunk, userBase, bookBase, borrowers, popularity));
+        restartIdentity("books", bookBase + books + 1);
+        restartIdentity("users", userBase + users + 1);
+    }
+
+    private long writeBooks(long chunk, long bookBase, AtomicIntegerArray borrowedCopies) throws SQLException {
+        SplittableRandom random = SyntheticData.chunkRandom(seed, SyntheticData.BOOKS, chunk);
+        long first = chunk * CHUNK_SIZE;
+        long last = Math.min(books, first + CHUNK_SIZE);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO books (id, title, author, amount, amount_of_borrowed_books, version) VALUES (?, ?, ?, ?, ?, 0)")) {
+            connection.setAutoCommit(false);
+            for (long index = first; index < last; index++) {
+                insert.setLong(1, bookBase + index + 1);
+                insert.setString(2, SyntheticData.title(index, random));
+                insert.setString(3, SyntheticData.author(random));
+                insert.setInt(4, random.nextInt(maxAvailableCopies + 1));
+                insert.setInt(5, borrowedCopies.get((int) index));
+                insert.addBatch();
+                if ((index - first + 1) % batchSize == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        return last - first;
+    }
+
+    private long writeUsers(long chunk, long userBase, long bookBase, BorrowerDistribution borrowers,
+                            ZipfSampler popularity) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insertUser = connection.prepareStatement(
+                     "INSERT INTO users (id, name, membership_date, number_of_borrowed_books, version) VALUES (?, ?, ?, ?, 0)");
+             PreparedStatement insertBorrowing = connection.prepareStatement(
+                     "INSERT INTO borrowing (user_id, book_id) VALUES (?, ?)")) {
+            connection.setAutoCommit(false);
+            long rows = 0;
+            int batched = 0;
+            for (GeneratedUser user : users(chunk, borrowers, popularity)) {
+                long userId = userBase + user.index + 1;
+                insertUser.setLong(1, userId);
+                insertUser.setString(2, user.name);
+                insertUser.setDate(3, user.membershipDate);
+                insertUser.setInt(4, user.books.length);
+                insertUser.addBatch();
+                for (long book : user.books) {
+                    insertBorrowing.setLong(1, userId);
+                    insertBorrowing.setLong(2, bookBase + book + 1);
+                    insertBorrowing.addBatch();
+                }
+                rows += 1 + user.books.length;
+                if (++batched % batchSize == 0) {
+                    insertUser.executeBatch();
+                    insertBorrowing.executeBatch();
+                    connection.commit();
+                }
+            }
+            insertUser.executeBatch();
+            insertBorrowing.executeBatch();
+            connection.commit();
+            return rows;
+        }
+    }
+
+    /**
+     * Replays the random draws of one user chunk: the user's own fields, then the popularity draw
+     * of each of the user's borrowings. Counting and writing call this with the same chunk and
+     * therefore see the same users and books.
+     */
+    private List<GeneratedUser> users(long chunk, BorrowerDistribution borrowers, ZipfSampler popularity) {
+        SplittableRandom random = SyntheticData.chunkRandom(seed, SyntheticData.USERS, chunk);
+        long first = chunk * CHUNK_SIZE;
+        long last = Math.min(users, first + CHUNK_SIZE);
+        List<GeneratedUser> generated = new ArrayList<>((int) (last - first));
+        for (long index = first; index < last; index++) {
+            String name = SyntheticData.userName(index, random);
+            Date membershipDate = SyntheticData.membershipDate(random);
+            long[] borrowed = new long[books == 0 ? 0 : borrowers.sample(random)];
+            for (int i = 0; i < borrowed.length; i++) {
+                borrowed[i] = popularity.sample(random);
+            }
+            generated.add(new GeneratedUser(index, name, membershipDate, borrowed));
+        }
+        return generated;
+    }
+
+    private void timed(String phase, long chunks, ChunkTask task) throws SQLException, InterruptedException {
+        long start = System.nanoTime();
+        AtomicLong next = new AtomicLong();
+        LongAdder rows = new LongAdder();
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> {
+                    for (long chunk = next.getAndIncrement(); chunk < chunks; chunk = next.getAndIncrement()) {
+                        rows.add(task.run(chunk));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException cause) throw cause;
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+        log.info("{}: {} rows in {} s ({} rows/s)", phase, rows.sum(), String.format("%.1f", seconds),
+                Math.round(rows.sum() / Math.max(seconds, 0.001)));
+    }
+
+    private long maxId(String table) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private void restartIdentity(String table, long next) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        }
+    }
+
+    private static long chunks(long rows) {
+        return (rows + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    /**
+     * One generated user row together with the indexes of the books the user holds.
+     */
+    private static final class GeneratedUser {
+        private final long index;
+        private final String name;
+        private final Date membershipDate;
+        private final long[] books;
+
+        private GeneratedUser(long index, String name, Date membershipDate, long[] books) {
+            this.index = index;
+            this.name = name;
+            this.membershipDate = membershipDate;
+            this.books = books;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkTask {
+        long run(long chunk) throws SQLException;
+    }
+}
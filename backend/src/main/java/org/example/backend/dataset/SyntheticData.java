@@ -0,0 +1,111 @@
+package org.example.backend.dataset;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic building blocks of the synthetic dataset: per-chunk random streams and names that
+ * satisfy the {@code @Pattern} rules of {@link org.example.backend.model.Book} and
+ * {@link org.example.backend.model.User}.
+ */
+final class SyntheticData {
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ra", "ven", "tor", "sa", "bel", "dun", "mor", "ith", "el", "an", "gar",
+            "fen", "os", "lu", "ne", "cor", "wy", "tha", "dri", "pal", "sen", "ur", "quo", "zim", "ha"
+    };
+    private static final String[] FIRST_NAMES = {
+            "Anna", "Boris", "Clara", "David", "Elena", "Felix", "Greta", "Hugo", "Irina", "Jonas",
+            "Karin", "Leon", "Maria", "Nikolai", "Olga", "Pavel", "Rosa", "Stefan", "Tanja", "Viktor"
+    };
+    private static final String[] LAST_NAMES = {
+            "Adams", "Berg", "Castro", "Dvorak", "Evans", "Fischer", "Garcia", "Horvat", "Ivanov",
+            "Jensen", "Kowalski", "Lindqvist", "Moreau", "Novak", "Olsen", "Petrov", "Rossi", "Schmidt",
+            "Tanaka", "Weber"
+    };
+    private static final LocalDate MEMBERSHIP_END = LocalDate.of(2025, 1, 1);
+    private static final int MEMBERSHIP_DAYS = 10 * 365;
+
+    static final int BOOKS = 1;
+    static final int USERS = 2;
+
+    private SyntheticData() {
+    }
+
+    /**
+     * Returns the random stream of one chunk of one table. The stream depends only on the seed,
+     * the table and the chunk number, so the data does not depend on how many workers generate it.
+     *
+     * @param seed dataset seed
+     * @param table {@link #BOOKS} or {@link #USERS}
+     * @param chunk chunk number within the table
+     * @return random stream of the chunk
+     */
+    static SplittableRandom chunkRandom(long seed, int table, long chunk) {
+        return new SplittableRandom(mix(mix(mix(seed) + table) + chunk));
+    }
+
+    /**
+     * Builds a title like "Ravenmorbc": two or three syllables followed by the row index in letters.
+     *
+     * @param index zero-based row index
+     * @param random random stream of the chunk
+     * @return title matching {@code ^[A-Z][a-zA-Z]{2,}$}
+     */
+    static String title(long index, SplittableRandom random) {
+        StringBuilder title = new StringBuilder();
+        int syllables = 2 + random.nextInt(2);
+        for (int i = 0; i < syllables; i++) {
+            title.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        title.setCharAt(0, Character.toUpperCase(title.charAt(0)));
+        return title.append(letters(index)).toString();
+    }
+
+    /**
+     * Builds an author name from a first name and a last name.
+     *
+     * @param random random stream of the chunk
+     * @return author matching {@code ^[A-Z][a-z]+ [A-Z][a-z]+$}
+     */
+    static String author(SplittableRandom random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    /**
+     * Builds a user name from a first name and the row index.
+     *
+     * @param index zero-based row index
+     * @param random random stream of the chunk
+     * @return user name matching {@code ^[^\s]+$}
+     */
+    static String userName(long index, SplittableRandom random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + index;
+    }
+
+    /**
+     * Picks a membership date within the ten years before a fixed day, so generated data does not
+     * depend on the day it was generated.
+     *
+     * @param random random stream of the chunk
+     * @return membership date
+     */
+    static Date membershipDate(SplittableRandom random) {
+        return Date.valueOf(MEMBERSHIP_END.minusDays(random.nextInt(MEMBERSHIP_DAYS)));
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    private static String letters(long value) {
+        StringBuilder letters = new StringBuilder();
+        do {
+            letters.append((char) ('a' + value % 26));
+            value /= 26;
+        } while (value > 0);
+        return letters.toString();
+    }
+}
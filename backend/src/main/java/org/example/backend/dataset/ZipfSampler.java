@@ -0,0 +1,83 @@
+package org.example.backend.dataset;
+
+import java.util.SplittableRandom;
+
+/**
+ * Samples item indexes with Zipf-like popularity: the item of rank r is picked with probability
+ * roughly proportional to r^-exponent. Ranks are drawn by inverting the continuous power-law
+ * distribution, which costs one random number per sample regardless of the number of items.
+ * Ranks are then spread over the index range by a fixed permutation, so the popular items are
+ * not simply the first rows of the table.
+ */
+final class ZipfSampler {
+    private final long items;
+    private final double exponent;
+    private final double span;
+    private final long step;
+
+    /**
+     * Constructs a sampler over the given number of items.
+     *
+     * @param items number of items, at least 1
+     * @param exponent skew of the popularity; 0 is uniform, 1 is classic Zipf
+     */
+    ZipfSampler(long items, double exponent) {
+        if (items < 1) throw new IllegalArgumentException("At least one item is required");
+        if (exponent < 0) throw new IllegalArgumentException("Exponent must not be negative");
+        this.items = items;
+        this.exponent = exponent;
+        this.span = exponent == 1.0 ? Math.log(items + 1.0) : Math.pow(items + 1.0, 1.0 - exponent) - 1.0;
+        this.step = coprimeStep(items);
+    }
+
+    /**
+     * Draws the zero-based rank of an item, where rank 0 is the most popular.
+     *
+     * @param random random stream to draw from
+     * @return rank between 0 and items - 1
+     */
+    long rank(SplittableRandom random) {
+        double u = random.nextDouble();
+        double x = exponent == 1.0 ? Math.exp(u * span) : Math.pow(1.0 + u * span, 1.0 / (1.0 - exponent));
+        return Math.min(items - 1, Math.max(0, (long) x - 1));
+    }
+
+    /**
+     * Draws the zero-based index of an item.
+     *
+     * @param random random stream to draw from
+     * @return index between 0 and items - 1
+     */
+    long sample(SplittableRandom random) {
+        return index(rank(random));
+    }
+
+    /**
+     * Maps a rank to its item index; a bijection on [0, items) because the step is coprime
+     * with the number of items. Rank and step are both below the number of items, so the
+     * product does not overflow for up to three billion items.
+     *
+     * @param rank zero-based rank
+     * @return zero-based index
+     */
+    long index(long rank) {
+        return rank * step % items;
+    }
+
+    private static long coprimeStep(long items) {
+        long step = Math.max(1, (long) (items * 0.6180339887));
+        while (gcd(step, items) != 1) {
+            step++;
+        }
+        return step;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.backend.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Routes connections of read-only transactions to a replica and all other connections to the primary.
+ * Read-only transactions of reporting queries, marked with {@link #onReporting(Supplier)}, use a
+ * separate reporting pool instead, so they cannot take connections needed by borrows and returns.
+ * The decision is made when a connection is obtained, so this data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction's
+ * read-only flag is only known after the transaction manager has asked for the connection.
+ * Code that must see its own recent writes can pin the current thread to the primary
+ * with {@link #onPrimary(Supplier)}.
+ */
+public class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+    private static final ThreadLocal<Boolean> PINNED = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<Boolean> REPORTING = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Route key of a data source.
+     */
+    public enum Route {
+        PRIMARY,
+        REPLICA,
+        REPORTING
+    }
+
+    /**
+     * Constructs a new ReadOnlyRoutingDataSource over the specified data sources.
+     *
+     * @param primary the data source receiving writes and pinned reads
+     * @param replica the data source receiving read-only transactions, or null to use the primary
+     * @param reporting the data source receiving read-only reporting transactions
+     */
+    public ReadOnlyRoutingDataSource(DataSource primary, DataSource replica, DataSource reporting) {
+        setTargetDataSources(Map.of(
+                Route.PRIMARY, primary,
+                Route.REPLICA, replica != null ? replica : primary,
+                Route.REPORTING, reporting));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Runs an action with every connection of the current thread taken from the primary,
+     * including connections of read-only transactions.
+     *
+     * @param action the action to run
+     * @param <T> the type of the action's result
+     * @return the action's result
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        try (PrimaryPin pin = pinToPrimary()) {
+            return action.get();
+        }
+    }
+
+    /**
+     * Takes every connection of the current thread from the primary until the returned pin is closed.
+     *
+     * @return the pin restoring the previous routing when closed
+     */
+    public static PrimaryPin pinToPrimary() {
+        boolean previous = PINNED.get();
+        PINNED.set(true);
+        return () -> PINNED.set(previous);
+    }
+
+    /**
+     * Tells whether the current thread is pinned to the primary.
+     *
+     * @return true inside {@link #onPrimary(Supplier)} or while a {@link #pinToPrimary()} pin is open
+     */
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get();
+    }
+
+    /**
+     * Runs an action with the connections of its read-only transactions taken from the reporting pool.
+     *
+     * @param action the action to run
+     * @param <T> the type of the action's result
+     * @return the action's result
+     */
+    public static <T> T onReporting(Supplier<T> action) {
+        boolean previous = REPORTING.get();
+        REPORTING.set(true);
+        try {
+            return action.get();
+        } finally {
+            REPORTING.set(previous);
+        }
+    }
+
+    /**
+     * Tells whether the current thread runs a reporting action.
+     *
+     * @return true inside {@link #onReporting(Supplier)}
+     */
+    public static boolean isReporting() {
+        return REPORTING.get();
+    }
+
+    /**
+     * Returns the route a connection obtained now by the current thread would take.
+     *
+     * @return the current route
+     */
+    public static Route currentRoute() {
+        if (!PINNED.get() && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return REPORTING.get() ? Route.REPORTING : Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    /**
+     * Scope of {@link #pinToPrimary()}; closing it restores the previous routing.
+     */
+    @FunctionalInterface
+    public interface PrimaryPin extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.backend.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Gives clients read-your-writes consistency while replicas lag behind the primary.
+ * A request that wrote, such as a successful borrow, sets a short-lived cookie; while the cookie
+ * is present, the client's requests read from the primary instead of a replica. Because the state
+ * travels with the client, this works across several application instances.
+ * Only successful responses of mutating endpoints set the cookie: requests that failed changed
+ * nothing, and endpoints that read through a non-GET method, such as a search with a request
+ * body, are listed as reads. The response of a mutating request is buffered, so the cookie can
+ * still be added once its status is known.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    static final String COOKIE = "read-primary";
+
+    private final int windowSeconds;
+    private final Set<String> readPaths;
+
+    /**
+     * Constructs a new ReadYourWritesFilter.
+     *
+     * @param windowSeconds how long after a write the client keeps reading from the primary
+     * @param readPaths paths of endpoints that only read although called with a non-GET method
+     */
+    public ReadYourWritesFilter(int windowSeconds, Set<String> readPaths) {
+        this.windowSeconds = windowSeconds;
+        this.readPaths = readPaths;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!mayWrite(request)) {
+            filter(request, response, chain);
+            return;
+        }
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        try {
+            filter(request, buffered, chain);
+            int status = buffered.getStatus();
+            if (status >= 200 && status < 300) {
+                Cookie cookie = new Cookie(COOKIE, "1");
+                cookie.setPath("/");
+                cookie.setMaxAge(windowSeconds);
+                cookie.setHttpOnly(true);
+                buffered.addCookie(cookie);
+            }
+        } finally {
+            buffered.copyBodyToResponse();
+        }
+    }
+
+    private static void filter(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!hasCookie(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try (ReadOnlyRoutingDataSource.PrimaryPin pin = ReadOnlyRoutingDataSource.pinToPrimary()) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private boolean mayWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return false;
+        }
+        return !readPaths.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    private static boolean hasCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) return false;
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.backend.dto.response;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+import org.example.backend.event.BookAvailabilityChangedEvent;
+
+/**
+ * Data Transfer Object for book availability responses.
+ * Contains only the counters clients need to know whether a book can be borrowed.
+ */
+@Value
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Schema(description = "Book availability response")
+public class BookAvailabilityResponse {
+    /**
+     * ID of the book.
+     */
+    @Schema(description = "Book ID", example = "1")
+    Long bookId;
+
+    /**
+     * Number of copies available for borrowing.
+     */
+    @Schema(description = "Available amount", example = "7")
+    int amount;
+
+    /**
+     * Number of copies currently borrowed by users.
+     */
+    @Schema(description = "Borrowed amount", example = "3")
+    int amountOfBorrowedBooks;
+
+    /**
+     * Constructs a BookAvailabilityResponse from a book availability event.
+     *
+     * @param event the availability event to convert
+     */
+    public BookAvailabilityResponse(BookAvailabilityChangedEvent event) {
+        this.bookId = event.getBookId();
+        this.amount = event.getAmount();
+        this.amountOfBorrowedBooks = event.getAmountOfBorrowedBooks();
+    }
+
+    /**
+     * Constructs a BookAvailabilityResponse from the counters of a book.
+     *
+     * @param bookId the ID of the book
+     * @param amount number of copies available for borrowing
+     * @param amountOfBorrowedBooks number of copies currently borrowed
+     */
+    public BookAvailabilityResponse(Long bookId, int amount, int amountOfBorrowedBooks) {
+        this.bookId = bookId;
+        this.amount = amount;
+        this.amountOfBorrowedBooks = amountOfBorrowedBooks;
+    }
+}
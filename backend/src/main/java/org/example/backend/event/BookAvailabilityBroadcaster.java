@@ -0,0 +1,229 @@
+package org.example.backend.event;
+
+import jakarta.annotation.PreDestroy;
+import org.example.backend.dto.response.BookAvailabilityResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans out committed book availability changes to Server-Sent Events subscribers.
+ * Events are coalesced per book in each subscriber's buffer and flushed periodically
+ * on a small dedicated executor, so no servlet thread is held per subscriber and a stalled
+ * client cannot occupy threads other work depends on.
+ * A subscriber is considered too slow and dropped when its buffer grows past the configured
+ * limit, or when a flush for it has been queued or writing for longer than the send timeout;
+ * the latter also catches single-book subscribers, whose coalesced buffer never holds more
+ * than one event. A dropped subscriber's emitter is completed with an error by its sender once
+ * the stalled write returns; the write itself is ended by the servlet container, whose write
+ * timeout fails a write to a client that stopped reading.
+ */
+@Component
+@Profile("!reactive")
+public class BookAvailabilityBroadcaster {
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Executor executor;
+    private final int bufferSize;
+    private final long sendTimeoutNanos;
+
+    /**
+     * Constructs a new BookAvailabilityBroadcaster with the specified sender limits.
+     *
+     * @param threads number of threads writing buffered events to subscribers
+     * @param queueCapacity number of subscriber flushes that may wait for a thread
+     * @param bufferSize number of books with unsent changes a subscriber may have before it is dropped
+     * @param sendTimeoutMs time a flush may be queued or writing before its subscriber is dropped
+     */
+    @Autowired
+    public BookAvailabilityBroadcaster(@Value("${book.events.threads:2}") int threads,
+                                       @Value("${book.events.queue-capacity:1024}") int queueCapacity,
+                                       @Value("${book.events.buffer-size:256}") int bufferSize,
+                                       @Value("${book.events.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this(new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("book-events-")),
+                bufferSize, sendTimeoutMs);
+    }
+
+    /**
+     * Constructs a new BookAvailabilityBroadcaster writing to subscribers on the specified executor.
+     *
+     * @param executor the executor running subscriber flushes, shut down with the broadcaster if it
+     *                 is an {@link ExecutorService}
+     * @param bufferSize number of books with unsent changes a subscriber may have before it is dropped
+     * @param sendTimeoutMs time a flush may be queued or writing before its subscriber is dropped
+     */
+    BookAvailabilityBroadcaster(Executor executor, int bufferSize, long sendTimeoutMs) {
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+    }
+
+    /**
+     * Registers an emitter for one book and queues the book's current state as the first event.
+     *
+     * @param emitter the emitter connected to the client
+     * @param initialState the current availability of the followed book
+     */
+    public void subscribe(SseEmitter emitter, BookAvailabilityChangedEvent initialState) {
+        register(emitter, initialState.getBookId()).offer(initialState, bufferSize);
+    }
+
+    /**
+     * Registers an emitter for availability changes of every book in the catalog.
+     *
+     * @param emitter the emitter connected to the client
+     */
+    public void subscribeToCatalog(SseEmitter emitter) {
+        register(emitter, null);
+    }
+
+    /**
+     * Buffers a committed availability change for every matching subscriber.
+     * Runs after the publishing transaction commits, or immediately when there is none.
+     *
+     * @param event the availability change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(BookAvailabilityChangedEvent event) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.follows(event.getBookId()) && !subscription.offer(event, bufferSize)) {
+                drop(subscription);
+            }
+        }
+    }
+
+    /**
+     * Hands every subscriber with buffered events to the executor, unless a previous flush
+     * for that subscriber is still queued or writing. Drops subscribers whose previous flush
+     * has exceeded the send timeout.
+     */
+    @Scheduled(fixedDelayString = "${book.events.flush-interval-ms:250}")
+    public void flush() {
+        long now = System.nanoTime();
+        for (Subscription subscription : subscriptions) {
+            if (subscription.hasPending() && subscription.sending.compareAndSet(false, true)) {
+                subscription.sendingSince = now;
+                try {
+                    executor.execute(() -> drain(subscription));
+                } catch (RejectedExecutionException e) {
+                    subscription.sending.set(false);
+                }
+            } else if (subscription.sending.get() && now - subscription.sendingSince > sendTimeoutNanos) {
+                abort(subscription);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of currently connected subscribers.
+     *
+     * @return number of subscribers
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    private Subscription register(SseEmitter emitter, Long bookId) {
+        Subscription subscription = new Subscription(emitter, bookId);
+        subscriptions.add(subscription);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(e -> subscriptions.remove(subscription));
+        return subscription;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ExecutorService senders) {
+            senders.shutdownNow();
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        try {
+            Iterator<Map.Entry<Long, BookAvailabilityChangedEvent>> iterator = subscription.pending.entrySet().iterator();
+            while (iterator.hasNext() && !subscription.aborted) {
+                BookAvailabilityChangedEvent event = iterator.next().getValue();
+                iterator.remove();
+                subscription.emitter.send(SseEmitter.event()
+                        .name("availability")
+                        .id(event.getBookId() + ":" + event.getVersion())
+                        .data(new BookAvailabilityResponse(event), MediaType.APPLICATION_JSON));
+            }
+            if (subscription.aborted) {
+                subscription.emitter.completeWithError(new IOException("Subscriber exceeded the send timeout"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscriptions.remove(subscription);
+            subscription.emitter.completeWithError(e);
+        } finally {
+            subscription.sending.set(false);
+        }
+    }
+
+    /**
+     * Drops a subscriber whose flush has stalled, so it gets no further flushes. Its sender
+     * completes the emitter with an error once the write returns; completing it here would block
+     * the scheduler, as the emitter stays locked while the write is stalled.
+     */
+    private void abort(Subscription subscription) {
+        if (subscriptions.remove(subscription)) {
+            subscription.aborted = true;
+        }
+    }
+
+    private void drop(Subscription subscription) {
+        if (subscriptions.remove(subscription)) {
+            subscription.emitter.complete();
+        }
+    }
+
+    /**
+     * A connected client together with its coalescing buffer of unsent events, keyed by book ID.
+     */
+    private static final class Subscription {
+        private final SseEmitter emitter;
+        private final Long bookId;
+        private final Map<Long, BookAvailabilityChangedEvent> pending = new ConcurrentHashMap<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile long sendingSince;
+        private volatile boolean aborted;
+
+        private Subscription(SseEmitter emitter, Long bookId) {
+            this.emitter = emitter;
+            this.bookId = bookId;
+        }
+
+        private boolean follows(Long changedBookId) {
+            return bookId == null || bookId.equals(changedBookId);
+        }
+
+        private boolean offer(BookAvailabilityChangedEvent event, int bufferSize) {
+            pending.merge(event.getBookId(), event, (current, next) -> next.supersedes(current) ? next : current);
+            return pending.size() <= bufferSize;
+        }
+
+        private boolean hasPending() {
+            return !pending.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.backend.event;
+
+import lombok.Value;
+import org.example.backend.model.Book;
+
+/**
+ * Application event published whenever the number of available or borrowed copies
+ * of a book may have changed. Listeners receive it after the surrounding transaction commits.
+ */
+@Value
+public class BookAvailabilityChangedEvent {
+    /**
+     * ID of the book whose availability changed.
+     */
+    Long bookId;
+
+    /**
+     * Number of copies available for borrowing.
+     */
+    int amount;
+
+    /**
+     * Number of copies currently borrowed by users.
+     */
+    int amountOfBorrowedBooks;
+
+    /**
+     * Version of the book row the counters were read from, used to discard stale updates.
+     */
+    long version;
+
+    /**
+     * Constructs a BookAvailabilityChangedEvent from the current state of a Book entity.
+     *
+     * @param book the book entity whose availability changed
+     */
+    public BookAvailabilityChangedEvent(Book book) {
+        this.bookId = book.getId();
+        this.amount = book.getAmount();
+        this.amountOfBorrowedBooks = book.getAmountOfBorrowedBooks();
+        this.version = book.getVersion() != null ? book.getVersion() : 0L;
+    }
+
+    /**
+     * Constructs a BookAvailabilityChangedEvent from counters read by a query.
+     *
+     * @param bookId the ID of the book
+     * @param amount number of copies available for borrowing
+     * @param amountOfBorrowedBooks number of copies currently borrowed
+     * @param version version of the book row
+     */
+    public BookAvailabilityChangedEvent(Long bookId, Integer amount, Integer amountOfBorrowedBooks, Long version) {
+        this.bookId = bookId;
+        this.amount = amount != null ? amount : 0;
+        this.amountOfBorrowedBooks = amountOfBorrowedBooks != null ? amountOfBorrowedBooks : 0;
+        this.version = version != null ? version : 0L;
+    }
+
+    /**
+     * Tells whether this event describes a newer or equal state of the same book than the other one.
+     *
+     * @param other the event to compare with
+     * @return true if this event should replace the other one
+     */
+    public boolean supersedes(BookAvailabilityChangedEvent other) {
+        return version >= other.version;
+    }
+}
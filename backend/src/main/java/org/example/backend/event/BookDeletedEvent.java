@@ -0,0 +1,14 @@
+package org.example.backend.event;
+
+import lombok.Value;
+
+/**
+ * Application event published when a book has been deleted.
+ */
+@Value
+public class BookDeletedEvent {
+    /**
+     * ID of the deleted book.
+     */
+    Long bookId;
+}
@@ -2,6 +2,11 @@ package org.example.backend.exceptions.controller;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.example.backend.exceptions.custom.EntityBorrowedException;
+import org.example.backend.exceptions.custom.RateLimitExceededException;
+import org.example.backend.exceptions.custom.ServiceOverloadedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -18,6 +23,9 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    @Value("${overload.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<Object> handleEntityNotFound(EntityNotFoundException e) {
         return buildResponse(HttpStatus.NOT_FOUND, e.getMessage());
@@ -33,6 +41,21 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.CONFLICT, e.getMessage());
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleConcurrentModification(OptimisticLockingFailureException e) {
+        return buildResponse(HttpStatus.CONFLICT, "The resource was modified concurrently, please try again");
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Object> handleOverload(ServiceOverloadedException e) {
+        return withRetryAfter(buildResponse(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()), retryAfterSeconds);
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Object> handleRateLimit(RateLimitExceededException e) {
+        return withRetryAfter(buildResponse(HttpStatus.TOO_MANY_REQUESTS, e.getMessage()), e.getRetryAfterSeconds());
+    }
+
     /**
      * Builds response for every exception using HTTP status, made to reduce repetition in code
      * @param status HTTP status to be thrown
@@ -46,4 +69,10 @@ public class GlobalExceptionHandler {
         responseBody.put("message", message);
         return new ResponseEntity<>(responseBody, status);
     }
+
+    private static ResponseEntity<Object> withRetryAfter(ResponseEntity<Object> response, long seconds) {
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+                .body(response.getBody());
+    }
 }
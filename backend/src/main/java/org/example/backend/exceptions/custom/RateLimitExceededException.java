@@ -0,0 +1,29 @@
+package org.example.backend.exceptions.custom;
+
+/**
+ * Custom exception thrown when a client has used up its request rate for an endpoint.
+ * This exception carries the time after which the client may send the next request.
+ */
+public class RateLimitExceededException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new RateLimitExceededException with the specified detail message and retry delay.
+     *
+     * @param message the detail message explaining the exception
+     * @param retryAfterSeconds seconds until the next request will be admitted
+     */
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Returns the number of seconds until the next request will be admitted.
+     *
+     * @return retry delay in seconds
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
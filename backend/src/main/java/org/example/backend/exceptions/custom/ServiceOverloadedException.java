@@ -0,0 +1,17 @@
+package org.example.backend.exceptions.custom;
+
+/**
+ * Custom exception thrown when a request cannot be accepted because the service is saturated.
+ * This exception is used to indicate that the client should retry the request later.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    /**
+     * Constructs a new ServiceOverloadedException with the specified detail message.
+     *
+     * @param message the detail message explaining the exception
+     */
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.backend.jfr;
+
+/**
+ * Emits one {@link BorrowingEvent} per borrow applied in a shared batch transaction, for borrows
+ * that do not run through a {@link FlightRecorded} call. Every event of a batch lasts from the
+ * start of the batch to its commit and carries the statements of the whole batch, because the
+ * borrows share them. Without a recording only the enabled check is made.
+ */
+public final class BatchBorrowingEvents {
+    private final String operation;
+    private final BorrowingEvent[] events;
+    private final int statements;
+
+    private BatchBorrowingEvents(String operation, BorrowingEvent[] events) {
+        this.operation = operation;
+        this.events = events;
+        this.statements = StatementCounter.current();
+    }
+
+    /**
+     * Starts the events of a batch on the current thread.
+     *
+     * @param operation the operation recorded in the events, e.g. {@code borrow}
+     * @param size the number of borrows in the batch
+     * @return the started events, or inactive ones while no recording collects them
+     */
+    public static BatchBorrowingEvents begin(String operation, int size) {
+        if (!new BorrowingEvent().isEnabled()) {
+            return new BatchBorrowingEvents(operation, null);
+        }
+        BorrowingEvent[] events = new BorrowingEvent[size];
+        for (int i = 0; i < size; i++) {
+            events[i] = new BorrowingEvent();
+            events[i].begin();
+        }
+        return new BatchBorrowingEvents(operation, events);
+    }
+
+    /**
+     * Ends and commits the event of one borrow of the batch.
+     *
+     * @param index the position of the borrow in the batch
+     * @param userId the ID of the borrowing user
+     * @param bookId the ID of the borrowed book
+     * @param failure the exception the borrow was rejected with, or {@code null}
+     */
+    public void commit(int index, Long userId, Long bookId, Throwable failure) {
+        if (events == null) {
+            return;
+        }
+        BorrowingEvent event = events[index];
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.userId = userId;
+            event.bookId = bookId;
+            event.statements = StatementCounter.current() - statements;
+            event.exception = failure == null ? null : failure.getClass().getSimpleName();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one borrow or return call, lasting from the call until its
+ * transaction has committed or rolled back.
+ */
+@Name("org.example.backend.Borrowing")
+@Label("Borrowing")
+@Category({"Backend", "Borrowing"})
+@Description("A borrow or return call, including lock waits, retries and the commit")
+@StackTrace(false)
+class BorrowingEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("User ID")
+    long userId;
+
+    @Label("Book ID")
+    long bookId;
+
+    @Label("Statements")
+    @Description("JDBC statements executed by the call, including those of retried attempts")
+    int statements;
+
+    @Label("Exception")
+    @Description("Simple class name of the exception the call failed with")
+    String exception;
+}
@@ -0,0 +1,43 @@
+package org.example.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a lookup in one of the in-memory read models.
+ */
+@Name("org.example.backend.CacheLookup")
+@Label("Cache Lookup")
+@Category({"Backend", "Cache"})
+@StackTrace(false)
+public class CacheLookupEvent extends Event {
+
+    @Label("Cache")
+    String cache;
+
+    @Label("Key")
+    String key;
+
+    @Label("Hit")
+    boolean hit;
+
+    /**
+     * Records a lookup if a recording is collecting this event; otherwise does nothing.
+     *
+     * @param cache the name of the cache
+     * @param key the key looked up
+     * @param hit whether the cache answered the lookup
+     */
+    public static void record(String cache, Object key, boolean hit) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        if (event.shouldCommit()) {
+            event.cache = cache;
+            event.key = String.valueOf(key);
+            event.hit = hit;
+            event.commit();
+        }
+    }
+}
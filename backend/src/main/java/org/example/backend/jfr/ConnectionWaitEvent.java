@@ -0,0 +1,26 @@
+package org.example.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for a connection acquisition that had to wait, committed when the
+ * connection was handed out. The stack trace shows which call was waiting.
+ */
+@Name("org.example.backend.ConnectionWait")
+@Label("Connection Wait")
+@Category({"Backend", "Connection Pool"})
+@StackTrace(true)
+class ConnectionWaitEvent extends Event {
+
+    @Label("Pool")
+    String pool;
+
+    @Label("Wait Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long waitTime;
+}
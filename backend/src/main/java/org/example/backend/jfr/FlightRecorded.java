@@ -0,0 +1,27 @@
+package org.example.backend.jfr;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a borrowing service method whose calls are emitted as {@link BorrowingEvent}s while a
+ * flight recording is running. The event carries the user and book IDs read from the
+ * {@code userId} and {@code bookId} parameters and the number of JDBC statements the call executed.
+ *
+ * @see FlightRecorderAspect
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FlightRecorded {
+
+    /**
+     * The operation recorded in the event, e.g. {@code borrow}.
+     *
+     * @return the operation name
+     */
+    String value();
+}
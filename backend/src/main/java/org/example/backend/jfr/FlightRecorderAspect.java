@@ -0,0 +1,96 @@
+package org.example.backend.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Emits a {@link BorrowingEvent} for every call of a {@link FlightRecorded} method while a
+ * flight recording collects the event. Ordered inside the {@link
+ * org.example.backend.tracing.TracingAspect} span and outside {@link
+ * org.example.backend.metrics.MeasuredAspect}, the single-flight, reporting, book lock and
+ * optimistic retry aspects and the transaction, so the event lasts as long as the caller waited.
+ * Without a recording the advice only checks whether the event is enabled and proceeds.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 7)
+public class FlightRecorderAspect {
+    private final Map<Method, Binding> bindings = new ConcurrentHashMap<>();
+
+    /**
+     * Invokes the annotated method inside a borrowing event.
+     *
+     * @param joinPoint the annotated method invocation
+     * @return the result of the method
+     * @throws Throwable any exception thrown by the method
+     */
+    @Around("@annotation(org.example.backend.jfr.FlightRecorded)")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        BorrowingEvent event = new BorrowingEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Binding binding = bindings.computeIfAbsent(signature.getMethod(), m -> bind(signature, joinPoint.getTarget()));
+        Object[] args = joinPoint.getArgs();
+        int statements = StatementCounter.current();
+        event.begin();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            event.exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = binding.operation;
+                event.userId = id(args, binding.userIndex);
+                event.bookId = id(args, binding.bookIndex);
+                event.statements = StatementCounter.current() - statements;
+                event.commit();
+            }
+        }
+    }
+
+    private static Binding bind(MethodSignature signature, Object target) {
+        Method annotated = AopUtils.getMostSpecificMethod(signature.getMethod(), AopUtils.getTargetClass(target));
+        FlightRecorded flightRecorded = AnnotationUtils.findAnnotation(annotated, FlightRecorded.class);
+        String[] parameterNames = signature.getParameterNames();
+        return new Binding(flightRecorded.value(), indexOf(parameterNames, "userId"), indexOf(parameterNames, "bookId"));
+    }
+
+    private static int indexOf(String[] parameterNames, String name) {
+        return Arrays.asList(parameterNames).indexOf(name);
+    }
+
+    private static long id(Object[] args, int index) {
+        return index >= 0 && args[index] instanceof Long id ? id : 0L;
+    }
+
+    /**
+     * Operation name and positions of the ID parameters of one annotated method.
+     */
+    private static final class Binding {
+        private final String operation;
+        private final int userIndex;
+        private final int bookIndex;
+
+        private Binding(String operation, int userIndex, int bookIndex) {
+            this.operation = operation;
+            this.userIndex = userIndex;
+            this.bookIndex = bookIndex;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.backend.jfr;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hikari metrics tracker factory keeping the usual {@code hikaricp.*} Micrometer metrics and
+ * emitting a {@link ConnectionWaitEvent} for every acquisition that waited at least the threshold.
+ * Spring Boot does not bind its own tracker to pools that already have one, so the Micrometer
+ * tracker is created here.
+ */
+@Component
+public class FlightRecorderMetricsTrackerFactory implements MetricsTrackerFactory {
+    private final MetricsTrackerFactory delegate;
+    private final long thresholdNanos;
+
+    /**
+     * Constructs a new FlightRecorderMetricsTrackerFactory with the specified registry and threshold.
+     *
+     * @param meterRegistry the registry receiving the pool metrics
+     * @param thresholdMs shortest connection wait emitted as an event
+     */
+    public FlightRecorderMetricsTrackerFactory(MeterRegistry meterRegistry,
+                                               @Value("${jfr.connection-wait.threshold-ms:1}") long thresholdMs) {
+        this.delegate = new MicrometerMetricsTrackerFactory(meterRegistry);
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new Tracker(poolName, delegate.create(poolName, poolStats), thresholdNanos);
+    }
+
+    /**
+     * Tracker forwarding everything to the Micrometer tracker and emitting long waits.
+     */
+    private static final class Tracker implements IMetricsTracker {
+        private final String poolName;
+        private final IMetricsTracker delegate;
+        private final long thresholdNanos;
+
+        private Tracker(String poolName, IMetricsTracker delegate, long thresholdNanos) {
+            this.poolName = poolName;
+            this.delegate = delegate;
+            this.thresholdNanos = thresholdNanos;
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            delegate.recordConnectionCreatedMillis(connectionCreatedMillis);
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            delegate.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+            if (elapsedAcquiredNanos >= thresholdNanos) {
+                ConnectionWaitEvent event = new ConnectionWaitEvent();
+                if (event.shouldCommit()) {
+                    event.pool = poolName;
+                    event.waitTime = elapsedAcquiredNanos;
+                    event.commit();
+                }
+            }
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            delegate.recordConnectionUsageMillis(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            delegate.recordConnectionTimeout();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.backend.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Actuator endpoint at {@code /actuator/jfr} taking a time-boxed flight recording and returning
+ * the {@code .jfr} file, e.g.
+ * {@code curl -X POST -H 'Content-Type: application/json' -o app.jfr 'localhost:8081/actuator/jfr?seconds=60'}.
+ * The recording uses one of the JDK's settings, {@code default} or {@code profile}, with the
+ * application's own events enabled, so borrow latency can be read next to GC pauses, lock
+ * contention and pool waits. Only one recording runs at a time; a second request gets 429.
+ * Taking a recording is a write operation, and the endpoint is only exposed on the management
+ * port when listed in {@code management.endpoints.web.exposure.include}.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+public class FlightRecordingEndpoint {
+    private static final String[] EVENTS = {
+            "org.example.backend.Borrowing", "org.example.backend.CacheLookup", "org.example.backend.ConnectionWait"
+    };
+
+    private final Lock lock = new ReentrantLock();
+    private final int defaultSeconds;
+    private final int maxSeconds;
+
+    /**
+     * Constructs a new FlightRecordingEndpoint with the specified duration bounds.
+     *
+     * @param defaultSeconds recording length when the request names none
+     * @param maxSeconds longest recording a request may ask for
+     */
+    public FlightRecordingEndpoint(@Value("${jfr.recording.default-seconds:30}") int defaultSeconds,
+                                   @Value("${jfr.recording.max-seconds:300}") int maxSeconds) {
+        this.defaultSeconds = defaultSeconds;
+        this.maxSeconds = maxSeconds;
+    }
+
+    /**
+     * Records for the requested time and returns the recording. The file is deleted once it has
+     * been streamed.
+     *
+     * @param seconds recording length, capped at the configured maximum
+     * @param settings the JDK settings to record with, {@code default} or {@code profile}
+     * @return the recording, 429 while another recording runs, or 400 for unknown settings
+     * @throws IOException if the recording cannot be written
+     * @throws InterruptedException if the request thread is interrupted while recording
+     */
+    @WriteOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> record(@Nullable Integer seconds, @Nullable String settings)
+            throws IOException, InterruptedException {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings == null ? "default" : settings);
+        } catch (ParseException | IOException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        if (!lock.tryLock()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+        try {
+            int duration = Math.max(1, Math.min(seconds == null ? defaultSeconds : seconds, maxSeconds));
+            Path file = Files.createTempFile("recording-", ".jfr");
+            try (Recording recording = new Recording(configuration)) {
+                recording.setName("actuator");
+                for (String event : EVENTS) {
+                    recording.enable(event);
+                }
+                recording.start();
+                Thread.sleep(Duration.ofSeconds(duration).toMillis());
+                recording.stop();
+                recording.dump(file);
+            } catch (IOException | InterruptedException | RuntimeException e) {
+                Files.deleteIfExists(file);
+                throw e;
+            }
+            return new WebEndpointResponse<>(new TemporaryFileResource(file));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * File resource deleting the file when the stream returned to the message converter is closed.
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        private TemporaryFileResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(getFile().toPath(), StandardOpenOption.READ, StandardOpenOption.DELETE_ON_CLOSE);
+        }
+
+        @Override
+        public ReadableByteChannel readableChannel() throws IOException {
+            return FileChannel.open(getFile().toPath(), StandardOpenOption.READ, StandardOpenOption.DELETE_ON_CLOSE);
+        }
+
+        @Override
+        public boolean isFile() {
+            return false;
+        }
+    }
+}
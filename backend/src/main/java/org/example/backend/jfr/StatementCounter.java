@@ -0,0 +1,31 @@
+package org.example.backend.jfr;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Hibernate session listener counting the JDBC statements and batches executed on each thread.
+ * Registered for every session with {@code hibernate.session.events.auto}; Hibernate creates one
+ * instance per session, so the count itself is kept per thread and callers take differences.
+ */
+public class StatementCounter implements SessionEventListener {
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * Returns the number of statements executed on the current thread so far.
+     *
+     * @return running statement count of this thread
+     */
+    public static int current() {
+        return COUNT.get()[0];
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        COUNT.get()[0]++;
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        COUNT.get()[0]++;
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.backend.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method whose calls are timed in a Micrometer timer of the given name.
+ * The timer covers everything the other service aspects add around the method, such as lock
+ * waits, retries and the transaction. Percentile histograms are switched on per name prefix with
+ * {@code management.metrics.distribution.percentiles-histogram.<name>}.
+ *
+ * @see MeasuredAspect
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Measured {
+
+    /**
+     * The timer name, e.g. {@code borrowing.borrow}.
+     *
+     * @return the timer name
+     */
+    String value();
+}
@@ -0,0 +1,65 @@
+package org.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Entity representing a change waiting to be delivered to downstream consumers.
+ * Written in the same transaction as the change itself and published later by the outbox relay,
+ * so a committed change is never lost and a rolled back change is never published.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = @Index(name = "idx_outbox_events_unpublished", columnList = "published_at, id"))
+@Getter
+@Setter
+@ToString
+public class OutboxEvent {
+    /**
+     * Unique identifier of the event. Events of the same book or user are numbered in commit order.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    /**
+     * Type of the changed entity, "book" or "user".
+     */
+    @Column(name = "aggregate_type", nullable = false)
+    private String aggregateType;
+
+    /**
+     * ID of the changed entity.
+     */
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    /**
+     * Kind of change.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private OutboxEventType eventType;
+
+    /**
+     * JSON representation of the entity state after the change.
+     */
+    @Column(name = "payload", nullable = false, length = 2048)
+    private String payload;
+
+    /**
+     * Time the change was recorded.
+     */
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Time the event was handed to the sink, or null while it is pending.
+     */
+    @Column(name = "published_at")
+    private Instant publishedAt;
+}
@@ -0,0 +1,12 @@
+package org.example.backend.model;
+
+/**
+ * Kinds of changes recorded in the outbox for downstream consumers.
+ */
+public enum OutboxEventType {
+    BOOK_BORROWED,
+    BOOK_RETURNED,
+    BOOK_UPDATED,
+    BOOK_DELETED,
+    USER_UPDATED
+}
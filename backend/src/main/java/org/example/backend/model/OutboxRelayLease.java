@@ -0,0 +1,39 @@
+package org.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Entity representing the lease that makes one application instance the outbox relay.
+ * Only the owner of an unexpired lease publishes, so events are sent by a single instance
+ * in ID order even when several instances run.
+ */
+@Entity
+@Table(name = "outbox_relay_lease")
+@Getter
+@Setter
+@ToString
+public class OutboxRelayLease {
+    /**
+     * Name of the lease.
+     */
+    @Id
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    /**
+     * ID of the instance holding the lease.
+     */
+    @Column(name = "owner", nullable = false)
+    private String owner;
+
+    /**
+     * Time the lease expires unless its owner renews it.
+     */
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+}
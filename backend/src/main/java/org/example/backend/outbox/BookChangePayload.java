@@ -0,0 +1,67 @@
+package org.example.backend.outbox;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Value;
+import org.example.backend.model.Book;
+
+/**
+ * Outbox payload describing a book after a change, and the user who borrowed or returned it, if any.
+ * The version orders changes of the same book and lets consumers skip duplicates.
+ */
+@Value
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookChangePayload {
+    /**
+     * ID of the book.
+     */
+    Long bookId;
+
+    /**
+     * ID of the borrowing or returning user, null for book updates.
+     */
+    Long userId;
+
+    /**
+     * Title of the book.
+     */
+    String title;
+
+    /**
+     * Author of the book.
+     */
+    String author;
+
+    /**
+     * Number of copies available for borrowing.
+     */
+    Integer amount;
+
+    /**
+     * Number of copies currently borrowed by users.
+     */
+    Integer amountOfBorrowedBooks;
+
+    /**
+     * Version of the book row after the change.
+     */
+    Long version;
+
+    /**
+     * Constructs a BookChangePayload from a book and the user involved in the change.
+     *
+     * @param book the changed book
+     * @param userId the ID of the borrowing or returning user, or null
+     */
+    public BookChangePayload(Book book, Long userId) {
+        this.bookId = book.getId();
+        this.userId = userId;
+        this.title = book.getTitle();
+        this.author = book.getAuthor();
+        this.amount = book.getAmount();
+        this.amountOfBorrowedBooks = book.getAmountOfBorrowedBooks();
+        this.version = book.getVersion();
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.backend.outbox;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Value;
+
+/**
+ * Outbox payload describing a deleted book.
+ * A book is only deleted without borrowed copies, so this is the last event of the book.
+ */
+@Value
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class BookDeletedPayload {
+    /**
+     * ID of the deleted book.
+     */
+    Long bookId;
+}
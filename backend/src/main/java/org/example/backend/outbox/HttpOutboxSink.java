@@ -0,0 +1,45 @@
+package org.example.backend.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+/**
+ * Posts each batch of outbox messages as a JSON array to an HTTP callback.
+ * Any response other than 2xx, or no response within the timeout, fails the batch.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "http")
+public class HttpOutboxSink implements OutboxSink {
+    private final RestClient restClient;
+
+    /**
+     * Constructs a new HttpOutboxSink posting to the specified URL.
+     *
+     * @param restClientBuilder the builder for the HTTP client
+     * @param url the callback URL receiving the batches
+     * @param timeoutMs connect and read timeout in milliseconds
+     */
+    public HttpOutboxSink(RestClient.Builder restClientBuilder,
+                          @Value("${outbox.http.url}") String url,
+                          @Value("${outbox.http.timeout-ms:5000}") int timeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        this.restClient = restClientBuilder.baseUrl(url).requestFactory(requestFactory).build();
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(messages)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.backend.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Keeps outbox messages in a bounded in-memory queue for consumers running in the same process.
+ * When the queue cannot take a whole batch, the batch is rejected and stays pending in the outbox
+ * table until consumers catch up.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+    private final BlockingQueue<OutboxMessage> queue;
+
+    /**
+     * Constructs a new InMemoryOutboxSink with the specified capacity.
+     *
+     * @param capacity maximum number of undrained messages
+     */
+    public InMemoryOutboxSink(@Value("${outbox.memory.capacity:10000}") int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> messages) {
+        if (queue.remainingCapacity() < messages.size()) {
+            throw new IllegalStateException("In-memory outbox sink is full");
+        }
+        queue.addAll(messages);
+    }
+
+    /**
+     * Removes and returns all queued messages in delivery order.
+     *
+     * @return the queued messages
+     */
+    public List<OutboxMessage> drain() {
+        List<OutboxMessage> messages = new ArrayList<>();
+        queue.drainTo(messages);
+        return messages;
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.backend.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Value;
+import org.example.backend.model.OutboxEvent;
+import org.example.backend.model.OutboxEventType;
+
+import java.time.Instant;
+
+/**
+ * Message handed to an {@link OutboxSink} for one outbox event.
+ * The ID increases with every event, so consumers can use it to detect redelivered messages.
+ */
+@Value
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class OutboxMessage {
+    /**
+     * ID of the outbox event.
+     */
+    Long id;
+
+    /**
+     * Type of the changed entity, "book" or "user".
+     */
+    String aggregateType;
+
+    /**
+     * ID of the changed entity.
+     */
+    Long aggregateId;
+
+    /**
+     * Kind of change.
+     */
+    OutboxEventType eventType;
+
+    /**
+     * Entity state after the change, as stored JSON.
+     */
+    @JsonRawValue
+    String payload;
+
+    /**
+     * Time the change was recorded.
+     */
+    Instant createdAt;
+
+    /**
+     * Constructs an OutboxMessage from an outbox event.
+     *
+     * @param event the outbox event to convert
+     */
+    public OutboxMessage(OutboxEvent event) {
+        this.id = event.getId();
+        this.aggregateType = event.getAggregateType();
+        this.aggregateId = event.getAggregateId();
+        this.eventType = event.getEventType();
+        this.payload = event.getPayload();
+        this.createdAt = event.getCreatedAt();
+    }
+}
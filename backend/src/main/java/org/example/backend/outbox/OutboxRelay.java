@@ -0,0 +1,127 @@
+package org.example.backend.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.model.OutboxEvent;
+import org.example.backend.repository.OutboxEventRepository;
+import org.example.backend.repository.OutboxRelayLeaseRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes pending outbox events to the configured {@link OutboxSink}.
+ * Events are read in ID order and handed to the sink in batches by a single scheduled task, and
+ * marked as published only after the sink accepted them. A failed batch is retried from the same
+ * event on the next run, so delivery is at least once and events of a book or user keep their order.
+ * With several application instances, only the holder of the {@code outbox_relay_lease} row
+ * publishes. The lease is renewed before every batch and expires after {@code outbox.relay.lease-ms}
+ * when its holder stops, so another instance takes over from the first unpublished event.
+ * The lease must outlast the slowest batch, and instance clocks are assumed to agree to well
+ * within it.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnExpression("'${outbox.sink:none}' != 'none'")
+public class OutboxRelay {
+    private static final String LEASE = "outbox-relay";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelayLeaseRepository leaseRepository;
+    private final OutboxSink sink;
+    private final String owner = UUID.randomUUID().toString();
+    private final Counter published;
+    private final Counter failures;
+    private final Timer batchTimer;
+    private final AtomicLong pending = new AtomicLong();
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.lease-ms:30000}")
+    private long leaseMs;
+
+    /**
+     * Constructs a new OutboxRelay with the specified repository and sink.
+     *
+     * @param outboxEventRepository the repository of outbox events
+     * @param leaseRepository the repository of the relay lease
+     * @param sink the destination of the events
+     * @param meterRegistry the registry receiving relay metrics
+     */
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxRelayLeaseRepository leaseRepository,
+                       OutboxSink sink, MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.leaseRepository = leaseRepository;
+        this.sink = sink;
+        this.published = meterRegistry.counter("outbox.published");
+        this.failures = meterRegistry.counter("outbox.failures");
+        this.batchTimer = Timer.builder("outbox.publish")
+                .description("Time to deliver one batch to the outbox sink")
+                .register(meterRegistry);
+        meterRegistry.gauge("outbox.pending", pending);
+    }
+
+    /**
+     * Publishes pending events batch by batch until none are left, the sink fails, or the lease
+     * is held by another instance.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void relay() {
+        List<OutboxEvent> batch;
+        do {
+            if (!holdLease()) break;
+            batch = outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) break;
+            List<OutboxMessage> messages = batch.stream().map(OutboxMessage::new).toList();
+            long start = System.nanoTime();
+            try {
+                sink.publish(messages);
+            } catch (Exception e) {
+                failures.increment();
+                log.warn("Outbox sink rejected a batch of {} events starting at {}, retrying on next run",
+                        messages.size(), messages.get(0).getId(), e);
+                break;
+            }
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            outboxEventRepository.markPublished(messages.stream().map(OutboxMessage::getId).toList(), Instant.now());
+            published.increment(messages.size());
+        } while (batch.size() == batchSize);
+        pending.set(outboxEventRepository.countByPublishedAtIsNull());
+    }
+
+    @PreDestroy
+    void releaseLease() {
+        leaseRepository.release(LEASE, owner, Instant.now());
+    }
+
+    /**
+     * Takes or renews the lease. The lease row is created by the first instance that finds
+     * none; if two create it at once, the constraint violation tells the second it lost.
+     */
+    private boolean holdLease() {
+        Instant now = Instant.now();
+        Instant lockedUntil = now.plusMillis(leaseMs);
+        if (leaseRepository.acquire(LEASE, owner, now, lockedUntil) > 0) return true;
+        if (leaseRepository.existsById(LEASE)) return false;
+        try {
+            return leaseRepository.create(LEASE, owner, lockedUntil) > 0;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+}
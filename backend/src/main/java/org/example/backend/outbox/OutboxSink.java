@@ -0,0 +1,18 @@
+package org.example.backend.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of outbox messages, selected with the {@code outbox.sink} property.
+ * The relay marks messages as published only after {@link #publish(List)} returns, so a sink
+ * must be prepared to receive a message again after a failure or a restart.
+ */
+public interface OutboxSink {
+    /**
+     * Delivers a batch of messages in the given order.
+     *
+     * @param messages messages ordered by ID
+     * @throws Exception if the batch could not be delivered; it is retried on the next relay run
+     */
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
@@ -0,0 +1,46 @@
+package org.example.backend.outbox;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Value;
+import org.example.backend.model.User;
+
+/**
+ * Outbox payload describing a user after a change.
+ * The version orders changes of the same user and lets consumers skip duplicates.
+ */
+@Value
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class UserChangePayload {
+    /**
+     * ID of the user.
+     */
+    Long userId;
+
+    /**
+     * User's name.
+     */
+    String name;
+
+    /**
+     * Number of books currently borrowed by the user.
+     */
+    Integer numberOfBorrowedBooks;
+
+    /**
+     * Version of the user row after the change.
+     */
+    Long version;
+
+    /**
+     * Constructs a UserChangePayload from a user.
+     *
+     * @param user the changed user
+     */
+    public UserChangePayload(User user) {
+        this.userId = user.getId();
+        this.name = user.getName();
+        this.numberOfBorrowedBooks = user.getNumberOfBorrowedBooks();
+        this.version = user.getVersion();
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.backend.readmodel;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.backend.event.BookAvailabilityChangedEvent;
+import org.example.backend.event.BookDeletedEvent;
+import io.opentelemetry.api.trace.Span;
+import org.example.backend.jfr.CacheLookupEvent;
+import org.example.backend.repository.BookRepository;
+import org.example.backend.tracing.Traced;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * In-memory projection of the available and borrowed amount of every book.
+ * Filled by one streaming scan of the books table at startup and kept current from the
+ * availability events published by borrow, return, create, update and delete, after their
+ * transactions commit. Events and the startup scan are applied by version, so their order
+ * does not matter. Reads never lock and never box.
+ */
+@Component
+@Profile("!reactive")
+public class BookAvailabilityReadModel {
+    private final PackedAvailabilityMap availability;
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean loaded;
+
+    /**
+     * Constructs a new BookAvailabilityReadModel with the specified repository.
+     *
+     * @param bookRepository the book repository scanned at startup
+     * @param transactionManager the transaction manager for the startup scan
+     * @param meterRegistry the registry receiving size metrics
+     * @param expectedBooks number of books the map is sized for initially
+     */
+    public BookAvailabilityReadModel(BookRepository bookRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${book.availability.expected-books:1024}") int expectedBooks) {
+        this.availability = new PackedAvailabilityMap(expectedBooks);
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        meterRegistry.gauge("book.availability.books", availability, PackedAvailabilityMap::size);
+        meterRegistry.gauge("book.availability.bytes", availability, PackedAvailabilityMap::memoryBytes);
+    }
+
+    /**
+     * Loads the counters of every book with a streaming scan.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<BookAvailabilityChangedEvent> books = bookRepository.streamAvailability()) {
+                books.forEach(this::apply);
+            }
+        });
+        loaded = true;
+    }
+
+    /**
+     * Applies a committed availability change.
+     *
+     * @param event the availability change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(BookAvailabilityChangedEvent event) {
+        apply(event);
+    }
+
+    /**
+     * Removes a deleted book.
+     *
+     * @param event the deletion
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookDeleted(BookDeletedEvent event) {
+        availability.remove(event.getBookId());
+    }
+
+    /**
+     * Returns the packed counters of a book, see {@link PackedAvailabilityMap#amount(long)} and
+     * {@link PackedAvailabilityMap#borrowed(long)}.
+     *
+     * @param bookId the book ID
+     * @return the packed counters, or {@link PackedAvailabilityMap#MISSING} if the book is not known
+     */
+    @Traced("cache book.availability")
+    public long get(long bookId) {
+        long packed = availability.get(bookId);
+        boolean hit = packed != PackedAvailabilityMap.MISSING;
+        CacheLookupEvent.record("book.availability", bookId, hit);
+        Span.current().setAttribute("cache.hit", hit);
+        return packed;
+    }
+
+    /**
+     * Stores the state of a book read from the database, unless a newer state is already known.
+     *
+     * @param event the current availability of the book
+     */
+    public void apply(BookAvailabilityChangedEvent event) {
+        availability.put(event.getBookId(), event.getAmount(), event.getAmountOfBorrowedBooks(), event.getVersion());
+    }
+
+    /**
+     * Tells whether the startup scan has completed.
+     *
+     * @return true once every book has been loaded
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+}
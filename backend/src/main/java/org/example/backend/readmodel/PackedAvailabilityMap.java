@@ -0,0 +1,192 @@
+package org.example.backend.readmodel;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Open-addressing map from a positive book ID to its availability counters, packed into one long.
+ * The available amount is kept in the upper 32 bits and the borrowed amount in the lower 32 bits,
+ * so a reader always sees both counters of the same write.
+ * Reads are lock-free and allocate nothing: they probe {@code long} slots of the current table.
+ * Writes are serialized on the map and only apply a state whose version is newer than the stored
+ * one, so changes arriving out of commit order cannot overwrite newer state.
+ * A removed book keeps its slot with the highest version, so a stale write cannot bring it back.
+ * <p>
+ * Each slot takes 24 bytes (key, packed counters, version) and the table is at most three
+ * quarters full, which gives 32 to 64 bytes per book depending on where the last resize happened.
+ */
+public class PackedAvailabilityMap {
+    /**
+     * Value returned by {@link #get(long)} for a book that is not in the map.
+     */
+    public static final long MISSING = Long.MIN_VALUE;
+
+    private static final long REMOVED_VERSION = Long.MAX_VALUE;
+
+    private volatile Table table;
+    private int size;
+
+    /**
+     * Constructs a new PackedAvailabilityMap sized for the expected number of books.
+     *
+     * @param expectedBooks number of books the map should hold without resizing
+     */
+    public PackedAvailabilityMap(int expectedBooks) {
+        this.table = new Table(capacityFor(expectedBooks));
+    }
+
+    /**
+     * Packs the two counters of a book into one value.
+     *
+     * @param amount number of copies available for borrowing
+     * @param borrowed number of copies currently borrowed
+     * @return the packed counters
+     */
+    public static long pack(int amount, int borrowed) {
+        return ((long) amount << 32) | (borrowed & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Extracts the available amount from packed counters.
+     *
+     * @param packed the packed counters
+     * @return number of copies available for borrowing
+     */
+    public static int amount(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    /**
+     * Extracts the borrowed amount from packed counters.
+     *
+     * @param packed the packed counters
+     * @return number of copies currently borrowed
+     */
+    public static int borrowed(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * Returns the packed counters of a book without locking.
+     *
+     * @param bookId the book ID
+     * @return the packed counters, or {@link #MISSING} if the book is unknown or removed
+     */
+    public long get(long bookId) {
+        if (bookId <= 0) return MISSING;
+        Table current = table;
+        int mask = current.mask;
+        for (int i = index(bookId, mask); ; i = (i + 1) & mask) {
+            long key = current.keys.get(i);
+            if (key == bookId) return current.values.get(i);
+            if (key == 0) return MISSING;
+        }
+    }
+
+    /**
+     * Stores the counters of a book if the version is newer than the stored one.
+     *
+     * @param bookId the book ID, must be positive
+     * @param amount number of copies available for borrowing
+     * @param borrowed number of copies currently borrowed
+     * @param version version of the book row the counters were read from
+     * @return true if the counters were stored
+     * @throws IllegalArgumentException if the book ID is not positive
+     */
+    public synchronized boolean put(long bookId, int amount, int borrowed, long version) {
+        if (bookId <= 0) throw new IllegalArgumentException("Book ID must be positive: " + bookId);
+        return write(bookId, pack(amount, borrowed), version);
+    }
+
+    /**
+     * Marks a book as removed; later puts of the same book are ignored.
+     *
+     * @param bookId the book ID
+     */
+    public synchronized void remove(long bookId) {
+        if (bookId > 0) write(bookId, MISSING, REMOVED_VERSION);
+    }
+
+    /**
+     * Returns the number of slots in use, including removed books.
+     *
+     * @return number of used slots
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes held by the table arrays, excluding object headers.
+     *
+     * @return size of the table in bytes
+     */
+    public long memoryBytes() {
+        return (long) table.keys.length() * 3 * Long.BYTES;
+    }
+
+    private boolean write(long bookId, long packed, long version) {
+        Table current = table;
+        int mask = current.mask;
+        int i = index(bookId, mask);
+        for (long key; (key = current.keys.get(i)) != 0; i = (i + 1) & mask) {
+            if (key == bookId) {
+                if (version <= current.versions[i]) return false;
+                current.versions[i] = version;
+                current.values.set(i, packed);
+                return true;
+            }
+        }
+        if ((size + 1) * 4L > current.keys.length() * 3L) {
+            table = resize(current);
+            return write(bookId, packed, version);
+        }
+        current.versions[i] = version;
+        current.values.set(i, packed);
+        current.keys.set(i, bookId);
+        size++;
+        return true;
+    }
+
+    private static Table resize(Table old) {
+        Table resized = new Table(old.keys.length() * 2);
+        for (int j = 0; j < old.keys.length(); j++) {
+            long key = old.keys.get(j);
+            if (key == 0) continue;
+            int i = index(key, resized.mask);
+            while (resized.keys.get(i) != 0) i = (i + 1) & resized.mask;
+            resized.versions[i] = old.versions[j];
+            resized.values.set(i, old.values.get(j));
+            resized.keys.set(i, key);
+        }
+        return resized;
+    }
+
+    private static int index(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static int capacityFor(int expected) {
+        int capacity = 16;
+        while (capacity * 3L < expected * 4L) capacity <<= 1;
+        return capacity;
+    }
+
+    /**
+     * One generation of the table. Readers only touch the atomic arrays; the version array is
+     * read and written under the map's lock only.
+     */
+    private static final class Table {
+        private final AtomicLongArray keys;
+        private final AtomicLongArray values;
+        private final long[] versions;
+        private final int mask;
+
+        private Table(int capacity) {
+            this.keys = new AtomicLongArray(capacity);
+            this.values = new AtomicLongArray(capacity);
+            this.versions = new long[capacity];
+            this.mask = capacity - 1;
+        }
+    }
+}
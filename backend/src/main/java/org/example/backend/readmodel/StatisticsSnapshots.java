@@ -0,0 +1,188 @@
+package org.example.backend.readmodel;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.opentelemetry.api.trace.Span;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.jfr.CacheLookupEvent;
+import org.example.backend.service.BorrowingService;
+import org.example.backend.tracing.Traced;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Precomputed borrowing statistics and distinct borrowed titles, kept as serialized JSON.
+ * A scheduled refresh recomputes both lists and swaps each snapshot atomically, so the endpoints
+ * answer with the stored bytes without a query or serialization. A snapshot older than the maximum
+ * staleness, e.g. because refreshes keep failing, is recomputed by the request that finds it.
+ * The last-modified time only moves when the JSON actually changes, so conditional requests
+ * keep getting 304 while the statistics stay the same, and it always moves forward when the JSON
+ * changes, even within the second of the previous change, so no client keeps a stale copy.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "statistics.snapshot.enabled", havingValue = "true", matchIfMissing = true)
+public class StatisticsSnapshots {
+    private final AtomicReference<Snapshot> statistics = new AtomicReference<>();
+    private final AtomicReference<Snapshot> titles = new AtomicReference<>();
+    private final BorrowingService borrowingService;
+    private final ObjectMapper objectMapper;
+    private final Duration maxStaleness;
+    private final Timer refreshTimer;
+
+    /**
+     * Constructs a new StatisticsSnapshots with the specified service and staleness bound.
+     *
+     * @param borrowingService the borrowing service computing the statistics
+     * @param objectMapper the mapper serializing the lists exactly as the endpoints would
+     * @param meterRegistry the registry receiving refresh metrics
+     * @param maxStalenessMs age after which a snapshot is recomputed before it is served
+     */
+    public StatisticsSnapshots(BorrowingService borrowingService,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${statistics.snapshot.max-staleness-ms:30000}") long maxStalenessMs) {
+        this.borrowingService = borrowingService;
+        this.objectMapper = objectMapper;
+        this.maxStaleness = Duration.ofMillis(maxStalenessMs);
+        this.refreshTimer = Timer.builder("statistics.snapshot.refresh")
+                .description("Time to recompute and serialize a statistics snapshot")
+                .register(meterRegistry);
+        Gauge.builder("statistics.snapshot.age", statistics, StatisticsSnapshots::ageSeconds)
+                .description("Seconds since the statistics snapshot was computed")
+                .tag("name", "statistic")
+                .register(meterRegistry);
+        Gauge.builder("statistics.snapshot.age", titles, StatisticsSnapshots::ageSeconds)
+                .description("Seconds since the statistics snapshot was computed")
+                .tag("name", "titles")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the borrowing statistics, recomputing them first if the snapshot is missing or too old.
+     *
+     * @return the current statistics snapshot
+     */
+    @Traced("cache statistics.snapshot")
+    public Snapshot statistics() {
+        return current("statistic", statistics, borrowingService::getDistinctBorrowedBooksTitlesAndCounts);
+    }
+
+    /**
+     * Returns the distinct borrowed titles, recomputing them first if the snapshot is missing or too old.
+     *
+     * @return the current titles snapshot
+     */
+    @Traced("cache statistics.snapshot")
+    public Snapshot titles() {
+        return current("titles", titles, borrowingService::getDistinctBorrowedBooksTitles);
+    }
+
+    /**
+     * Recomputes both snapshots. A failed refresh keeps the previous snapshot.
+     */
+    @Scheduled(fixedDelayString = "${statistics.snapshot.refresh-interval-ms:5000}")
+    public void refresh() {
+        try {
+            refresh(statistics, borrowingService::getDistinctBorrowedBooksTitlesAndCounts);
+            refresh(titles, borrowingService::getDistinctBorrowedBooksTitles);
+        } catch (RuntimeException e) {
+            log.warn("Statistics snapshot refresh failed, serving the previous snapshot: {}", e.getMessage());
+        }
+    }
+
+    private Snapshot current(String name, AtomicReference<Snapshot> reference, Supplier<List<?>> query) {
+        Snapshot snapshot = reference.get();
+        boolean hit = snapshot != null && !snapshot.getComputedAt().plus(maxStaleness).isBefore(Instant.now());
+        CacheLookupEvent.record("statistics.snapshot", name, hit);
+        Span.current().setAttribute("cache.hit", hit);
+        return hit ? snapshot : refresh(reference, query);
+    }
+
+    private Snapshot refresh(AtomicReference<Snapshot> reference, Supplier<List<?>> query) {
+        Instant computedAt = Instant.now();
+        byte[] json = refreshTimer.record(() -> serialize(query.get()));
+        return reference.accumulateAndGet(new Snapshot(json, computedAt.truncatedTo(ChronoUnit.SECONDS), computedAt),
+                (current, next) -> {
+                    if (current == null) return next;
+                    if (next.computedAt.isBefore(current.computedAt)) return current;
+                    if (Arrays.equals(current.json, next.json)) {
+                        return new Snapshot(current.json, current.lastModified, next.computedAt);
+                    }
+                    return next.lastModified.isAfter(current.lastModified)
+                            ? next
+                            : new Snapshot(next.json, current.lastModified.plusSeconds(1), next.computedAt);
+                });
+    }
+
+    private byte[] serialize(List<?> value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Statistics could not be serialized", e);
+        }
+    }
+
+    private static double ageSeconds(AtomicReference<Snapshot> reference) {
+        Snapshot snapshot = reference.get();
+        return snapshot == null ? Double.NaN : Duration.between(snapshot.computedAt, Instant.now()).toMillis() / 1000.0;
+    }
+
+    /**
+     * Serialized list together with the time it last changed and the time it was computed.
+     */
+    public static final class Snapshot {
+        private final byte[] json;
+        private final Instant lastModified;
+        private final Instant computedAt;
+
+        private Snapshot(byte[] json, Instant lastModified, Instant computedAt) {
+            this.json = json;
+            this.lastModified = lastModified;
+            this.computedAt = computedAt;
+        }
+
+        /**
+         * Returns the serialized list; callers must not modify the array.
+         *
+         * @return JSON bytes
+         */
+        public byte[] getJson() {
+            return json;
+        }
+
+        /**
+         * Returns the time the serialized list last changed, truncated to seconds as in HTTP dates,
+         * or one second past the previous value when the list changed again within that second.
+         *
+         * @return last modification time
+         */
+        public Instant getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Returns the time the list was last computed.
+         *
+         * @return computation time
+         */
+        public Instant getComputedAt() {
+            return computedAt;
+        }
+    }
+}
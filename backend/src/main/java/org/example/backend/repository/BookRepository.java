@@ -1,8 +1,18 @@
 package org.example.backend.repository;
 
+import jakarta.persistence.QueryHint;
+import org.example.backend.event.BookAvailabilityChangedEvent;
 import org.example.backend.model.Book;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Book entity.
@@ -18,4 +28,27 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * @return the book with the specified title and author, or null if not found
      */
     Book findByTitleAndAuthor(String title, String author);
+
+    /**
+     * Deletes a book in a single statement, but only if none of its copies are borrowed.
+     * Bypasses the persistence context, so no entity is loaded and no cascade is walked.
+     *
+     * @param id the ID of the book to delete
+     * @return number of deleted rows, 0 if the book does not exist or has borrowed copies
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Book b WHERE b.id = :id AND b.amountOfBorrowedBooks = 0")
+    int deleteByIdIfNotBorrowed(@Param("id") Long id);
+
+    /**
+     * Streams the availability counters of every book without loading Book entities.
+     * Rows are fetched from the database in chunks; the stream must be consumed and closed
+     * inside a transaction.
+     *
+     * @return stream of availability states, one per book
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new org.example.backend.event.BookAvailabilityChangedEvent(b.id, b.amount, b.amountOfBorrowedBooks, b.version) FROM Book b")
+    Stream<BookAvailabilityChangedEvent> streamAvailability();
 }
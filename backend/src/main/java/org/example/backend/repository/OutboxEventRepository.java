@@ -0,0 +1,47 @@
+package org.example.backend.repository;
+
+import org.example.backend.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for OutboxEvent entity operations.
+ * Provides access to pending events in publication order.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    /**
+     * Finds the oldest events that have not been published yet.
+     *
+     * @param pageable the maximum number of events to return
+     * @return pending events ordered by ID
+     */
+    List<OutboxEvent> findByPublishedAtIsNullOrderByIdAsc(Pageable pageable);
+
+    /**
+     * Counts the events that have not been published yet.
+     *
+     * @return number of pending events
+     */
+    long countByPublishedAtIsNull();
+
+    /**
+     * Marks events as published.
+     *
+     * @param ids IDs of the published events
+     * @param publishedAt time of publication
+     * @return number of updated events
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") List<Long> ids, @Param("publishedAt") Instant publishedAt);
+}
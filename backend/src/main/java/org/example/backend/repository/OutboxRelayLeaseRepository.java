@@ -0,0 +1,62 @@
+package org.example.backend.repository;
+
+import org.example.backend.model.OutboxRelayLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Repository interface for OutboxRelayLease entity operations.
+ * Takes, renews and releases the lease with single conditional updates.
+ */
+@Repository
+public interface OutboxRelayLeaseRepository extends JpaRepository<OutboxRelayLease, String> {
+    /**
+     * Takes the lease if it is free or expired, or renews it if the owner already holds it.
+     *
+     * @param name the lease name
+     * @param owner ID of the instance taking the lease
+     * @param now the current time
+     * @param lockedUntil the new expiry time
+     * @return 1 if the owner holds the lease afterwards, 0 otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxRelayLease l SET l.owner = :owner, l.lockedUntil = :lockedUntil "
+            + "WHERE l.name = :name AND (l.owner = :owner OR l.lockedUntil < :now)")
+    int acquire(@Param("name") String name, @Param("owner") String owner,
+                @Param("now") Instant now, @Param("lockedUntil") Instant lockedUntil);
+
+    /**
+     * Creates the lease held by the owner. Fails with a constraint violation if another instance
+     * created it first.
+     *
+     * @param name the lease name
+     * @param owner ID of the instance taking the lease
+     * @param lockedUntil the expiry time
+     * @return number of created leases
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO outbox_relay_lease (name, owner, locked_until) VALUES (:name, :owner, :lockedUntil)",
+            nativeQuery = true)
+    int create(@Param("name") String name, @Param("owner") String owner, @Param("lockedUntil") Instant lockedUntil);
+
+    /**
+     * Releases the lease if the owner holds it, so another instance can take it right away.
+     *
+     * @param name the lease name
+     * @param owner ID of the instance releasing the lease
+     * @param now the current time
+     * @return number of released leases
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxRelayLease l SET l.lockedUntil = :now WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now);
+}
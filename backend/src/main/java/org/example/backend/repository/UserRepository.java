@@ -2,7 +2,11 @@ package org.example.backend.repository;
 
 import org.example.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository interface for User entity.
@@ -17,4 +21,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return the user with the specified name, or null if not found
      */
     User findByName(String name);
+
+    /**
+     * Deletes a user in a single statement, but only if they have no borrowed books.
+     * Bypasses the persistence context, so no entity is loaded and no cascade is walked.
+     *
+     * @param id the ID of the user to delete
+     * @return number of deleted rows, 0 if the user does not exist or has borrowed books
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM User u WHERE u.id = :id AND u.numberOfBorrowedBooks = 0")
+    int deleteByIdIfNoBorrowedBooks(@Param("id") Long id);
 }
@@ -0,0 +1,48 @@
+package org.example.backend.service;
+
+import org.example.backend.model.Book;
+import org.example.backend.model.User;
+
+/**
+ * Service interface for recording changes in the transactional outbox.
+ * Every method must be called inside the transaction that makes the change,
+ * so the outbox event commits or rolls back together with it.
+ */
+public interface OutboxService {
+    /**
+     * Records that a user borrowed a book.
+     *
+     * @param book the borrowed book after the change
+     * @param user the borrowing user
+     */
+    void bookBorrowed(Book book, User user);
+
+    /**
+     * Records that a user returned a book.
+     *
+     * @param book the returned book after the change
+     * @param user the returning user
+     */
+    void bookReturned(Book book, User user);
+
+    /**
+     * Records that a book was updated.
+     *
+     * @param book the updated book
+     */
+    void bookUpdated(Book book);
+
+    /**
+     * Records that a book was deleted.
+     *
+     * @param bookId the ID of the deleted book
+     */
+    void bookDeleted(Long bookId);
+
+    /**
+     * Records that a user was updated.
+     *
+     * @param user the updated user
+     */
+    void userUpdated(User user);
+}
@@ -0,0 +1,58 @@
+package org.example.backend.service;
+
+import org.example.backend.dto.request.UserInformationRequest;
+import org.example.backend.dto.response.BorrowedBooksStatisticResponse;
+import org.example.backend.dto.response.BorrowedTitlesResponse;
+import org.example.backend.model.Book;
+import org.example.backend.model.Borrowing;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking service interface for borrowing management operations.
+ * Mirrors {@link BorrowingService} with the same rules and errors, signalled through Reactor publishers.
+ */
+public interface ReactiveBorrowingService {
+    /**
+     * Borrows a book for a user.
+     *
+     * @param userId the ID of the user borrowing the book
+     * @param bookId the ID of the book being borrowed
+     * @return the created borrowing transaction
+     * @throws jakarta.persistence.EntityNotFoundException if book is not available or user limit exceeded
+     */
+    Mono<Borrowing> borrowBook(Long userId, Long bookId);
+
+    /**
+     * Gets all books borrowed by a specific user.
+     *
+     * @param request the user information request containing the user's name
+     * @return books borrowed by the user
+     * @throws jakarta.persistence.EntityNotFoundException if user is not found
+     */
+    Flux<Book> getBorrowedBooksByUserName(UserInformationRequest request);
+
+    /**
+     * Gets all distinct book titles that have been borrowed.
+     *
+     * @return distinct borrowed book titles
+     */
+    Flux<BorrowedTitlesResponse> getDistinctBorrowedBooksTitles();
+
+    /**
+     * Gets statistics about borrowed books including title and count of borrowings.
+     *
+     * @return borrowed books statistics
+     */
+    Flux<BorrowedBooksStatisticResponse> getDistinctBorrowedBooksTitlesAndCounts();
+
+    /**
+     * Returns a borrowed book.
+     *
+     * @param userId the ID of the user returning the book
+     * @param bookId the ID of the book being returned
+     * @return completion signal
+     * @throws jakarta.persistence.EntityNotFoundException if book, user, or borrowing is not found
+     */
+    Mono<Void> returnBook(Long userId, Long bookId);
+}
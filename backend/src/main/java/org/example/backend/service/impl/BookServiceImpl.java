@@ -1,12 +1,20 @@
 package org.example.backend.service.impl;
 
+import org.example.backend.concurrency.OptimisticRetry;
+import org.example.backend.concurrency.SingleFlight;
 import org.example.backend.dto.request.BookCreationRequest;
 import org.example.backend.dto.request.BookUpdateRequest;
+import org.example.backend.event.BookAvailabilityChangedEvent;
+import org.example.backend.event.BookDeletedEvent;
 import org.example.backend.exceptions.custom.EntityBorrowedException;
 import org.example.backend.model.Book;
 import org.example.backend.repository.BookRepository;
 import org.example.backend.service.BookService;
+import org.example.backend.service.OutboxService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.context.annotation.Profile;
 
 /**
  * Implementation of BookService interface.
@@ -14,16 +22,23 @@ import org.springframework.stereotype.Service;
  * CRUD operations with validation and business rules.
  */
 @Service
+@Profile("!reactive")
 public class BookServiceImpl implements BookService {
     private final BookRepository bookRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
 
     /**
      * Constructs a new BookServiceImpl with the specified book repository.
      * 
      * @param bookRepository the book repository for data access
+     * @param eventPublisher the publisher for book availability events
+     * @param outboxService the outbox recording book change events
      */
-    public BookServiceImpl(BookRepository bookRepository) {
+    public BookServiceImpl(BookRepository bookRepository, ApplicationEventPublisher eventPublisher, OutboxService outboxService) {
         this.bookRepository = bookRepository;
+        this.eventPublisher = eventPublisher;
+        this.outboxService = outboxService;
     }
 
     /**
@@ -34,6 +49,8 @@ public class BookServiceImpl implements BookService {
      * @throws IllegalArgumentException if the request is null
      */
     @Override
+    @Transactional
+    @OptimisticRetry
     public Book createBook(BookCreationRequest request) {
         if (request == null) {
             throw new IllegalArgumentException("Book creation request cannot be null");
@@ -42,7 +59,11 @@ public class BookServiceImpl implements BookService {
         Book existingBook = bookRepository.findByTitleAndAuthor(request.getTitle(), request.getAuthor());
         if (existingBook != null) {
             existingBook.setAmount(existingBook.getAmount() + 1);
-            return bookRepository.save(existingBook);
+            // flushed so the event carries the version this change commits with
+            Book savedBook = bookRepository.saveAndFlush(existingBook);
+            outboxService.bookUpdated(savedBook);
+            eventPublisher.publishEvent(new BookAvailabilityChangedEvent(savedBook));
+            return savedBook;
         }
 
         Book book = new Book();
@@ -50,7 +71,10 @@ public class BookServiceImpl implements BookService {
         book.setAuthor(request.getAuthor());
         book.setAmount(1);
         book.setAmountOfBorrowedBooks(0);
-        return bookRepository.save(book);
+        Book savedBook = bookRepository.save(book);
+        outboxService.bookUpdated(savedBook);
+        eventPublisher.publishEvent(new BookAvailabilityChangedEvent(savedBook));
+        return savedBook;
     }
 
     /**
@@ -61,6 +85,8 @@ public class BookServiceImpl implements BookService {
      * @throws jakarta.persistence.EntityNotFoundException if book is not found
      */
     @Override
+    @SingleFlight("book.read")
+    @Transactional(readOnly = true)
     public Book readBook(Long id) {
         return bookRepository.findById(id)
                 .orElseThrow(() -> new jakarta.persistence.EntityNotFoundException("Book not found with id: " + id));
@@ -76,6 +102,8 @@ public class BookServiceImpl implements BookService {
      * @throws jakarta.persistence.EntityNotFoundException if book is not found
      */
     @Override
+    @Transactional
+    @OptimisticRetry
     public Book updateBook(Long id, BookUpdateRequest request) {
         if (request == null) {
             throw new IllegalArgumentException("Book update request cannot be null");
@@ -93,24 +121,34 @@ public class BookServiceImpl implements BookService {
             book.setAmountOfBorrowedBooks(request.getAmountOfBorrowedBooks());
         }
         
-        return bookRepository.save(book);
+        Book savedBook = bookRepository.save(book);
+        outboxService.bookUpdated(savedBook);
+        eventPublisher.publishEvent(new BookAvailabilityChangedEvent(savedBook));
+        return savedBook;
     }
 
     /**
      * Deletes a book if it has no borrowed copies.
+     * The delete is a single conditional statement; the existence probe only runs
+     * when nothing was deleted, to tell a missing book apart from a borrowed one.
+     * A successful delete is recorded in the outbox within the same transaction.
      * 
      * @param id the book ID
      * @throws jakarta.persistence.EntityNotFoundException if book is not found
      * @throws EntityBorrowedException if book has borrowed copies
      */
     @Override
+    @Transactional
     public void deleteBook(Long id) {
-        Book book = readBook(id);
-        
-        if (book.getAmountOfBorrowedBooks() > 0) {
-            throw new EntityBorrowedException("Cannot delete book with borrowed copies");
+        if (bookRepository.deleteByIdIfNotBorrowed(id) > 0) {
+            outboxService.bookDeleted(id);
+            eventPublisher.publishEvent(new BookDeletedEvent(id));
+            return;
         }
-        
-        bookRepository.delete(book);
+
+        if (!bookRepository.existsById(id)) {
+            throw new jakarta.persistence.EntityNotFoundException("Book not found with id: " + id);
+        }
+        throw new EntityBorrowedException("Cannot delete book with borrowed copies");
     }
 }
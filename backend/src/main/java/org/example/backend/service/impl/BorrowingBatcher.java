@@ -0,0 +1,231 @@
+package org.example.backend.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.example.backend.concurrency.BookLockAspect;
+import org.example.backend.exceptions.custom.ServiceOverloadedException;
+import org.example.backend.jfr.BatchBorrowingEvents;
+import org.example.backend.model.Borrowing;
+import org.example.backend.tracing.TaskContext;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groups concurrent borrow requests into one transaction per batch, so a burst of borrows pays
+ * for one commit instead of one commit per request.
+ * Requests wait in a bounded queue that a single writer thread drains: a batch is closed when it
+ * reaches the maximum size or when the maximum wait since its first request has passed.
+ * Every request still gets its own result; a rejected borrow does not affect the rest of the batch.
+ * Before the batch transaction starts, the writer takes the book locks of all books in the batch,
+ * so returns on this instance wait for the batch instead of failing it with a version conflict.
+ * If the batch transaction fails anyway, e.g. on a conflict with another instance, its requests
+ * are applied one by one through {@link BorrowingServiceImpl#borrowBook(Long, Long)}.
+ * Borrows completed by a batch are timed as {@code borrowing.borrow}, from queueing to commit,
+ * and emitted as flight recorder events, like those of {@code borrowBook}. Each borrow runs in
+ * the {@link TaskContext} of its request, so its spans and log lines belong to the request's trace.
+ * The batch's flush and commit are shared by its requests and only carry their endpoint.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "borrowing.batch.enabled", havingValue = "true")
+public class BorrowingBatcher {
+    private final BorrowingServiceImpl borrowingService;
+    private final BookLockAspect bookLock;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer borrowTimer;
+    private final BlockingQueue<PendingBorrow> queue;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final Counter commits;
+    private final Counter fallbacks;
+    private final DistributionSummary batchSizes;
+    private final Thread writer = new Thread(this::run, "borrowing-batcher");
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a new BorrowingBatcher with the specified service and batching limits.
+     *
+     * @param borrowingService the borrowing service applying each borrow
+     * @param bookLock the book locks, unless {@code borrowing.lock.enabled} is false
+     * @param transactionManager the transaction manager used for batch transactions
+     * @param meterRegistry the registry receiving batching metrics
+     * @param queueCapacity maximum number of waiting requests before new ones are rejected
+     * @param maxBatchSize maximum number of borrows applied in one transaction
+     * @param maxWaitMs maximum time the first request of a batch waits for more requests
+     */
+    public BorrowingBatcher(BorrowingServiceImpl borrowingService,
+                            ObjectProvider<BookLockAspect> bookLock,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${borrowing.batch.queue-capacity:10000}") int queueCapacity,
+                            @Value("${borrowing.batch.max-size:64}") int maxBatchSize,
+                            @Value("${borrowing.batch.max-wait-ms:5}") long maxWaitMs) {
+        this.borrowingService = borrowingService;
+        this.bookLock = bookLock.getIfAvailable();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.borrowTimer = timer("none");
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.commits = meterRegistry.counter("borrowing.batch.commits");
+        this.fallbacks = meterRegistry.counter("borrowing.batch.fallbacks");
+        this.batchSizes = DistributionSummary.builder("borrowing.batch.size").register(meterRegistry);
+        meterRegistry.gauge("borrowing.batch.queue", queue, BlockingQueue::size);
+    }
+
+    /**
+     * Queues a borrow and waits until the batch containing it has been committed.
+     *
+     * @param userId the ID of the user borrowing the book
+     * @param bookId the ID of the book being borrowed
+     * @return the created borrowing transaction
+     * @throws ServiceOverloadedException if the queue is full
+     * @throws jakarta.persistence.EntityNotFoundException if book is not available or user limit exceeded
+     */
+    public Borrowing borrow(Long userId, Long bookId) {
+        PendingBorrow pending = new PendingBorrow(userId, bookId);
+        if (!running || !queue.offer(pending)) {
+            throw new ServiceOverloadedException("Too many pending borrow requests, please try again later");
+        }
+        try {
+            return pending.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        PendingBorrow pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result.completeExceptionally(new ServiceOverloadedException("Service is shutting down"));
+        }
+    }
+
+    private void run() {
+        List<PendingBorrow> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingBorrow first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    PendingBorrow next = queue.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                apply(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(pending -> pending.result.completeExceptionally(new ServiceOverloadedException("Service is shutting down")));
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void apply(List<PendingBorrow> batch) throws InterruptedException {
+        List<Object> outcomes = new ArrayList<>(batch.size());
+        BatchBorrowingEvents events = BatchBorrowingEvents.begin("borrow", batch.size());
+        try {
+            locked(batch, () -> batch.get(0).context.endpointOnly().get(() -> transactionTemplate.execute(status -> {
+                for (PendingBorrow pending : batch) {
+                    try {
+                        outcomes.add(pending.context.get(() -> borrowingService.doBorrow(pending.userId, pending.bookId)));
+                    } catch (EntityNotFoundException rejected) {
+                        outcomes.add(rejected);
+                    }
+                }
+                return null;
+            })));
+        } catch (RuntimeException batchFailure) {
+            fallbacks.increment();
+            batch.forEach(this::applySingle);
+            return;
+        }
+        commits.increment();
+        batchSizes.record(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            PendingBorrow pending = batch.get(i);
+            Object outcome = outcomes.get(i);
+            if (outcome instanceof Borrowing borrowing) {
+                events.commit(i, pending.userId, pending.bookId, null);
+                borrowTimer.record(System.nanoTime() - pending.queuedAt, TimeUnit.NANOSECONDS);
+                pending.result.complete(borrowing);
+            } else {
+                RuntimeException rejected = (RuntimeException) outcome;
+                events.commit(i, pending.userId, pending.bookId, rejected);
+                timer(rejected.getClass().getSimpleName()).record(System.nanoTime() - pending.queuedAt, TimeUnit.NANOSECONDS);
+                pending.result.completeExceptionally(rejected);
+            }
+        }
+    }
+
+    private void locked(List<PendingBorrow> batch, Runnable action) throws InterruptedException {
+        if (bookLock == null) {
+            action.run();
+            return;
+        }
+        bookLock.runLocked(batch.stream().map(pending -> pending.bookId).toList(), action);
+    }
+
+    private Timer timer(String exception) {
+        return Timer.builder("borrowing.borrow").tag("exception", exception).register(meterRegistry);
+    }
+
+    private void applySingle(PendingBorrow pending) {
+        try {
+            pending.result.complete(pending.context.get(() -> borrowingService.borrowBook(pending.userId, pending.bookId)));
+        } catch (RuntimeException e) {
+            pending.result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * A queued borrow request together with the context of its request and the future completed
+     * by the writer thread.
+     */
+    private static final class PendingBorrow {
+        private final Long userId;
+        private final Long bookId;
+        private final long queuedAt = System.nanoTime();
+        private final TaskContext context = TaskContext.capture();
+        private final CompletableFuture<Borrowing> result = new CompletableFuture<>();
+
+        private PendingBorrow(Long userId, Long bookId) {
+            this.userId = userId;
+            this.bookId = bookId;
+        }
+    }
+}
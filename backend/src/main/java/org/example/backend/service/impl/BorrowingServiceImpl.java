@@ -1,9 +1,18 @@
 package org.example.backend.service.impl;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
+import org.example.backend.concurrency.BookLock;
+import org.example.backend.concurrency.OptimisticRetry;
+import org.example.backend.concurrency.Reporting;
+import org.example.backend.concurrency.SingleFlight;
 import org.example.backend.dto.request.UserInformationRequest;
 import org.example.backend.dto.response.BorrowedBooksStatisticResponse;
 import org.example.backend.dto.response.BorrowedTitlesResponse;
+import org.example.backend.event.BookAvailabilityChangedEvent;
+import org.example.backend.jfr.FlightRecorded;
+import org.example.backend.metrics.Measured;
 import org.example.backend.model.Book;
 import org.example.backend.model.Borrowing;
 import org.example.backend.model.User;
@@ -12,9 +21,13 @@ import org.example.backend.repository.BorrowingRepository;
 import org.example.backend.repository.UserRepository;
 import org.example.backend.service.BookService;
 import org.example.backend.service.BorrowingService;
+import org.example.backend.service.OutboxService;
 import org.example.backend.service.UserService;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.context.annotation.Profile;
 
 import java.util.List;
 
@@ -24,12 +37,17 @@ import java.util.List;
  * borrowing books, returning books, and retrieving borrowing statistics.
  */
 @Service
+@Profile("!reactive")
 public class BorrowingServiceImpl implements BorrowingService {
     private final UserService userService;
     private final BookService bookService;
     private final BookRepository bookRepository;
     private final BorrowingRepository borrowingRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
+    private final Counter unavailableRejections;
+    private final Counter limitExceededRejections;
 
     @Value("${borrowing.limit}")
     private int borrowingLimit;
@@ -42,13 +60,20 @@ public class BorrowingServiceImpl implements BorrowingService {
      * @param bookRepository the book repository for data access
      * @param borrowingRepository the borrowing repository for data access
      * @param userRepository the user repository for data access
+     * @param eventPublisher the publisher for book availability events
+     * @param outboxService the outbox recording borrow and return events
+     * @param meterRegistry the registry receiving the counts of rejected borrows
      */
-    public BorrowingServiceImpl(UserService userService, BookService bookService, BookRepository bookRepository, BorrowingRepository borrowingRepository, UserRepository userRepository) {
+    public BorrowingServiceImpl(UserService userService, BookService bookService, BookRepository bookRepository, BorrowingRepository borrowingRepository, UserRepository userRepository, ApplicationEventPublisher eventPublisher, OutboxService outboxService, MeterRegistry meterRegistry) {
         this.userService = userService;
         this.bookService = bookService;
         this.bookRepository = bookRepository;
         this.borrowingRepository = borrowingRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.outboxService = outboxService;
+        this.unavailableRejections = meterRegistry.counter("borrowing.rejected", "reason", "unavailable");
+        this.limitExceededRejections = meterRegistry.counter("borrowing.rejected", "reason", "limit_exceeded");
     }
 
     /**
@@ -60,12 +85,41 @@ public class BorrowingServiceImpl implements BorrowingService {
      * @throws jakarta.persistence.EntityNotFoundException if book is not available or user limit exceeded
      */
     @Override
+    @FlightRecorded("borrow")
+    @Measured("borrowing.borrow")
+    @BookLock
+    @Transactional
+    @OptimisticRetry
     public Borrowing borrowBook(Long userId, Long bookId) {
-        User user = userService.readUser(userId);
-        Book book = bookService.readBook(bookId);
+        return doBorrow(userId, bookId);
+    }
 
-        if(book.getAmount() == 0) throw new EntityNotFoundException("Book is not available");
-        if(user.getBorrowings().size() >= borrowingLimit) throw new EntityNotFoundException("User's borrowing limit exceeded");
+    /**
+     * Borrows a book within the caller's transaction. All checks run before any entity is changed,
+     * so a rejected borrow leaves the persistence context untouched and the transaction usable,
+     * which lets {@link BorrowingBatcher} apply several borrows in one transaction. The user and
+     * book are loaded through the repositories rather than the transactional read methods of the
+     * services, whose interceptors would mark the shared transaction rollback-only on an unknown ID.
+     *
+     * @param userId the ID of the user borrowing the book
+     * @param bookId the ID of the book being borrowed
+     * @return the created borrowing transaction
+     * @throws jakarta.persistence.EntityNotFoundException if book is not available or user limit exceeded
+     */
+    Borrowing doBorrow(Long userId, Long bookId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
+        Book book = bookRepository.findById(bookId)
+                .orElseThrow(() -> new EntityNotFoundException("Book not found with id: " + bookId));
+
+        if(book.getAmount() == 0) {
+            unavailableRejections.increment();
+            throw new EntityNotFoundException("Book is not available");
+        }
+        if(user.getBorrowings().size() >= borrowingLimit) {
+            limitExceededRejections.increment();
+            throw new EntityNotFoundException("User's borrowing limit exceeded");
+        }
 
         Borrowing borrowing = new Borrowing();
         borrowing.setUser(user);
@@ -73,11 +127,15 @@ public class BorrowingServiceImpl implements BorrowingService {
 
         book.setAmount(borrowing.getBook().getAmount() - 1);
         book.setAmountOfBorrowedBooks(book.getAmountOfBorrowedBooks() + 1);
-        bookRepository.save(book);
+        Book savedBook = bookRepository.save(book);
         user.setNumberOfBorrowedBooks(user.getNumberOfBorrowedBooks() + 1);
         userRepository.save(user);
 
-        return borrowingRepository.save(borrowing);
+        Borrowing savedBorrowing = borrowingRepository.save(borrowing);
+        user.getBorrowings().add(savedBorrowing);
+        outboxService.bookBorrowed(savedBook, user);
+        eventPublisher.publishEvent(new BookAvailabilityChangedEvent(savedBook));
+        return savedBorrowing;
     }
 
     /**
@@ -88,6 +146,8 @@ public class BorrowingServiceImpl implements BorrowingService {
      * @throws jakarta.persistence.EntityNotFoundException if user is not found
      */
     @Override
+    @Measured("borrowing.books.by.name")
+    @Transactional(readOnly = true)
     public List<Book> getBorrowedBooksByUserName(UserInformationRequest request) {
         User user = userRepository.findByName(request.getName());
         if(user == null) throw new EntityNotFoundException("User not found");
@@ -100,6 +160,10 @@ public class BorrowingServiceImpl implements BorrowingService {
      * @return list of distinct borrowed book titles
      */
     @Override
+    @Measured("borrowing.titles")
+    @SingleFlight("borrowing.titles")
+    @Reporting
+    @Transactional(readOnly = true)
     public List<BorrowedTitlesResponse> getDistinctBorrowedBooksTitles() {
         return borrowingRepository.findDistinctBorrowedBooksTitles();
     }
@@ -110,6 +174,10 @@ public class BorrowingServiceImpl implements BorrowingService {
      * @return list of borrowed books statistics
      */
     @Override
+    @Measured("borrowing.statistic")
+    @SingleFlight("borrowing.statistic")
+    @Reporting
+    @Transactional(readOnly = true)
     public List<BorrowedBooksStatisticResponse> getDistinctBorrowedBooksTitlesAndCounts() {
         return borrowingRepository.findDistinctBorrowedBooksTitlesAndCountsBorrowedCopies();
     }
@@ -122,6 +190,11 @@ public class BorrowingServiceImpl implements BorrowingService {
      * @throws jakarta.persistence.EntityNotFoundException if book, user, or borrowing is not found
      */
     @Override
+    @FlightRecorded("return")
+    @Measured("borrowing.return")
+    @BookLock
+    @Transactional
+    @OptimisticRetry
     public void returnBook(Long userId, Long bookId) {
         Book book = bookService.readBook(bookId);
         User user = userService.readUser(userId);
@@ -135,12 +208,14 @@ public class BorrowingServiceImpl implements BorrowingService {
         book.setAmountOfBorrowedBooks(book.getAmountOfBorrowedBooks() - 1);
         book.setAmount(book.getAmount() + 1);
         book.getBorrowings().remove(borrowing);
-        bookRepository.save(book);
+        Book savedBook = bookRepository.save(book);
 
         user.setNumberOfBorrowedBooks(user.getNumberOfBorrowedBooks() - 1);
         user.getBorrowings().remove(borrowing);
         userRepository.save(user);
 
         borrowingRepository.delete(borrowing);
+        outboxService.bookReturned(savedBook, user);
+        eventPublisher.publishEvent(new BookAvailabilityChangedEvent(savedBook));
     }
 }
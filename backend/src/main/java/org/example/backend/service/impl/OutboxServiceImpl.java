@@ -0,0 +1,109 @@
+package org.example.backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.example.backend.model.Book;
+import org.example.backend.model.OutboxEvent;
+import org.example.backend.model.OutboxEventType;
+import org.example.backend.model.User;
+import org.example.backend.outbox.BookChangePayload;
+import org.example.backend.outbox.BookDeletedPayload;
+import org.example.backend.outbox.UserChangePayload;
+import org.example.backend.repository.OutboxEventRepository;
+import org.example.backend.service.OutboxService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of OutboxService interface.
+ * Pending entity changes are flushed before the event is inserted: the flush takes the row lock
+ * and the new version of the changed entity, so events of the same book or user get IDs in the
+ * order their transactions commit, and the payload carries the version that was written.
+ */
+@Service
+@Profile("!reactive")
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxServiceImpl implements OutboxService {
+    private static final String BOOK = "book";
+    private static final String USER = "user";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new OutboxServiceImpl with the specified repository.
+     *
+     * @param outboxEventRepository the outbox event repository for data access
+     * @param entityManager the entity manager flushed before each event
+     * @param objectMapper the mapper used to serialize payloads
+     */
+    public OutboxServiceImpl(OutboxEventRepository outboxEventRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void bookBorrowed(Book book, User user) {
+        append(BOOK, OutboxEventType.BOOK_BORROWED, book.getId(), () -> new BookChangePayload(book, user.getId()));
+    }
+
+    @Override
+    public void bookReturned(Book book, User user) {
+        append(BOOK, OutboxEventType.BOOK_RETURNED, book.getId(), () -> new BookChangePayload(book, user.getId()));
+    }
+
+    @Override
+    public void bookUpdated(Book book) {
+        append(BOOK, OutboxEventType.BOOK_UPDATED, book.getId(), () -> new BookChangePayload(book, null));
+    }
+
+    @Override
+    public void bookDeleted(Long bookId) {
+        append(BOOK, OutboxEventType.BOOK_DELETED, bookId, () -> new BookDeletedPayload(bookId));
+    }
+
+    @Override
+    public void userUpdated(User user) {
+        append(USER, OutboxEventType.USER_UPDATED, user.getId(), () -> new UserChangePayload(user));
+    }
+
+    private void append(String aggregateType, OutboxEventType eventType, Long aggregateId, Supplier<Object> payload) {
+        flush();
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setEventType(eventType);
+        try {
+            event.setPayload(objectMapper.writeValueAsString(payload.get()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload", e);
+        }
+        event.setCreatedAt(Instant.now());
+        outboxEventRepository.save(event);
+    }
+
+    /**
+     * Flushes through the shared EntityManager, whose exceptions are not translated like repository
+     * exceptions are. A version conflict found here is translated, so that it is retried and reported
+     * like one found by a repository call.
+     */
+    private void flush() {
+        try {
+            entityManager.flush();
+        } catch (PersistenceException e) {
+            DataAccessException translated = EntityManagerFactoryUtils.convertJpaAccessExceptionIfPossible(e);
+            throw translated != null ? translated : e;
+        }
+    }
+}
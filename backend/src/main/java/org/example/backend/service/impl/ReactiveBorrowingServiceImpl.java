@@ -0,0 +1,229 @@
+package org.example.backend.service.impl;
+
+import io.r2dbc.spi.Readable;
+import jakarta.persistence.EntityNotFoundException;
+import org.example.backend.dto.request.UserInformationRequest;
+import org.example.backend.dto.response.BorrowedBooksStatisticResponse;
+import org.example.backend.dto.response.BorrowedTitlesResponse;
+import org.example.backend.model.Book;
+import org.example.backend.model.Borrowing;
+import org.example.backend.model.User;
+import org.example.backend.service.ReactiveBorrowingService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Non-blocking implementation of ReactiveBorrowingService on top of R2DBC.
+ * Applies the same rules as {@link BorrowingServiceImpl}; counters are changed with conditional
+ * UPDATE statements, so concurrent borrows of the last copy cannot both succeed.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveBorrowingServiceImpl implements ReactiveBorrowingService {
+    private static final String SELECT_BOOK = "SELECT id, title, author, amount, amount_of_borrowed_books, version FROM books";
+
+    private final DatabaseClient databaseClient;
+
+    @Value("${borrowing.limit}")
+    private int borrowingLimit;
+
+    /**
+     * Constructs a new ReactiveBorrowingServiceImpl with the specified database client.
+     *
+     * @param databaseClient the R2DBC database client for data access
+     */
+    public ReactiveBorrowingServiceImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Borrows a book for a user if the book is available and user hasn't reached the limit.
+     *
+     * @param userId the ID of the user borrowing the book
+     * @param bookId the ID of the book being borrowed
+     * @return the created borrowing transaction
+     */
+    @Override
+    @Transactional
+    public Mono<Borrowing> borrowBook(Long userId, Long bookId) {
+        return findUser(userId).flatMap(user -> findBook(bookId).flatMap(book -> {
+            if (book.getAmount() == 0) return Mono.error(new EntityNotFoundException("Book is not available"));
+            return countBorrowings(userId).flatMap(count -> {
+                if (count >= borrowingLimit) return Mono.error(new EntityNotFoundException("User's borrowing limit exceeded"));
+                return takeCopy(book)
+                        .then(incrementBorrowedBooks(user))
+                        .then(insertBorrowing(user, book));
+            });
+        }));
+    }
+
+    /**
+     * Gets all books borrowed by a specific user.
+     *
+     * @param request the user information request containing the user's name
+     * @return books borrowed by the user
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<Book> getBorrowedBooksByUserName(UserInformationRequest request) {
+        return databaseClient.sql("SELECT id FROM users WHERE name = :name")
+                .bind("name", request.getName())
+                .map(row -> row.get("id", Long.class))
+                .first()
+                .switchIfEmpty(Mono.error(new EntityNotFoundException("User not found")))
+                .flatMapMany(userId -> databaseClient.sql(SELECT_BOOK + " WHERE id IN (SELECT book_id FROM borrowing WHERE user_id = :userId)")
+                        .bind("userId", userId)
+                        .map(this::toBook)
+                        .all());
+    }
+
+    /**
+     * Gets all distinct book titles that have been borrowed.
+     *
+     * @return distinct borrowed book titles
+     */
+    @Override
+    public Flux<BorrowedTitlesResponse> getDistinctBorrowedBooksTitles() {
+        return databaseClient.sql("SELECT DISTINCT b.title FROM borrowing br JOIN books b ON br.book_id = b.id")
+                .map(row -> new BorrowedTitlesResponse(row.get("title", String.class)))
+                .all();
+    }
+
+    /**
+     * Gets statistics about borrowed books including title and count of borrowings.
+     *
+     * @return borrowed books statistics
+     */
+    @Override
+    public Flux<BorrowedBooksStatisticResponse> getDistinctBorrowedBooksTitlesAndCounts() {
+        return databaseClient.sql("SELECT b.title, COUNT(br.id) AS borrowed FROM borrowing br JOIN books b ON br.book_id = b.id GROUP BY b.title")
+                .map(row -> new BorrowedBooksStatisticResponse(row.get("title", String.class), row.get("borrowed", Long.class)))
+                .all();
+    }
+
+    /**
+     * Returns a borrowed book by removing the borrowing record and updating counts.
+     *
+     * @param userId the ID of the user returning the book
+     * @param bookId the ID of the book being returned
+     * @return completion signal
+     */
+    @Override
+    @Transactional
+    public Mono<Void> returnBook(Long userId, Long bookId) {
+        return findBook(bookId)
+                .then(findUser(userId))
+                .then(databaseClient.sql("SELECT id FROM borrowing WHERE user_id = :userId AND book_id = :bookId ORDER BY id")
+                        .bind("userId", userId)
+                        .bind("bookId", bookId)
+                        .map(row -> row.get("id", Long.class))
+                        .first())
+                .switchIfEmpty(Mono.error(new EntityNotFoundException("Borrowing is not available")))
+                .flatMap(borrowingId -> databaseClient.sql("DELETE FROM borrowing WHERE id = :id")
+                        .bind("id", borrowingId)
+                        .then())
+                .then(databaseClient.sql("UPDATE books SET amount = amount + 1, amount_of_borrowed_books = amount_of_borrowed_books - 1, version = version + 1 WHERE id = :id")
+                        .bind("id", bookId)
+                        .then())
+                .then(databaseClient.sql("UPDATE users SET number_of_borrowed_books = number_of_borrowed_books - 1, version = version + 1 WHERE id = :id")
+                        .bind("id", userId)
+                        .then());
+    }
+
+    private Mono<User> findUser(Long id) {
+        return databaseClient.sql("SELECT id, name, membership_date, number_of_borrowed_books, version FROM users WHERE id = :id")
+                .bind("id", id)
+                .map(this::toUser)
+                .one()
+                .switchIfEmpty(Mono.error(new EntityNotFoundException("User not found with id: " + id)));
+    }
+
+    private Mono<Book> findBook(Long id) {
+        return databaseClient.sql(SELECT_BOOK + " WHERE id = :id")
+                .bind("id", id)
+                .map(this::toBook)
+                .one()
+                .switchIfEmpty(Mono.error(new EntityNotFoundException("Book not found with id: " + id)));
+    }
+
+    private Mono<Long> countBorrowings(Long userId) {
+        return databaseClient.sql("SELECT COUNT(*) AS borrowings FROM borrowing WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map(row -> row.get("borrowings", Long.class))
+                .one();
+    }
+
+    private Mono<Void> takeCopy(Book book) {
+        return databaseClient.sql("UPDATE books SET amount = amount - 1, amount_of_borrowed_books = amount_of_borrowed_books + 1, version = version + 1 WHERE id = :id AND amount > 0")
+                .bind("id", book.getId())
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> {
+                    if (updated == 0) return Mono.error(new EntityNotFoundException("Book is not available"));
+                    book.setAmount(book.getAmount() - 1);
+                    book.setAmountOfBorrowedBooks(book.getAmountOfBorrowedBooks() + 1);
+                    book.setVersion(book.getVersion() + 1);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> incrementBorrowedBooks(User user) {
+        return databaseClient.sql("UPDATE users SET number_of_borrowed_books = number_of_borrowed_books + 1, version = version + 1 WHERE id = :id AND number_of_borrowed_books < :limit")
+                .bind("id", user.getId())
+                .bind("limit", borrowingLimit)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> {
+                    if (updated == 0) return Mono.error(new EntityNotFoundException("User's borrowing limit exceeded"));
+                    user.setNumberOfBorrowedBooks(user.getNumberOfBorrowedBooks() + 1);
+                    user.setVersion(user.getVersion() + 1);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Borrowing> insertBorrowing(User user, Book book) {
+        return databaseClient.sql("INSERT INTO borrowing (user_id, book_id) VALUES (:userId, :bookId)")
+                .bind("userId", user.getId())
+                .bind("bookId", book.getId())
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    Borrowing borrowing = new Borrowing();
+                    borrowing.setId(id);
+                    borrowing.setUser(user);
+                    borrowing.setBook(book);
+                    return borrowing;
+                });
+    }
+
+    private Book toBook(Readable row) {
+        Book book = new Book();
+        book.setId(row.get("id", Long.class));
+        book.setTitle(row.get("title", String.class));
+        book.setAuthor(row.get("author", String.class));
+        book.setAmount(row.get("amount", Integer.class));
+        book.setAmountOfBorrowedBooks(row.get("amount_of_borrowed_books", Integer.class));
+        book.setVersion(row.get("version", Long.class));
+        return book;
+    }
+
+    private User toUser(Readable row) {
+        User user = new User();
+        user.setId(row.get("id", Long.class));
+        user.setName(row.get("name", String.class));
+        LocalDate membershipDate = row.get("membership_date", LocalDate.class);
+        user.setMembershipDate(membershipDate != null ? Date.valueOf(membershipDate) : null);
+        user.setNumberOfBorrowedBooks(row.get("number_of_borrowed_books", Integer.class));
+        user.setVersion(row.get("version", Long.class));
+        return user;
+    }
+}
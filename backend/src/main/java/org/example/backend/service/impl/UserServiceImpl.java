@@ -1,12 +1,16 @@
 package org.example.backend.service.impl;
 
+import org.example.backend.concurrency.OptimisticRetry;
 import org.example.backend.dto.request.UserCreationRequest;
 import org.example.backend.dto.request.UserUpdateRequest;
 import org.example.backend.exceptions.custom.EntityBorrowedException;
 import org.example.backend.model.User;
 import org.example.backend.repository.UserRepository;
+import org.example.backend.service.OutboxService;
 import org.example.backend.service.UserService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.context.annotation.Profile;
 
 /**
  * Implementation of UserService interface.
@@ -14,16 +18,20 @@ import org.springframework.stereotype.Service;
  * CRUD operations with validation and business rules.
  */
 @Service
+@Profile("!reactive")
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final OutboxService outboxService;
 
     /**
      * Constructs a new UserServiceImpl with the specified user repository.
      * 
      * @param userRepository the user repository for data access
+     * @param outboxService the outbox recording user update events
      */
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, OutboxService outboxService) {
         this.userRepository = userRepository;
+        this.outboxService = outboxService;
     }
 
     /**
@@ -58,6 +66,7 @@ public class UserServiceImpl implements UserService {
      * @throws jakarta.persistence.EntityNotFoundException if user is not found
      */
     @Override
+    @Transactional(readOnly = true)
     public User readUser(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new jakarta.persistence.EntityNotFoundException("User not found with id: " + id));
@@ -73,6 +82,8 @@ public class UserServiceImpl implements UserService {
      * @throws jakarta.persistence.EntityNotFoundException if user is not found
      */
     @Override
+    @Transactional
+    @OptimisticRetry
     public User updateUser(Long id, UserUpdateRequest request) {
         if (request == null) {
             throw new IllegalArgumentException("User update request cannot be null");
@@ -91,11 +102,15 @@ public class UserServiceImpl implements UserService {
             user.setNumberOfBorrowedBooks(request.getNumberOfBorrowedBooks());
         }
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        outboxService.userUpdated(savedUser);
+        return savedUser;
     }
 
     /**
      * Deletes a user if they have no borrowed books.
+     * The delete is a single conditional statement; the existence probe only runs
+     * when nothing was deleted, to tell a missing user apart from one with borrowed books.
      * 
      * @param id the user ID
      * @throws jakarta.persistence.EntityNotFoundException if user is not found
@@ -103,12 +118,13 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public void deleteUser(Long id) {
-        User user = readUser(id);
-        
-        if (user.getNumberOfBorrowedBooks() > 0) {
-            throw new EntityBorrowedException("Cannot delete user with borrowed books");
+        if (userRepository.deleteByIdIfNoBorrowedBooks(id) > 0) {
+            return;
         }
-        
-        userRepository.delete(user);
+
+        if (!userRepository.existsById(id)) {
+            throw new jakarta.persistence.EntityNotFoundException("User not found with id: " + id);
+        }
+        throw new EntityBorrowedException("Cannot delete user with borrowed books");
     }
 }
@@ -0,0 +1,175 @@
+package org.example.backend.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.example.backend.tracing.TaskContext;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Sampled trace of the JDBC statements run through the application's data source, replacing
+ * {@code spring.jpa.show-sql}. A statement is kept when it took at least the slow threshold, or
+ * otherwise with the sampling rate. Request threads only time the statement and, for kept ones,
+ * add an entry to a lock-free queue; when the queue is full the entry is dropped and counted.
+ * Each entry carries the endpoint and trace ID of the request, as the log line is written on
+ * another thread. Statements run for a request on the reporting executor or the borrow batcher
+ * are attributed to that request through its {@link TaskContext}.
+ * A scheduled task logs the queued entries and moves them into a bounded ring buffer, which the
+ * {@code sqltrace} actuator endpoint reads.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "sql.trace.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTrace implements QueryExecutionListener {
+    private static final ThreadLocal<long[]> STARTED = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final int queueCapacity;
+    private final Queue<SqlTraceEntry> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final SqlTraceEntry[] ring;
+    private int next;
+    private long total;
+    private final Counter sampled;
+    private final Counter slow;
+    private final Counter dropped;
+
+    /**
+     * Constructs a new SqlTrace with the specified sampling and buffer sizes.
+     *
+     * @param sampleRate share of statements below the slow threshold that are kept, from 0 to 1
+     * @param slowThresholdMs execution time from which every statement is kept
+     * @param queueCapacity number of entries waiting to be logged before new ones are dropped
+     * @param bufferSize number of most recent entries kept for the endpoint
+     * @param meterRegistry the registry receiving trace metrics
+     */
+    public SqlTrace(@Value("${sql.trace.sample-rate:0.01}") double sampleRate,
+                    @Value("${sql.trace.slow-threshold-ms:100}") long slowThresholdMs,
+                    @Value("${sql.trace.queue-capacity:10000}") int queueCapacity,
+                    @Value("${sql.trace.buffer-size:1000}") int bufferSize,
+                    MeterRegistry meterRegistry) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.queueCapacity = queueCapacity;
+        this.ring = new SqlTraceEntry[bufferSize];
+        this.sampled = meterRegistry.counter("sql.trace.recorded", "reason", "sampled");
+        this.slow = meterRegistry.counter("sql.trace.recorded", "reason", "slow");
+        this.dropped = meterRegistry.counter("sql.trace.dropped");
+        meterRegistry.gauge("sql.trace.queued", queued);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        STARTED.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = System.nanoTime() - STARTED.get()[0];
+        boolean isSlow = elapsed >= slowThresholdNanos;
+        if (!isSlow && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        (isSlow ? slow : sampled).increment();
+        queue.add(new SqlTraceEntry(Instant.now(), endpoint(), MDC.get("traceId"), statement(queryInfoList),
+                binds(queryInfoList), execInfo.isBatch() ? execInfo.getBatchSize() : 0,
+                TimeUnit.NANOSECONDS.toMicros(elapsed), isSlow));
+    }
+
+    /**
+     * Logs the queued entries and moves them into the ring buffer.
+     */
+    @Scheduled(fixedDelayString = "${sql.trace.flush-interval-ms:200}")
+    public void flush() {
+        SqlTraceEntry entry;
+        while ((entry = queue.poll()) != null) {
+            queued.decrementAndGet();
+            if (entry.isSlow()) {
+                log.warn("slow {} us, {} binds, {} trace {}: {}", entry.getDurationMicros(), entry.getBinds(),
+                        entry.getEndpoint(), entry.getTraceId(), entry.getStatement());
+            } else {
+                log.info("{} us, {} binds, {} trace {}: {}", entry.getDurationMicros(), entry.getBinds(),
+                        entry.getEndpoint(), entry.getTraceId(), entry.getStatement());
+            }
+            synchronized (ring) {
+                ring[next] = entry;
+                next = (next + 1) % ring.length;
+                total++;
+            }
+        }
+    }
+
+    /**
+     * Returns the buffered entries matching the filter, newest first.
+     *
+     * @param filter the entries to return
+     * @param limit maximum number of entries
+     * @return matching entries
+     */
+    public List<SqlTraceEntry> recent(Predicate<SqlTraceEntry> filter, int limit) {
+        List<SqlTraceEntry> result = new ArrayList<>();
+        synchronized (ring) {
+            int size = (int) Math.min(total, ring.length);
+            for (int i = 1; i <= size && result.size() < limit; i++) {
+                SqlTraceEntry entry = ring[(next - i + ring.length) % ring.length];
+                if (filter.test(entry)) {
+                    result.add(entry);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String endpoint() {
+        String endpoint = TaskContext.endpoint();
+        return endpoint != null ? endpoint : Thread.currentThread().getName();
+    }
+
+    private static String statement(List<QueryInfo> queryInfoList) {
+        if (queryInfoList.size() == 1) {
+            return queryInfoList.get(0).getQuery();
+        }
+        StringBuilder statement = new StringBuilder();
+        for (QueryInfo queryInfo : queryInfoList) {
+            if (statement.length() > 0) statement.append("; ");
+            statement.append(queryInfo.getQuery());
+        }
+        return statement.toString();
+    }
+
+    private static int binds(List<QueryInfo> queryInfoList) {
+        int binds = 0;
+        for (QueryInfo queryInfo : queryInfoList) {
+            for (List<ParameterSetOperation> parameters : queryInfo.getParametersList()) {
+                binds += parameters.size();
+            }
+        }
+        return binds;
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.backend.sql;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint at {@code /actuator/sqltrace} listing the most recent traced statements,
+ * newest first, e.g. {@code /actuator/sqltrace?endpoint=borrowing&minDurationMs=50&limit=20}.
+ * As the entries hold statement text and request patterns, the endpoint is only exposed on the
+ * management port when listed in {@code management.endpoints.web.exposure.include}.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "sql.trace.enabled", havingValue = "true", matchIfMissing = true)
+@Endpoint(id = "sqltrace")
+public class SqlTraceEndpoint {
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final SqlTrace sqlTrace;
+
+    /**
+     * Constructs a new SqlTraceEndpoint reading the specified trace.
+     *
+     * @param sqlTrace the trace holding the buffered statements
+     */
+    public SqlTraceEndpoint(SqlTrace sqlTrace) {
+        this.sqlTrace = sqlTrace;
+    }
+
+    /**
+     * Returns the buffered statements matching all given filters.
+     *
+     * @param endpoint text the originating endpoint must contain
+     * @param minDurationMs shortest execution time to include
+     * @param slowOnly whether to return only statements that reached the slow threshold
+     * @param limit maximum number of statements, 100 by default
+     * @return matching statements, newest first
+     */
+    @ReadOperation
+    public List<SqlTraceEntry> statements(@Nullable String endpoint, @Nullable Long minDurationMs,
+                                          @Nullable Boolean slowOnly, @Nullable Integer limit) {
+        long minDurationMicros = minDurationMs == null ? 0 : minDurationMs * 1000;
+        return sqlTrace.recent(entry -> (endpoint == null || entry.getEndpoint().contains(endpoint))
+                        && entry.getDurationMicros() >= minDurationMicros
+                        && (!Boolean.TRUE.equals(slowOnly) || entry.isSlow()),
+                limit == null ? DEFAULT_LIMIT : limit);
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.backend.sql;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * One traced JDBC statement, as kept in the {@link SqlTrace} ring buffer.
+ */
+@Value
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class SqlTraceEntry {
+    /**
+     * Time the statement finished.
+     */
+    Instant finishedAt;
+
+    /**
+     * Handler pattern of the request that ran the statement, e.g. {@code POST /borrowing/user/{user_id}/book/{book_id}},
+     * also when a worker thread ran it for the request, or the thread name for statements outside a request.
+     */
+    String endpoint;
+
+    /**
+     * ID of the trace the statement ran in, or {@code null} outside a trace.
+     */
+    String traceId;
+
+    /**
+     * SQL text with placeholders; statements of a plain statement batch are joined with {@code ;}.
+     */
+    String statement;
+
+    /**
+     * Number of bind parameters set, over all rows of a batch.
+     */
+    int binds;
+
+    /**
+     * Number of rows in the batch, or 0 for a single execution.
+     */
+    int batchSize;
+
+    /**
+     * Execution time in microseconds.
+     */
+    long durationMicros;
+
+    /**
+     * Whether the statement was kept for reaching the slow threshold rather than by sampling.
+     */
+    boolean slow;
+}
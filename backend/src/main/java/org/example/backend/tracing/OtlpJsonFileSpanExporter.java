@@ -0,0 +1,209 @@
+package org.example.backend.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends spans to a local file in the OTLP JSON file format: every export is one line holding
+ * an {@code ExportTraceServiceRequest}, i.e. {@code {"resourceSpans":[...]}}, which an
+ * OpenTelemetry collector reads with its OTLP JSON file receiver.
+ * Only the SDK's public {@link SpanData} API is used; the JSON follows the protobuf JSON mapping
+ * of the OTLP trace schema, with IDs in hex and 64-bit numbers as strings.
+ * The file is opened once and closed on {@link #shutdown()}.
+ */
+@Slf4j
+public class OtlpJsonFileSpanExporter implements SpanExporter {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path path;
+    private FileChannel channel;
+
+    /**
+     * Constructs a new OtlpJsonFileSpanExporter appending to the specified file.
+     *
+     * @param path the file the spans are appended to; missing directories are created
+     * @throws IOException if the file cannot be opened
+     */
+    public OtlpJsonFileSpanExporter(Path path) throws IOException {
+        this.path = path.toAbsolutePath();
+        Files.createDirectories(this.path.getParent());
+        this.channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        if (channel == null) {
+            return CompletableResultCode.ofFailure();
+        }
+        try {
+            ByteBuffer line = ByteBuffer.wrap((objectMapper.writeValueAsString(request(spans)) + "\n").getBytes(StandardCharsets.UTF_8));
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Could not write {} spans to {}", spans.size(), path, e);
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode flush() {
+        if (channel == null) {
+            return CompletableResultCode.ofSuccess();
+        }
+        try {
+            channel.force(false);
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Could not flush spans to {}", path, e);
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        if (channel == null) {
+            return CompletableResultCode.ofSuccess();
+        }
+        try {
+            channel.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Could not close span file {}", path, e);
+            return CompletableResultCode.ofFailure();
+        } finally {
+            channel = null;
+        }
+    }
+
+    /**
+     * Groups the spans by resource and instrumentation scope, as an export request does.
+     */
+    private ObjectNode request(Collection<SpanData> spans) {
+        Map<Resource, Map<InstrumentationScopeInfo, List<SpanData>>> grouped = new LinkedHashMap<>();
+        for (SpanData span : spans) {
+            grouped.computeIfAbsent(span.getResource(), resource -> new LinkedHashMap<>())
+                    .computeIfAbsent(span.getInstrumentationScopeInfo(), scope -> new ArrayList<>())
+                    .add(span);
+        }
+        ObjectNode request = objectMapper.createObjectNode();
+        ArrayNode resourceSpans = request.putArray("resourceSpans");
+        grouped.forEach((resource, scopes) -> {
+            ObjectNode resourceNode = resourceSpans.addObject();
+            resourceNode.putObject("resource").set("attributes", attributes(resource.getAttributes()));
+            if (resource.getSchemaUrl() != null) resourceNode.put("schemaUrl", resource.getSchemaUrl());
+            ArrayNode scopeSpans = resourceNode.putArray("scopeSpans");
+            scopes.forEach((scope, scopeSpanList) -> {
+                ObjectNode scopeNode = scopeSpans.addObject();
+                ObjectNode scopeInfo = scopeNode.putObject("scope");
+                scopeInfo.put("name", scope.getName());
+                if (scope.getVersion() != null) scopeInfo.put("version", scope.getVersion());
+                if (scope.getSchemaUrl() != null) scopeNode.put("schemaUrl", scope.getSchemaUrl());
+                ArrayNode spanNodes = scopeNode.putArray("spans");
+                for (SpanData span : scopeSpanList) {
+                    spanNodes.add(span(span));
+                }
+            });
+        });
+        return request;
+    }
+
+    private ObjectNode span(SpanData span) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("traceId", span.getTraceId());
+        node.put("spanId", span.getSpanId());
+        if (span.getParentSpanContext().isValid()) node.put("parentSpanId", span.getParentSpanId());
+        node.put("name", span.getName());
+        node.put("kind", switch (span.getKind()) {
+            case INTERNAL -> 1;
+            case SERVER -> 2;
+            case CLIENT -> 3;
+            case PRODUCER -> 4;
+            case CONSUMER -> 5;
+        });
+        node.put("startTimeUnixNano", String.valueOf(span.getStartEpochNanos()));
+        node.put("endTimeUnixNano", String.valueOf(span.getEndEpochNanos()));
+        node.set("attributes", attributes(span.getAttributes()));
+        ArrayNode events = node.putArray("events");
+        for (EventData event : span.getEvents()) {
+            ObjectNode eventNode = events.addObject();
+            eventNode.put("timeUnixNano", String.valueOf(event.getEpochNanos()));
+            eventNode.put("name", event.getName());
+            eventNode.set("attributes", attributes(event.getAttributes()));
+        }
+        ArrayNode links = node.putArray("links");
+        for (LinkData link : span.getLinks()) {
+            SpanContext context = link.getSpanContext();
+            ObjectNode linkNode = links.addObject();
+            linkNode.put("traceId", context.getTraceId());
+            linkNode.put("spanId", context.getSpanId());
+            linkNode.set("attributes", attributes(link.getAttributes()));
+        }
+        ObjectNode status = node.putObject("status");
+        if (!span.getStatus().getDescription().isEmpty()) status.put("message", span.getStatus().getDescription());
+        status.put("code", switch (span.getStatus().getStatusCode()) {
+            case UNSET -> 0;
+            case OK -> 1;
+            case ERROR -> 2;
+        });
+        return node;
+    }
+
+    private ArrayNode attributes(Attributes attributes) {
+        ArrayNode nodes = objectMapper.createArrayNode();
+        attributes.forEach((key, value) -> {
+            ObjectNode attribute = nodes.addObject();
+            attribute.put("key", key.getKey());
+            attribute.set("value", value(key, value));
+        });
+        return nodes;
+    }
+
+    private ObjectNode value(AttributeKey<?> key, Object value) {
+        ObjectNode node = objectMapper.createObjectNode();
+        switch (key.getType()) {
+            case BOOLEAN -> node.put("boolValue", (Boolean) value);
+            case LONG -> node.put("intValue", String.valueOf(value));
+            case DOUBLE -> node.put("doubleValue", (Double) value);
+            case STRING_ARRAY, BOOLEAN_ARRAY, LONG_ARRAY, DOUBLE_ARRAY -> {
+                ArrayNode values = node.putObject("arrayValue").putArray("values");
+                for (Object element : (List<?>) value) {
+                    ObjectNode elementNode = values.addObject();
+                    switch (key.getType()) {
+                        case BOOLEAN_ARRAY -> elementNode.put("boolValue", (Boolean) element);
+                        case LONG_ARRAY -> elementNode.put("intValue", String.valueOf(element));
+                        case DOUBLE_ARRAY -> elementNode.put("doubleValue", (Double) element);
+                        default -> elementNode.put("stringValue", String.valueOf(element));
+                    }
+                }
+            }
+            default -> node.put("stringValue", String.valueOf(value));
+        }
+        return node;
+    }
+}
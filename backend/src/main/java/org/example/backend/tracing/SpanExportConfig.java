@@ -0,0 +1,39 @@
+package org.example.backend.tracing;
+
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.tracing.ConditionalOnEnabledTracing;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Configuration of the span exporter. Spring Boot hands finished spans to every
+ * {@link SpanExporter} bean through one batch span processor, so exporting runs on the
+ * processor's thread and never on request threads. With {@code tracing.exporter=file} spans are
+ * appended to {@code tracing.file.path} in the OTLP JSON file format, one export request per
+ * line, which an OpenTelemetry collector can read with its OTLP JSON file receiver. The exporter
+ * is shut down with the tracer provider, which closes the file. With {@code none} no exporter is
+ * registered here; tests register an in-memory one instead. Nothing is exported while
+ * {@code management.tracing.enabled} is false, as in tests by default.
+ */
+@Configuration
+public class SpanExportConfig {
+
+    /**
+     * Creates the exporter appending OTLP JSON lines to a local file.
+     *
+     * @param path the file the spans are appended to
+     * @return the file exporter
+     * @throws IOException if the file cannot be opened
+     */
+    @Bean
+    @ConditionalOnEnabledTracing
+    @ConditionalOnProperty(name = "tracing.exporter", havingValue = "file", matchIfMissing = true)
+    public SpanExporter fileSpanExporter(@Value("${tracing.file.path:traces/spans.jsonl}") String path) throws IOException {
+        return new OtlpJsonFileSpanExporter(Path.of(path));
+    }
+}
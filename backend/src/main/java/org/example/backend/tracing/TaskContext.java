@@ -0,0 +1,132 @@
+package org.example.backend.tracing;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import org.slf4j.MDC;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Context of a request thread that work handed to another thread runs in: the OpenTelemetry
+ * context holding the current span, so the work's spans join the request's trace, the MDC, so
+ * its log lines carry the request's trace ID, and the request's endpoint, so its statements are
+ * attributed to it. Captured when the work is handed over and installed on the worker thread for
+ * that work only; the worker's own context is restored after. The endpoint is captured as text
+ * rather than handing over the request, which the container recycles once the request is done.
+ */
+public final class TaskContext {
+    private static final ThreadLocal<String> ENDPOINT = new ThreadLocal<>();
+
+    private final Context context;
+    private final Map<String, String> mdc;
+    private final String endpoint;
+
+    private TaskContext(Context context, Map<String, String> mdc, String endpoint) {
+        this.context = context;
+        this.mdc = mdc;
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Captures the context of the current thread.
+     *
+     * @return the captured context
+     */
+    public static TaskContext capture() {
+        return new TaskContext(Context.current(), MDC.getCopyOfContextMap(), endpoint());
+    }
+
+    /**
+     * Returns a context carrying only this context's endpoint, for work shared by several
+     * requests of one endpoint, such as the commit of a borrow batch, which belongs to no single
+     * request's trace.
+     *
+     * @return the context without span and MDC
+     */
+    public TaskContext endpointOnly() {
+        return new TaskContext(Context.root(), null, endpoint);
+    }
+
+    /**
+     * Returns the endpoint the current thread works for: the method and handler pattern of the
+     * current request, e.g. {@code GET /book/{id}}, or of the request that handed the work over.
+     *
+     * @return the endpoint, or {@code null} outside a request
+     */
+    public static String endpoint() {
+        String handedOver = ENDPOINT.get();
+        if (handedOver != null) {
+            return handedOver;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            Object pattern = servletAttributes.getRequest().getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return servletAttributes.getRequest().getMethod() + " "
+                    + (pattern != null ? pattern : servletAttributes.getRequest().getRequestURI());
+        }
+        return null;
+    }
+
+    /**
+     * Wraps a task so it runs in this context on whichever thread calls it.
+     *
+     * @param task the task
+     * @param <T> the result type
+     * @return the wrapped task
+     */
+    public <T> Callable<T> wrap(Callable<T> task) {
+        return () -> {
+            try (Scope scope = attach()) {
+                return task.call();
+            }
+        };
+    }
+
+    /**
+     * Runs a task in this context on the current thread.
+     *
+     * @param task the task
+     * @param <T> the result type
+     * @return the result of the task
+     */
+    public <T> T get(Supplier<T> task) {
+        try (Scope scope = attach()) {
+            return task.get();
+        }
+    }
+
+    private Scope attach() {
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        String previousEndpoint = ENDPOINT.get();
+        setMdc(mdc);
+        setEndpoint(endpoint);
+        Scope scope = context.makeCurrent();
+        return () -> {
+            scope.close();
+            setMdc(previous);
+            setEndpoint(previousEndpoint);
+        };
+    }
+
+    private static void setEndpoint(String endpoint) {
+        if (endpoint == null) {
+            ENDPOINT.remove();
+        } else {
+            ENDPOINT.set(endpoint);
+        }
+    }
+
+    private static void setMdc(Map<String, String> mdc) {
+        if (mdc == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(mdc);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.backend.tracing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a cache lookup that gets its own span inside a sampled trace. Service and repository
+ * methods are traced without an annotation. The lookup reports whether it hit by setting the
+ * {@code cache.hit} attribute on the current span.
+ *
+ * @see TracingAspect
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Traced {
+
+    /**
+     * The span name, e.g. {@code cache book.availability}.
+     *
+     * @return the span name
+     */
+    String value();
+}
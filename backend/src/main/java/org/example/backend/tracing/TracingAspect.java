@@ -0,0 +1,130 @@
+package org.example.backend.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opens a child span around service methods, repository calls and {@link Traced} cache lookups.
+ * Spans are only created inside a trace whose root was sampled, normally the server span of the
+ * HTTP request, so the sampling decision is made once per request. Outside a sampled trace the
+ * advice looks up the current span and proceeds. Ordered first among the application's aspects,
+ * outside the flight recorder, timing, limit, single-flight, reporting, book lock and optimistic
+ * retry aspects and the transaction, so a service span includes lock waits, retries and the commit.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 8)
+public class TracingAspect {
+    private final Tracer tracer;
+    private final Map<Class<?>, String> typeNames = new ConcurrentHashMap<>();
+    private final Map<Method, String> cacheNames = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new TracingAspect with the specified tracer.
+     *
+     * @param tracer the tracer creating the spans
+     */
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * Traces a public method of a servlet-stack service implementation.
+     *
+     * @param joinPoint the service method invocation
+     * @return the result of the method
+     * @throws Throwable any exception thrown by the method
+     */
+    @Around("execution(public * org.example.backend.service.impl.*ServiceImpl.*(..))"
+            + " && !within(org.example.backend.service.impl.ReactiveBorrowingServiceImpl)")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        Span parent = sampledSpan();
+        return parent == null ? joinPoint.proceed() : trace(joinPoint, parent, null, "service");
+    }
+
+    /**
+     * Traces a Spring Data repository call.
+     *
+     * @param joinPoint the repository method invocation
+     * @return the result of the method
+     * @throws Throwable any exception thrown by the method
+     */
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        Span parent = sampledSpan();
+        return parent == null ? joinPoint.proceed() : trace(joinPoint, parent, null, "repository");
+    }
+
+    /**
+     * Traces a cache lookup.
+     *
+     * @param joinPoint the annotated method invocation
+     * @return the result of the method
+     * @throws Throwable any exception thrown by the method
+     */
+    @Around("@annotation(org.example.backend.tracing.Traced)")
+    public Object traceCache(ProceedingJoinPoint joinPoint) throws Throwable {
+        Span parent = sampledSpan();
+        if (parent == null) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        String name = cacheNames.computeIfAbsent(method, m -> AnnotationUtils.findAnnotation(
+                AopUtils.getMostSpecificMethod(m, AopUtils.getTargetClass(joinPoint.getTarget())), Traced.class).value());
+        return trace(joinPoint, parent, name, "cache");
+    }
+
+    /**
+     * Returns the current span if it is sampled; the sampling flag is read from the OpenTelemetry
+     * context first, so an unsampled call does not allocate a span wrapper.
+     */
+    private Span sampledSpan() {
+        if (!io.opentelemetry.api.trace.Span.current().getSpanContext().isSampled()) {
+            return null;
+        }
+        return tracer.currentSpan();
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, Span parent, String name, String component) throws Throwable {
+        if (name == null) {
+            name = typeNames.computeIfAbsent(joinPoint.getThis().getClass(), TracingAspect::typeName)
+                    + "." + joinPoint.getSignature().getName();
+        }
+        Span span = tracer.nextSpan(parent).name(name).tag("component", component).start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Names a proxied bean by its repository interface or its implementation class.
+     */
+    private static String typeName(Class<?> proxyClass) {
+        for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(proxyClass)) {
+            if (Repository.class.isAssignableFrom(type) && !type.getName().startsWith("org.springframework.")) {
+                return type.getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(proxyClass).getSimpleName();
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.backend.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookLockAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BorrowingTarget target;
+    private BorrowingTarget service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        target = new BorrowingTarget();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new BookLockAspect(64, meterRegistry));
+        service = factory.getProxy();
+    }
+
+    @Test
+    void lock_sameBook_callsDoNotOverlap() throws Exception {
+        runConcurrently(8, i -> service.borrow((long) i, 1L));
+
+        assertEquals(1, target.maxConcurrent.get());
+        assertEquals(8, meterRegistry.get("book.lock.wait").timer().count());
+    }
+
+    @Test
+    void lock_differentBooks_callsOverlap() throws Exception {
+        target.pauseMillis = 200;
+
+        runConcurrently(2, i -> service.borrow(1L, (long) i + 1));
+
+        assertEquals(2, target.maxConcurrent.get());
+    }
+
+    @Test
+    void lock_missingBookId_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> service.borrow(1L, null));
+    }
+
+    @Test
+    void runLocked_blocksCallsOnAnyOfItsBooks() throws Exception {
+        BookLockAspect bookLock = new BookLockAspect(64, meterRegistry);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread batch = new Thread(() -> {
+            try {
+                bookLock.runLocked(List.of(1L, 2L), () -> {
+                    locked.countDown();
+                    awaitQuietly(release);
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        batch.start();
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        AtomicInteger acquired = new AtomicInteger();
+        Thread single = new Thread(() -> {
+            try {
+                bookLock.runLocked(List.of(2L), acquired::incrementAndGet);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        single.start();
+        Thread.sleep(100);
+        assertEquals(0, acquired.get());
+
+        release.countDown();
+        single.join(5000);
+        batch.join(5000);
+        assertEquals(1, acquired.get());
+        assertEquals(2, meterRegistry.get("book.lock.wait").timer().count());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runConcurrently(int calls, IntConsumer call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(calls);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < calls; i++) {
+            int index = i;
+            executor.submit(() -> {
+                start.await();
+                call.accept(index);
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    static class BorrowingTarget {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxConcurrent = new AtomicInteger();
+        volatile long pauseMillis = 20;
+
+        @BookLock
+        public void borrow(Long userId, Long bookId) {
+            maxConcurrent.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(pauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+    }
+}
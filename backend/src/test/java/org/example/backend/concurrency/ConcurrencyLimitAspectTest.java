@@ -0,0 +1,129 @@
+package org.example.backend.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.example.backend.exceptions.custom.ServiceOverloadedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private EndpointTarget target;
+    private EndpointTarget endpoint;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        target = new EndpointTarget();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ConcurrencyLimitAspect(meterRegistry, 2, 1, 4, 100, 0.5));
+        endpoint = factory.getProxy();
+    }
+
+    @Test
+    void limit_atLimit_rejectsImmediately() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 2; i++) {
+                executor.submit(() -> endpoint.call(null));
+            }
+            assertTrue(target.entered.await(5, TimeUnit.SECONDS));
+
+            assertThrows(ServiceOverloadedException.class, () -> endpoint.call(null));
+            assertEquals(1.0, meterRegistry.get("concurrency.rejected").tag("endpoint", "test").counter().count());
+            assertEquals(2.0, meterRegistry.get("concurrency.inflight").tag("endpoint", "test").gauge().value());
+        } finally {
+            target.release.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+        assertEquals(0.0, meterRegistry.get("concurrency.inflight").tag("endpoint", "test").gauge().value());
+    }
+
+    @Test
+    void limit_overloadFailure_backsOff() {
+        target.release.countDown();
+
+        assertThrows(CannotCreateTransactionException.class,
+                () -> endpoint.call(new CannotCreateTransactionException("pool exhausted")));
+
+        assertEquals(1.0, meterRegistry.get("concurrency.limit").tag("endpoint", "test").gauge().value());
+    }
+
+    @Test
+    void limit_businessFailure_doesNotBackOff() {
+        target.release.countDown();
+
+        assertThrows(EntityNotFoundException.class, () -> endpoint.call(new EntityNotFoundException("Book is not available")));
+
+        assertTrue(meterRegistry.get("concurrency.limit").tag("endpoint", "test").gauge().value() >= 2.0);
+    }
+
+    @Test
+    void adaptiveLimit_fastCallsUnderLoad_growUpToMax() {
+        AdaptiveLimit limit = new AdaptiveLimit(2, 1, 4, TimeUnit.MILLISECONDS.toNanos(100), 0.5);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limit.tryAcquire());
+            assertTrue(limit.tryAcquire());
+            limit.release(1_000, false);
+            limit.release(1_000, false);
+        }
+
+        assertEquals(4, limit.getLimit());
+        assertEquals(0, limit.getInflight());
+    }
+
+    @Test
+    void adaptiveLimit_slowCalls_shrinkDownToMin() {
+        AdaptiveLimit limit = new AdaptiveLimit(4, 1, 4, TimeUnit.MILLISECONDS.toNanos(100), 0.5);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(TimeUnit.MILLISECONDS.toNanos(500), false);
+        }
+
+        assertEquals(1, limit.getLimit());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+    }
+
+    @Test
+    void adaptiveLimit_idleEndpoint_doesNotGrow() {
+        AdaptiveLimit limit = new AdaptiveLimit(4, 1, 10, TimeUnit.MILLISECONDS.toNanos(100), 0.5);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(1_000, false);
+        }
+
+        assertEquals(4, limit.getLimit());
+    }
+
+    static class EndpointTarget {
+        final CountDownLatch entered = new CountDownLatch(2);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @ConcurrencyLimited("test")
+        public void call(RuntimeException failure) {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) throw failure;
+        }
+    }
+}
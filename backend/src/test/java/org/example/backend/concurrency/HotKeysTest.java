@@ -0,0 +1,47 @@
+package org.example.backend.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotKeysTest {
+
+    @Test
+    void top_ordersKeysByCount() {
+        HotKeys<Long> hotKeys = new HotKeys<>(4);
+        record(hotKeys, 1L, 2);
+        record(hotKeys, 2L, 5);
+        record(hotKeys, 3L, 1);
+
+        assertEquals(List.of(Map.entry(2L, 5L), Map.entry(1L, 2L)), hotKeys.top(2));
+    }
+
+    @Test
+    void record_overCapacity_keepsHeavyKeys() {
+        HotKeys<Long> hotKeys = new HotKeys<>(3);
+        for (long key = 100; key < 1_000; key++) {
+            record(hotKeys, 7L, 1);
+            record(hotKeys, key, 1);
+        }
+
+        List<Map.Entry<Long, Long>> top = hotKeys.top(3);
+
+        assertEquals(3, top.size());
+        assertEquals(7L, top.get(0).getKey());
+        assertTrue(top.get(0).getValue() >= 900);
+    }
+
+    @Test
+    void constructor_nonPositive_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new HotKeys<>(0));
+    }
+
+    private static void record(HotKeys<Long> hotKeys, Long key, int times) {
+        for (int i = 0; i < times; i++) {
+            hotKeys.record(key);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.backend.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.model.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticRetryAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticRetryAspect aspect;
+    private ConflictingService target;
+    private ConflictingService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new OptimisticRetryAspect(meterRegistry, 100);
+        ReflectionTestUtils.setField(aspect, "maxAttempts", 3);
+        ReflectionTestUtils.setField(aspect, "initialBackoffMs", 1L);
+        ReflectionTestUtils.setField(aspect, "maxBackoffMs", 2L);
+
+        target = new ConflictingService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        service = factory.getProxy();
+    }
+
+    @Test
+    void retry_conflictThenSuccess_returnsResult() {
+        target.conflicts = 2;
+
+        assertEquals("done", service.update());
+        assertEquals(3, target.calls);
+        assertEquals(2.0, meterRegistry.counter("optimistic.lock.conflicts",
+                "entity", "Book", "method", "ConflictingService.update()").count());
+        assertEquals(List.of(new ContendedRow("Book", "7", 2)), aspect.contendedRows(10));
+    }
+
+    @Test
+    void retry_conflictsExhausted_rethrows() {
+        target.conflicts = 10;
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> service.update());
+        assertEquals(3, target.calls);
+        assertEquals(1.0, meterRegistry.get("optimistic.lock.retries.exhausted").counter().count());
+    }
+
+    @Test
+    void retry_otherException_notRetried() {
+        target.failure = new IllegalArgumentException("Book update request cannot be null");
+
+        assertThrows(IllegalArgumentException.class, () -> service.update());
+        assertEquals(1, target.calls);
+    }
+
+    static class ConflictingService {
+        int conflicts;
+        int calls;
+        RuntimeException failure;
+
+        @OptimisticRetry
+        public String update() {
+            calls++;
+            if (failure != null) throw failure;
+            if (calls <= conflicts) throw new ObjectOptimisticLockingFailureException(Book.class, 7L);
+            return "done";
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.backend.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.exceptions.custom.RateLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitAspect aspect;
+    private BorrowingTarget target;
+    private BorrowingTarget endpoint;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("rate-limit.default.permits-per-second", "1000")
+                .withProperty("rate-limit.default.burst", "1000")
+                .withProperty("rate-limit.endpoints.test.borrow.permits-per-second", "0.5")
+                .withProperty("rate-limit.endpoints.test.borrow.burst", "3");
+        aspect = new RateLimitAspect(environment, meterRegistry, 2);
+        target = new BorrowingTarget();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        endpoint = factory.getProxy();
+    }
+
+    @Test
+    void limit_burstUsedUp_rejectsWithRetryAfter() {
+        for (int i = 0; i < 3; i++) {
+            endpoint.borrow(1L, 1L);
+        }
+
+        RateLimitExceededException e = assertThrows(RateLimitExceededException.class, () -> endpoint.borrow(1L, 1L));
+        assertEquals(2, e.getRetryAfterSeconds());
+        assertEquals(3, target.calls);
+        assertEquals(1.0, meterRegistry.get("rate.limit.rejected").tag("endpoint", "test.borrow").counter().count());
+    }
+
+    @Test
+    void limit_otherUser_hasOwnBucket() {
+        for (int i = 0; i < 3; i++) {
+            endpoint.borrow(1L, 1L);
+        }
+
+        assertDoesNotThrow(() -> endpoint.borrow(2L, 1L));
+    }
+
+    @Test
+    void limit_endpointWithoutOwnSettings_usesDefaults() {
+        for (int i = 0; i < 50; i++) {
+            endpoint.giveBack(1L, 1L);
+        }
+
+        assertEquals(50, target.calls);
+    }
+
+    @Test
+    void limit_mapFullOfActiveBuckets_admitsNewKeyUntracked() {
+        endpoint.borrow(1L, 1L);
+        endpoint.borrow(2L, 1L);
+
+        for (int i = 0; i < 5; i++) {
+            endpoint.borrow(3L, 1L);
+        }
+
+        assertEquals(5.0, meterRegistry.get("rate.limit.untracked").tag("endpoint", "test.borrow").counter().count());
+        assertEquals(2.0, meterRegistry.get("rate.limit.buckets").tag("endpoint", "test.borrow").gauge().value());
+    }
+
+    @Test
+    void evictFullBuckets_keepsBucketsStillRefilling() {
+        endpoint.borrow(1L, 1L);
+        endpoint.giveBack(1L, 1L);
+
+        aspect.evictFullBuckets();
+
+        assertEquals(1.0, meterRegistry.get("rate.limit.buckets").tag("endpoint", "test.borrow").gauge().value());
+        assertEquals(1.0, meterRegistry.get("rate.limit.buckets").tag("endpoint", "test.return").gauge().value());
+    }
+
+    @Test
+    void limit_missingKey_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> endpoint.borrow(null, 1L));
+    }
+
+    @Test
+    void tokenBucket_refillsAtRate() {
+        long interval = TimeUnit.MILLISECONDS.toNanos(100);
+        TokenBucket bucket = new TokenBucket(0);
+
+        assertEquals(0, bucket.tryAcquire(0, interval, interval));
+        assertEquals(0, bucket.tryAcquire(0, interval, interval));
+        assertEquals(interval, bucket.tryAcquire(0, interval, interval));
+        assertEquals(0, bucket.tryAcquire(interval, interval, interval));
+        assertFalse(bucket.isFull(interval));
+        assertTrue(bucket.isFull(3 * interval));
+    }
+
+    static class BorrowingTarget {
+        int calls;
+
+        @RateLimited("test.borrow")
+        public void borrow(Long user_id, Long book_id) {
+            calls++;
+        }
+
+        @RateLimited("test.return")
+        public void giveBack(Long user_id, Long book_id) {
+            calls++;
+        }
+    }
+}
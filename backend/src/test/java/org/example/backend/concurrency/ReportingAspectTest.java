@@ -0,0 +1,103 @@
+package org.example.backend.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.datasource.ReadOnlyRoutingDataSource;
+import org.example.backend.exceptions.custom.ServiceOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ReportingAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReportingAspect aspect;
+    private ReportService target;
+    private ReportService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new ReportingAspect(mock(PlatformTransactionManager.class), meterRegistry, 1, 1, 500);
+
+        target = new ReportService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        service = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        target.release.countDown();
+        aspect.shutdown();
+    }
+
+    @Test
+    void report_runsOnReportingThread() {
+        target.release.countDown();
+
+        assertEquals("reporting", service.report());
+        assertTrue(target.thread.startsWith("reporting-"));
+        assertFalse(ReadOnlyRoutingDataSource.isReporting());
+    }
+
+    @Test
+    void report_executorSaturated_throwsOverloaded() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(service::report);
+        assertTrue(target.started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(service::report);
+        while (meterRegistry.get("executor.queued").tag("name", "reporting").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        assertThrows(ServiceOverloadedException.class, () -> service.report());
+        assertEquals(1.0, meterRegistry.counter("reporting.rejected").count());
+
+        target.release.countDown();
+        assertEquals("reporting", running.get(5, TimeUnit.SECONDS));
+        assertEquals("reporting", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void report_tooSlow_throwsOverloaded() {
+        assertThrows(ServiceOverloadedException.class, () -> service.report());
+        assertEquals(1.0, meterRegistry.counter("reporting.timeouts").count());
+    }
+
+    @Test
+    void report_failure_rethrowsCause() {
+        target.release.countDown();
+        target.failure = new IllegalStateException("query failed");
+
+        assertThrows(IllegalStateException.class, () -> service.report());
+    }
+
+    static class ReportService {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile String thread;
+        volatile RuntimeException failure;
+
+        @Reporting
+        public String report() {
+            thread = Thread.currentThread().getName();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) throw failure;
+            return ReadOnlyRoutingDataSource.isReporting() ? "reporting" : "caller";
+        }
+    }
+}
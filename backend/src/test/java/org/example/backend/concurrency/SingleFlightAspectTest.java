@@ -0,0 +1,163 @@
+package org.example.backend.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.example.backend.datasource.ReadOnlyRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReadTarget target;
+    private ReadTarget reads;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        target = new ReadTarget();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new SingleFlightAspect(meterRegistry));
+        reads = factory.getProxy();
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        target.release.countDown();
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void coalesce_concurrentEqualCalls_shareOneExecution() throws Exception {
+        List<Future<String>> results = startWhileFirstRuns(4, () -> reads.read(1L));
+        target.release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("book-1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, target.executions.get());
+        assertEquals(4.0, meterRegistry.get("singleflight.calls").tag("name", "test.read").counter().count());
+        assertEquals(0.75, meterRegistry.get("singleflight.coalescing.ratio").tag("name", "test.read").gauge().value());
+    }
+
+    @Test
+    void coalesce_differentArguments_runSeparately() throws Exception {
+        target.release.countDown();
+        Future<String> first = executor.submit(() -> reads.read(1L));
+        Future<String> second = executor.submit(() -> reads.read(2L));
+
+        assertEquals("book-1", first.get(5, TimeUnit.SECONDS));
+        assertEquals("book-2", second.get(5, TimeUnit.SECONDS));
+        assertEquals(2, target.executions.get());
+    }
+
+    @Test
+    void coalesce_afterCompletion_runsAgain() {
+        target.release.countDown();
+
+        reads.read(1L);
+        reads.read(1L);
+
+        assertEquals(2, target.executions.get());
+        assertEquals(0.0, meterRegistry.get("singleflight.shared").tag("name", "test.read").counter().count());
+    }
+
+    @Test
+    void coalesce_failedCall_sharesException() throws Exception {
+        target.failure = new EntityNotFoundException("Book not found with id: 1");
+        List<Future<String>> results = startWhileFirstRuns(3, () -> reads.read(1L));
+        target.release.countDown();
+
+        for (Future<String> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(EntityNotFoundException.class, e.getCause());
+        }
+        assertEquals(1, target.executions.get());
+    }
+
+    @Test
+    void coalesce_insideTransaction_alwaysExecutes() throws Exception {
+        List<Future<String>> results = startWhileFirstRuns(1, () -> reads.read(1L));
+        Future<String> transactional = executor.submit(() -> {
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            try {
+                return reads.read(1L);
+            } finally {
+                TransactionSynchronizationManager.setActualTransactionActive(false);
+            }
+        });
+        target.release.countDown();
+
+        assertEquals("book-1", transactional.get(5, TimeUnit.SECONDS));
+        assertEquals("book-1", results.get(0).get(5, TimeUnit.SECONDS));
+        assertEquals(2, target.executions.get());
+    }
+
+    @Test
+    void coalesce_pinnedToPrimary_doesNotShareWithUnpinnedCall() throws Exception {
+        List<Future<String>> results = startWhileFirstRuns(1, () -> reads.read(1L));
+        Future<String> pinned = executor.submit(() -> ReadOnlyRoutingDataSource.onPrimary(() -> reads.read(1L)));
+        target.release.countDown();
+
+        assertEquals("book-1", pinned.get(5, TimeUnit.SECONDS));
+        assertEquals("book-1", results.get(0).get(5, TimeUnit.SECONDS));
+        assertEquals(2, target.executions.get());
+    }
+
+    /**
+     * Starts one call, waits until it runs, then starts the remaining calls and waits until they have joined it.
+     */
+    private List<Future<String>> startWhileFirstRuns(int calls, Callable<String> call) throws Exception {
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(call));
+        assertTrue(target.entered.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < calls; i++) {
+            results.add(executor.submit(call));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("singleflight.shared").tag("name", "test.read").counter().count() < calls - 1
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        return results;
+    }
+
+    static class ReadTarget {
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile RuntimeException failure;
+
+        @SingleFlight("test.read")
+        public String read(Long id) {
+            executions.incrementAndGet();
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) throw failure;
+            return "book-" + id;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.backend.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedLocksTest {
+
+    @Test
+    void constructor_roundsUpToPowerOfTwo() {
+        assertEquals(1, new StripedLocks(1).size());
+        assertEquals(64, new StripedLocks(64).size());
+        assertEquals(128, new StripedLocks(65).size());
+    }
+
+    @Test
+    void constructor_nonPositive_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedLocks(0));
+    }
+
+    @Test
+    void get_sameKey_returnsSameLock() {
+        StripedLocks locks = new StripedLocks(64);
+
+        assertSame(locks.get(42L), locks.get(Long.valueOf(42L)));
+    }
+
+    @Test
+    void get_consecutiveKeys_useDifferentStripes() {
+        StripedLocks locks = new StripedLocks(64);
+
+        for (long id = 0; id < 63; id++) {
+            assertNotSame(locks.get(id), locks.get(id + 1));
+        }
+    }
+
+    @Test
+    void getAll_returnsDistinctLocksInStripeOrder() {
+        StripedLocks locks = new StripedLocks(4);
+
+        List<ReentrantLock> all = locks.getAll(List.of(7L, 2L, 3L, 6L, 2L));
+
+        assertEquals(List.of(locks.get(2L), locks.get(3L)), all);
+        assertEquals(all, locks.getAll(List.of(3L, 2L)));
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@AutoConfigureTestDatabase
+class SchedulingConfigTest {
+
+    @Autowired
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    @Autowired
+    private ScheduledTaskHolder scheduledTaskHolder;
+
+    @Test
+    void scheduler_hasThreadPerScheduledJob() {
+        int jobs = scheduledTaskHolder.getScheduledTasks().size();
+
+        assertTrue(jobs > 0);
+        assertTrue(taskScheduler.getPoolSize() >= jobs,
+                "pool of " + taskScheduler.getPoolSize() + " threads for " + jobs + " jobs");
+    }
+}
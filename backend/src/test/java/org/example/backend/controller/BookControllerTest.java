@@ -4,7 +4,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
 import org.example.backend.dto.request.BookCreationRequest;
 import org.example.backend.dto.request.BookUpdateRequest;
+import org.example.backend.event.BookAvailabilityChangedEvent;
 import org.example.backend.model.Book;
+import org.example.backend.readmodel.BookAvailabilityReadModel;
+import org.example.backend.readmodel.PackedAvailabilityMap;
 import org.example.backend.service.BookService;
 import org.example.backend.exceptions.custom.EntityBorrowedException;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 
 import jakarta.validation.ConstraintViolationException;
@@ -32,6 +36,9 @@ class BookControllerTest {
     @MockBean
     private BookService bookService;
 
+    @MockBean
+    private BookAvailabilityReadModel availabilityReadModel;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -43,6 +50,7 @@ class BookControllerTest {
     void setUp() {
         book = new Book();
         book.setId(1L);
+        book.setVersion(3L);
         book.setTitle("TestTitle");
         book.setAuthor("Test Author");
         book.setAmount(5);
@@ -68,6 +76,34 @@ class BookControllerTest {
                 .andExpect(jsonPath("$.title").value("TestTitle"));
     }
 
+    @Test
+    void readBook_returnsETagFromVersion() throws Exception {
+        Mockito.when(bookService.readBook(1L)).thenReturn(book);
+
+        mockMvc.perform(get("/book/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    void readBook_matchingIfNoneMatch_returnsNotModified() throws Exception {
+        Mockito.when(bookService.readBook(1L)).thenReturn(book);
+
+        mockMvc.perform(get("/book/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void readBook_staleIfNoneMatch_returnsBook() throws Exception {
+        Mockito.when(bookService.readBook(1L)).thenReturn(book);
+
+        mockMvc.perform(get("/book/1").header("If-None-Match", "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("TestTitle"));
+    }
+
     @Test
     void readBook_notFound_returnsNotFound() throws Exception {
         Mockito.when(bookService.readBook(1L)).thenThrow(new EntityNotFoundException("Book not found"));
@@ -77,6 +113,38 @@ class BookControllerTest {
                 .andExpect(jsonPath("$.message").value("Book not found"));
     }
 
+    @Test
+    void readAvailability_fromReadModel() throws Exception {
+        Mockito.when(availabilityReadModel.get(1L)).thenReturn(PackedAvailabilityMap.pack(4, 1));
+
+        mockMvc.perform(get("/book/1/availability"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.book_id").value(1))
+                .andExpect(jsonPath("$.amount").value(4))
+                .andExpect(jsonPath("$.amount_of_borrowed_books").value(1));
+        Mockito.verifyNoInteractions(bookService);
+    }
+
+    @Test
+    void readAvailability_missingFromReadModel_readsBook() throws Exception {
+        Mockito.when(availabilityReadModel.get(1L)).thenReturn(PackedAvailabilityMap.MISSING);
+        Mockito.when(bookService.readBook(1L)).thenReturn(book);
+
+        mockMvc.perform(get("/book/1/availability"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.amount").value(5));
+        Mockito.verify(availabilityReadModel).apply(any(BookAvailabilityChangedEvent.class));
+    }
+
+    @Test
+    void readAvailability_notFound_returnsNotFound() throws Exception {
+        Mockito.when(availabilityReadModel.get(1L)).thenReturn(PackedAvailabilityMap.MISSING);
+        Mockito.when(bookService.readBook(1L)).thenThrow(new EntityNotFoundException("Book not found"));
+
+        mockMvc.perform(get("/book/1/availability"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void createBook_success() throws Exception {
         Mockito.when(bookService.createBook(any(BookCreationRequest.class))).thenReturn(book);
@@ -165,6 +233,17 @@ class BookControllerTest {
                 .andExpect(jsonPath("$.message").value("Book not found"));
     }
 
+    @Test
+    void updateBook_concurrentModification_returnsConflict() throws Exception {
+        Mockito.when(bookService.updateBook(eq(1L), any(BookUpdateRequest.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Book.class, 1L));
+
+        mockMvc.perform(put("/book/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     void deleteBook_success() throws Exception {
         Mockito.doNothing().when(bookService).deleteBook(1L);
@@ -5,6 +5,8 @@ import jakarta.persistence.EntityNotFoundException;
 import org.example.backend.dto.request.UserInformationRequest;
 import org.example.backend.dto.response.BorrowedBooksStatisticResponse;
 import org.example.backend.dto.response.BorrowedTitlesResponse;
+import org.example.backend.exceptions.custom.RateLimitExceededException;
+import org.example.backend.exceptions.custom.ServiceOverloadedException;
 import org.example.backend.model.Book;
 import org.example.backend.model.Borrowing;
 import org.example.backend.model.User;
@@ -84,6 +86,28 @@ class BorrowingControllerTest {
                 .andExpect(jsonPath("$.message").value("Book is not available"));
     }
 
+    @Test
+    void borrow_overloaded_returnsServiceUnavailable() throws Exception {
+        Mockito.when(borrowingService.borrowBook(1L, 1L))
+                .thenThrow(new ServiceOverloadedException("Too many pending borrow requests, please try again later"));
+
+        mockMvc.perform(post("/borrowing/user/1/book/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.message").value("Too many pending borrow requests, please try again later"));
+    }
+
+    @Test
+    void borrow_rateLimited_returnsTooManyRequests() throws Exception {
+        Mockito.when(borrowingService.borrowBook(1L, 1L))
+                .thenThrow(new RateLimitExceededException("Too many requests, please slow down", 3));
+
+        mockMvc.perform(post("/borrowing/user/1/book/1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "3"))
+                .andExpect(jsonPath("$.message").value("Too many requests, please slow down"));
+    }
+
     @Test
     void getBorrowedBooksByName_success() throws Exception {
         List<Book> books = List.of(book);
@@ -0,0 +1,178 @@
+package org.example.backend.controller;
+
+import org.example.backend.model.Book;
+import org.example.backend.model.User;
+import org.example.backend.repository.BookRepository;
+import org.example.backend.repository.UserRepository;
+import org.example.backend.service.BorrowingService;
+import org.example.backend.sql.StatementBudget;
+import org.example.backend.sql.StatementBudgetExtension;
+import org.example.backend.sql.StatementCountingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs each REST endpoint against H2 and holds it to a budget of SQL statements per request.
+ * A lazy association touched in a loop or while the response is rendered shows up here as a
+ * failed budget; the failure message lists the statements of the request.
+ * When a change really needs another statement, raise the budget in the same change.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statement-budget;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database=DEFAULT",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+@Import(StatementCountingConfig.class)
+@ExtendWith(StatementBudgetExtension.class)
+class EndpointStatementBudgetTest {
+    private static final AtomicInteger NAMES = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    private Book book;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        book = saveBook(5);
+        user = saveUser();
+    }
+
+    @Test
+    @StatementBudget(endpoint = "GET /book/{id}", max = 1)
+    void readBook() throws Exception {
+        mockMvc.perform(get("/book/{id}", book.getId())).andExpect(status().isOk());
+    }
+
+    @Test
+    @StatementBudget(endpoint = "POST /book/create", max = 3)
+    void createBook() throws Exception {
+        mockMvc.perform(post("/book/create").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Created\",\"author\":\"Budget Author\"}"))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @StatementBudget(endpoint = "PUT /book/{id}", max = 3)
+    void updateBook() throws Exception {
+        mockMvc.perform(put("/book/{id}", book.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Renamed\",\"author\":\"Budget Author\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @StatementBudget(endpoint = "DELETE /book/{id}", max = 2)
+    void deleteBook() throws Exception {
+        mockMvc.perform(delete("/book/{id}", book.getId())).andExpect(status().is2xxSuccessful());
+    }
+
+    @Test
+    @StatementBudget(endpoint = "POST /user/create", max = 2)
+    void createUser() throws Exception {
+        mockMvc.perform(post("/user/create").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Budget" + NAMES.incrementAndGet() + "\"}"))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @StatementBudget(endpoint = "GET /user/{id}", max = 1)
+    void readUser() throws Exception {
+        mockMvc.perform(get("/user/{id}", user.getId())).andExpect(status().isOk());
+    }
+
+    @Test
+    @StatementBudget(endpoint = "PUT /user/{id}", max = 4)
+    void updateUser() throws Exception {
+        mockMvc.perform(put("/user/{id}", user.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed" + NAMES.incrementAndGet() + "\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @StatementBudget(endpoint = "DELETE /user/{id}", max = 1)
+    void deleteUser() throws Exception {
+        mockMvc.perform(delete("/user/{id}", user.getId())).andExpect(status().is2xxSuccessful());
+    }
+
+    @Test
+    @StatementBudget(endpoint = "POST /borrowing/user/{user_id}/book/{book_id}", max = 7)
+    void borrow() throws Exception {
+        mockMvc.perform(post("/borrowing/user/{user_id}/book/{book_id}", user.getId(), book.getId()))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @StatementBudget(endpoint = "POST /borrowing/user/{user_id}/book/{book_id}", max = 7)
+    void borrow_byUserHoldingBooks() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            borrowingService.borrowBook(user.getId(), saveBook(1).getId());
+        }
+        mockMvc.perform(post("/borrowing/user/{user_id}/book/{book_id}", user.getId(), book.getId()))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @StatementBudget(endpoint = "DELETE /borrowing/return/user/{user_id}/book/{book_id}", max = 9)
+    void returnBook() throws Exception {
+        borrowingService.borrowBook(user.getId(), book.getId());
+        borrowingService.borrowBook(saveUser().getId(), book.getId());
+
+        mockMvc.perform(delete("/borrowing/return/user/{user_id}/book/{book_id}", user.getId(), book.getId()))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    @Test
+    @StatementBudget(endpoint = "POST /borrowing/name", max = 2)
+    void borrowedBooksByName() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            borrowingService.borrowBook(user.getId(), saveBook(1).getId());
+        }
+        mockMvc.perform(post("/borrowing/name").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + user.getName() + "\"}"))
+                .andExpect(status().isOk());
+    }
+
+    private Book saveBook(int copies) {
+        Book book = new Book();
+        book.setTitle("Budget");
+        book.setAuthor("Budget Author");
+        book.setAmount(copies);
+        book.setAmountOfBorrowedBooks(0);
+        return bookRepository.save(book);
+    }
+
+    private User saveUser() {
+        User user = new User();
+        user.setName("Budget" + NAMES.incrementAndGet());
+        user.setNumberOfBorrowedBooks(0);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.backend.controller;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.example.backend.dto.request.UserInformationRequest;
+import org.example.backend.dto.response.BorrowedBooksStatisticResponse;
+import org.example.backend.dto.response.BorrowedTitlesResponse;
+import org.example.backend.model.Book;
+import org.example.backend.model.Borrowing;
+import org.example.backend.model.User;
+import org.example.backend.service.ReactiveBorrowingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.*;
+
+@WebFluxTest(ReactiveBorrowingController.class)
+@ActiveProfiles("reactive")
+class ReactiveBorrowingControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveBorrowingService borrowingService;
+
+    private Borrowing borrowing;
+    private Book book;
+    private UserInformationRequest userInfoRequest;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(1L);
+        user.setName("TestUser");
+        user.setNumberOfBorrowedBooks(1);
+
+        book = new Book();
+        book.setId(1L);
+        book.setTitle("TestTitle");
+        book.setAuthor("Test Author");
+        book.setAmount(1);
+        book.setAmountOfBorrowedBooks(1);
+
+        borrowing = new Borrowing();
+        borrowing.setId(1L);
+        borrowing.setUser(user);
+        borrowing.setBook(book);
+
+        userInfoRequest = new UserInformationRequest();
+        userInfoRequest.setName("TestUser");
+    }
+
+    @Test
+    void borrow_success() {
+        Mockito.when(borrowingService.borrowBook(1L, 1L)).thenReturn(Mono.just(borrowing));
+
+        webTestClient.post().uri("/borrowing/user/1/book/1").exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.user_name").isEqualTo("TestUser")
+                .jsonPath("$.book_title").isEqualTo("TestTitle");
+    }
+
+    @Test
+    void borrow_notFound_returnsNotFound() {
+        Mockito.when(borrowingService.borrowBook(1L, 1L))
+                .thenReturn(Mono.error(new EntityNotFoundException("Book is not available")));
+
+        webTestClient.post().uri("/borrowing/user/1/book/1").exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Book is not available");
+    }
+
+    @Test
+    void getBorrowedBooksByName_success() {
+        Mockito.when(borrowingService.getBorrowedBooksByUserName(any(UserInformationRequest.class))).thenReturn(Flux.just(book));
+
+        webTestClient.post().uri("/borrowing/name")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userInfoRequest)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].title").isEqualTo("TestTitle");
+    }
+
+    @Test
+    void getDistinctBorrowedBooksTitles_success() {
+        Mockito.when(borrowingService.getDistinctBorrowedBooksTitles()).thenReturn(Flux.just(new BorrowedTitlesResponse("TestTitle")));
+
+        webTestClient.get().uri("/borrowing/titles/distinct").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].title").isEqualTo("TestTitle");
+    }
+
+    @Test
+    void getBorrowedBooksStatistics_empty() {
+        Mockito.when(borrowingService.getDistinctBorrowedBooksTitlesAndCounts()).thenReturn(Flux.<BorrowedBooksStatisticResponse>empty());
+
+        webTestClient.get().uri("/borrowing/statistic").exchange()
+                .expectStatus().isOk()
+                .expectBody().json("[]");
+    }
+
+    @Test
+    void returnBook_success() {
+        Mockito.when(borrowingService.returnBook(1L, 1L)).thenReturn(Mono.empty());
+
+        webTestClient.delete().uri("/borrowing/return/user/1/book/1").exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void returnBook_notFound_returnsNotFound() {
+        Mockito.when(borrowingService.returnBook(1L, 1L))
+                .thenReturn(Mono.error(new EntityNotFoundException("Borrowing is not available")));
+
+        webTestClient.delete().uri("/borrowing/return/user/1/book/1").exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Borrowing is not available");
+    }
+}
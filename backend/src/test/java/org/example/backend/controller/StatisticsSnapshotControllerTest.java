@@ -0,0 +1,77 @@
+package org.example.backend.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.dto.response.BorrowedBooksStatisticResponse;
+import org.example.backend.dto.response.BorrowedTitlesResponse;
+import org.example.backend.readmodel.StatisticsSnapshots;
+import org.example.backend.service.impl.BorrowingServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Checks the statistics endpoints when they are answered from precomputed snapshots.
+ */
+@WebMvcTest(BorrowingController.class)
+@Import({StatisticsSnapshots.class, StatisticsSnapshotControllerTest.MetricsConfiguration.class})
+class StatisticsSnapshotControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BorrowingServiceImpl borrowingService;
+
+    @Test
+    void getBorrowedBooksStatistics_servesSnapshotWithLastModified() throws Exception {
+        Mockito.when(borrowingService.getDistinctBorrowedBooksTitlesAndCounts())
+                .thenReturn(List.of(new BorrowedBooksStatisticResponse("TestTitle", 2L)));
+
+        mockMvc.perform(get("/borrowing/statistic"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(jsonPath("$[0].title").value("TestTitle"))
+                .andExpect(jsonPath("$[0].amount_of_borrowed_books").value(2));
+        mockMvc.perform(get("/borrowing/statistic"))
+                .andExpect(status().isOk());
+
+        Mockito.verify(borrowingService, Mockito.times(1)).getDistinctBorrowedBooksTitlesAndCounts();
+    }
+
+    @Test
+    void getDistinctBorrowedBooksTitles_notModifiedSince_returnsNotModified() throws Exception {
+        Mockito.when(borrowingService.getDistinctBorrowedBooksTitles())
+                .thenReturn(List.of(new BorrowedTitlesResponse("TestTitle")));
+        MvcResult first = mockMvc.perform(get("/borrowing/titles/distinct"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("TestTitle"))
+                .andReturn();
+
+        mockMvc.perform(get("/borrowing/titles/distinct")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @TestConfiguration
+    static class MetricsConfiguration {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -42,6 +42,7 @@ class UserControllerTest {
     void setUp() {
         user = new User();
         user.setId(1L);
+        user.setVersion(7L);
         user.setName("John");
         user.setNumberOfBorrowedBooks(2);
 
@@ -73,6 +74,24 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.name").value("John"));
     }
 
+    @Test
+    void readUser_returnsETagFromVersion() throws Exception {
+        Mockito.when(userService.readUser(1L)).thenReturn(user);
+
+        mockMvc.perform(get("/user/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7\""));
+    }
+
+    @Test
+    void readUser_matchingIfNoneMatch_returnsNotModified() throws Exception {
+        Mockito.when(userService.readUser(1L)).thenReturn(user);
+
+        mockMvc.perform(get("/user/1").header("If-None-Match", "\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     void updateUser_success() throws Exception {
         Mockito.when(userService.updateUser(eq(1L), any(UserUpdateRequest.class))).thenReturn(user);
@@ -0,0 +1,104 @@
+package org.example.backend.dataset;
+
+import jakarta.validation.Validator;
+import org.example.backend.model.Book;
+import org.example.backend.model.User;
+import org.example.backend.repository.BookRepository;
+import org.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Generates a small dataset on startup with the "generate" profile and checks that it is
+ * consistent, valid, skewed and reproducible.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "dataset.books=3000",
+        "dataset.users=2500",
+        "dataset.borrowings=8000",
+        "dataset.workers=3",
+        "dataset.batch-size=500",
+        "dataset.exit-when-done=false"
+})
+@AutoConfigureTestDatabase
+@ActiveProfiles("generate")
+class DatasetGeneratorTest {
+    private static final int BOOKS = 3000;
+    private static final int USERS = 2500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Test
+    void generatedDataset_isConsistentValidSkewedAndReproducible() throws Exception {
+        assertEquals(BOOKS, count("SELECT COUNT(*) FROM books"));
+        assertEquals(USERS, count("SELECT COUNT(*) FROM users"));
+        long borrowings = count("SELECT COUNT(*) FROM borrowing");
+        assertTrue(borrowings > 6000 && borrowings < 10000, "borrowings: " + borrowings);
+
+        assertEquals(0, count("SELECT COUNT(*) FROM books b WHERE b.amount_of_borrowed_books <> "
+                + "(SELECT COUNT(*) FROM borrowing br WHERE br.book_id = b.id)"));
+        assertEquals(0, count("SELECT COUNT(*) FROM users u WHERE u.number_of_borrowed_books <> "
+                + "(SELECT COUNT(*) FROM borrowing br WHERE br.user_id = u.id)"));
+        assertEquals(0, count("SELECT COUNT(*) FROM users WHERE number_of_borrowed_books > 10"));
+        assertTrue(count("SELECT COUNT(*) FROM users WHERE number_of_borrowed_books = 0") > USERS / 10);
+        assertTrue(count("SELECT COUNT(*) FROM users WHERE number_of_borrowed_books = 10") > 0);
+
+        for (Book book : bookRepository.findAll()) {
+            assertTrue(validator.validate(book).isEmpty(), book::toString);
+        }
+        for (User user : userRepository.findAll()) {
+            assertTrue(validator.validate(user).isEmpty(), user::toString);
+        }
+
+        List<Long> perBook = jdbcTemplate.queryForList(
+                "SELECT amount_of_borrowed_books FROM books ORDER BY amount_of_borrowed_books DESC", Long.class);
+        long topOnePercent = perBook.subList(0, BOOKS / 100).stream().mapToLong(Long::longValue).sum();
+        assertTrue(topOnePercent > borrowings / 5, "top 1% of books hold " + topOnePercent + " of " + borrowings);
+
+        new DatasetGenerator(dataSource, context, BOOKS, USERS, 8000, 42, 1, 700, 1.0, 1.5, 3, 10, false).generate();
+        assertEquals(0, count("SELECT COUNT(*) FROM books a JOIN books b ON b.id = a.id + " + BOOKS
+                + " WHERE a.title <> b.title OR a.author <> b.author OR a.amount <> b.amount"
+                + " OR a.amount_of_borrowed_books <> b.amount_of_borrowed_books"));
+        assertEquals(0, count("SELECT COUNT(*) FROM users a JOIN users b ON b.id = a.id + " + USERS
+                + " WHERE a.name <> b.name OR a.membership_date <> b.membership_date"
+                + " OR a.number_of_borrowed_books <> b.number_of_borrowed_books"));
+        assertEquals(2 * borrowings, count("SELECT COUNT(*) FROM borrowing"));
+
+        Book added = new Book();
+        added.setTitle("Appended");
+        added.setAuthor("Next Author");
+        added.setAmount(1);
+        added.setAmountOfBorrowedBooks(0);
+        assertEquals(2L * BOOKS + 1, bookRepository.save(added).getId());
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
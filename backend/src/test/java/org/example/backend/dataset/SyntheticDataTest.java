@@ -0,0 +1,96 @@
+package org.example.backend.dataset;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the name builders and the popularity and borrower distributions of the dataset generator.
+ */
+class SyntheticDataTest {
+
+    @Test
+    void names_matchEntityPatterns() {
+        SplittableRandom random = SyntheticData.chunkRandom(7, SyntheticData.BOOKS, 0);
+        for (long index = 0; index < 10_000; index += 37) {
+            assertTrue(SyntheticData.title(index, random).matches("^[A-Z][a-zA-Z]{2,}$"));
+            assertTrue(SyntheticData.author(random).matches("^[A-Z][a-z]+ [A-Z][a-z]+$"));
+            assertTrue(SyntheticData.userName(index, random).matches("^[^\\s]+$"));
+        }
+    }
+
+    @Test
+    void chunkRandom_dependsOnSeedTableAndChunkOnly() {
+        assertEquals(SyntheticData.chunkRandom(1, SyntheticData.USERS, 5).nextLong(),
+                SyntheticData.chunkRandom(1, SyntheticData.USERS, 5).nextLong());
+        assertNotEquals(SyntheticData.chunkRandom(1, SyntheticData.USERS, 5).nextLong(),
+                SyntheticData.chunkRandom(1, SyntheticData.USERS, 6).nextLong());
+        assertNotEquals(SyntheticData.chunkRandom(1, SyntheticData.USERS, 5).nextLong(),
+                SyntheticData.chunkRandom(1, SyntheticData.BOOKS, 5).nextLong());
+        assertNotEquals(SyntheticData.chunkRandom(1, SyntheticData.USERS, 5).nextLong(),
+                SyntheticData.chunkRandom(2, SyntheticData.USERS, 5).nextLong());
+    }
+
+    @Test
+    void zipfSampler_favoursLowRanks_andPermutesIndexes() {
+        ZipfSampler sampler = new ZipfSampler(10_000, 1.0);
+        SplittableRandom random = new SplittableRandom(1);
+        int[] counts = new int[10_000];
+        for (int i = 0; i < 100_000; i++) {
+            counts[(int) sampler.rank(random)]++;
+        }
+        assertTrue(counts[0] > counts[9] && counts[9] > counts[999]);
+        assertTrue(counts[0] > 100_000 / 20);
+
+        Set<Long> indexes = new HashSet<>();
+        for (long rank = 0; rank < 10_000; rank++) {
+            indexes.add(sampler.index(rank));
+        }
+        assertEquals(10_000, indexes.size());
+        assertNotEquals(1, sampler.index(1));
+    }
+
+    @Test
+    void zipfSampler_withZeroExponent_isUniform() {
+        ZipfSampler sampler = new ZipfSampler(10, 0.0);
+        SplittableRandom random = new SplittableRandom(1);
+        int[] counts = new int[10];
+        for (int i = 0; i < 100_000; i++) {
+            counts[(int) sampler.rank(random)]++;
+        }
+        for (int count : counts) {
+            assertEquals(10_000, count, 600);
+        }
+    }
+
+    @Test
+    void borrowerDistribution_hitsTargetMean_withinLimit() {
+        BorrowerDistribution distribution = new BorrowerDistribution(3.2, 10, 1.5);
+        SplittableRandom random = new SplittableRandom(1);
+        long sum = 0;
+        int atLimit = 0;
+        int none = 0;
+        for (int i = 0; i < 200_000; i++) {
+            int sample = distribution.sample(random);
+            assertTrue(sample >= 0 && sample <= 10);
+            sum += sample;
+            if (sample == 10) atLimit++;
+            if (sample == 0) none++;
+        }
+        assertEquals(3.2, distribution.mean(), 1e-6);
+        assertEquals(3.2, sum / 200_000.0, 0.05);
+        assertTrue(atLimit > 0 && none > atLimit);
+    }
+
+    @Test
+    void borrowerDistribution_aboveLimit_givesEveryoneTheLimit() {
+        BorrowerDistribution distribution = new BorrowerDistribution(25, 10, 1.5);
+        assertEquals(10, distribution.sample(new SplittableRandom(1)));
+        assertEquals(10.0, distribution.mean());
+        assertEquals(0, new BorrowerDistribution(0, 10, 1.5).sample(new SplittableRandom(1)));
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.backend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.backend.dto.request.BookCreationRequest;
+import org.example.backend.dto.response.BorrowedTitlesResponse;
+import org.example.backend.model.Book;
+import org.example.backend.model.User;
+import org.example.backend.repository.UserRepository;
+import org.example.backend.service.BookService;
+import org.example.backend.service.BorrowingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the services against two separate H2 databases standing in for a primary and a replica
+ * that does not replicate, so every read shows which database it came from.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.database=H2",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:r2dbc/schema.sql'",
+        "reporting.threads=3"
+})
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    @Qualifier("reportingDataSource")
+    private HikariDataSource reportingDataSource;
+
+    @Test
+    void readOnlyTransaction_readsReplica() {
+        Long bookId = createBook("Routed");
+        replicate(bookId, "Lagging");
+
+        assertEquals("Lagging", bookService.readBook(bookId).getTitle());
+    }
+
+    @Test
+    void onPrimary_readsPrimary() {
+        Long bookId = createBook("Pinned");
+        replicate(bookId, "Lagging");
+
+        Book book = ReadOnlyRoutingDataSource.onPrimary(() -> bookService.readBook(bookId));
+
+        assertEquals("Pinned", book.getTitle());
+    }
+
+    @Test
+    void borrow_readsAndWritesPrimary() {
+        Long bookId = createBook("Borrowed");
+        User user = new User();
+        user.setName("RoutedUser");
+        user.setNumberOfBorrowedBooks(0);
+        Long userId = userRepository.save(user).getId();
+
+        assertNotNull(borrowingService.borrowBook(userId, bookId));
+        assertEquals(0, ReadOnlyRoutingDataSource.onPrimary(() -> bookService.readBook(bookId)).getAmount());
+    }
+
+    @Test
+    void statistics_readReportingPool() {
+        Long bookId = createBook("Reported");
+        replicate(bookId, "Reported");
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.update("INSERT INTO users (id, name, number_of_borrowed_books, version) VALUES (?, 'Reader', 1, 0)", bookId);
+        replica.update("INSERT INTO borrowing (user_id, book_id) VALUES (?, ?)", bookId, bookId);
+
+        List<BorrowedTitlesResponse> titles = borrowingService.getDistinctBorrowedBooksTitles();
+
+        assertTrue(titles.stream().anyMatch(title -> title.getTitle().equals("Reported")));
+        assertTrue(reportingDataSource.getHikariPoolMXBean().getTotalConnections() > 0);
+    }
+
+    @Test
+    void reportingPool_sizedToReportingThreads() {
+        assertEquals(3, reportingDataSource.getMaximumPoolSize());
+    }
+
+    private Long createBook(String title) {
+        BookCreationRequest request = new BookCreationRequest();
+        request.setTitle(title);
+        request.setAuthor("Routing Author");
+        return bookService.createBook(request).getId();
+    }
+
+    private void replicate(Long bookId, String title) {
+        new JdbcTemplate(replicaDataSource).update(
+                "INSERT INTO books (id, title, author, amount, amount_of_borrowed_books, version) VALUES (?, ?, 'Routing Author', 1, 0, 0)",
+                bookId, title);
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.backend.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(2, Set.of("/borrowing/name"));
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void write_setsCookie() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/borrowing/user/1/book/1"), response, (req, res) -> { });
+
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE);
+        assertNotNull(cookie);
+        assertEquals(2, cookie.getMaxAge());
+    }
+
+    @Test
+    void write_keepsResponseBody() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/borrowing/user/1/book/1"), response, (req, res) -> {
+            ((HttpServletResponse) res).setStatus(201);
+            res.getWriter().write("{\"id\":1}");
+        });
+
+        assertEquals(201, response.getStatus());
+        assertEquals("{\"id\":1}", response.getContentAsString());
+        assertNotNull(response.getCookie(ReadYourWritesFilter.COOKIE));
+    }
+
+    @Test
+    void failedWrite_setsNoCookie() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/borrowing/user/1/book/1"), response,
+                (req, res) -> ((HttpServletResponse) res).setStatus(429));
+
+        assertEquals(429, response.getStatus());
+        assertNull(response.getCookie(ReadYourWritesFilter.COOKIE));
+    }
+
+    @Test
+    void readThroughPost_setsNoCookie() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/borrowing/name"), response, (req, res) -> { });
+
+        assertNull(response.getCookie(ReadYourWritesFilter.COOKIE));
+    }
+
+    @Test
+    void readWithoutCookie_usesReplica() throws Exception {
+        List<ReadOnlyRoutingDataSource.Route> routes = new ArrayList<>();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/book/1"), response,
+                (req, res) -> routes.add(ReadOnlyRoutingDataSource.currentRoute()));
+
+        assertEquals(List.of(ReadOnlyRoutingDataSource.Route.REPLICA), routes);
+        assertNull(response.getCookie(ReadYourWritesFilter.COOKIE));
+    }
+
+    @Test
+    void readWithCookie_usesPrimary() throws Exception {
+        List<ReadOnlyRoutingDataSource.Route> routes = new ArrayList<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/book/1");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, "1"));
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> routes.add(ReadOnlyRoutingDataSource.currentRoute()));
+
+        assertEquals(List.of(ReadOnlyRoutingDataSource.Route.PRIMARY), routes);
+        assertEquals(ReadOnlyRoutingDataSource.Route.REPLICA, ReadOnlyRoutingDataSource.currentRoute());
+    }
+}
@@ -0,0 +1,196 @@
+package org.example.backend.event;
+
+import org.example.backend.model.Book;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookAvailabilityBroadcasterTest {
+
+    private BookAvailabilityBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new BookAvailabilityBroadcaster(new SyncTaskExecutor(), 2, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void subscribe_sendsInitialStateOnFlush() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(emitter, event(1L, 5, 0, 0));
+
+        broadcaster.flush();
+
+        assertEquals(1, emitter.sent.size());
+    }
+
+    @Test
+    void onAvailabilityChanged_coalescesUpdatesOfSameBook() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribeToCatalog(emitter);
+
+        broadcaster.onAvailabilityChanged(event(1L, 5, 0, 1));
+        broadcaster.onAvailabilityChanged(event(1L, 4, 1, 2));
+        broadcaster.onAvailabilityChanged(event(1L, 3, 2, 3));
+        broadcaster.flush();
+
+        assertEquals(1, emitter.sent.size());
+    }
+
+    @Test
+    void onAvailabilityChanged_keepsNewestVersion() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribeToCatalog(emitter);
+
+        broadcaster.onAvailabilityChanged(event(1L, 3, 2, 3));
+        broadcaster.onAvailabilityChanged(event(1L, 5, 0, 1));
+        broadcaster.flush();
+
+        assertEquals(1, emitter.sent.size());
+        assertTrue(emitter.sent.get(0).contains("1:3"));
+    }
+
+    @Test
+    void onAvailabilityChanged_skipsSubscribersOfOtherBooks() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(emitter, event(1L, 5, 0, 0));
+        broadcaster.flush();
+
+        broadcaster.onAvailabilityChanged(event(2L, 5, 0, 1));
+        broadcaster.flush();
+
+        assertEquals(1, emitter.sent.size());
+    }
+
+    @Test
+    void onAvailabilityChanged_dropsSubscriberWithFullBuffer() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribeToCatalog(emitter);
+
+        broadcaster.onAvailabilityChanged(event(1L, 5, 0, 1));
+        broadcaster.onAvailabilityChanged(event(2L, 5, 0, 1));
+        broadcaster.onAvailabilityChanged(event(3L, 5, 0, 1));
+
+        assertTrue(emitter.completed);
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void flush_dropsStalledSingleBookSubscriberAndFreesSenderOnWriteTimeout() throws Exception {
+        BookAvailabilityBroadcaster pooled = new BookAvailabilityBroadcaster(1, 16, 2, 100);
+        try {
+            BlockingEmitter stalled = new BlockingEmitter();
+            pooled.subscribe(stalled, event(1L, 5, 0, 0));
+            pooled.flush();
+            assertTrue(stalled.sending.await(5, TimeUnit.SECONDS));
+
+            Thread.sleep(200);
+            pooled.onAvailabilityChanged(event(1L, 4, 1, 1));
+            pooled.flush();
+
+            assertEquals(0, pooled.getSubscriberCount());
+            stalled.release.complete(new IOException("Write timed out"));
+            assertTrue(stalled.failed.await(5, TimeUnit.SECONDS));
+
+            RecordingEmitter healthy = new RecordingEmitter();
+            pooled.subscribe(healthy, event(2L, 5, 0, 0));
+            pooled.flush();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (healthy.sent.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, healthy.sent.size());
+        } finally {
+            pooled.shutdown();
+        }
+    }
+
+    @Test
+    void flush_stalledWriteReturnsAfterDrop_completesEmitterWithError() throws Exception {
+        BookAvailabilityBroadcaster pooled = new BookAvailabilityBroadcaster(1, 16, 2, 100);
+        try {
+            BlockingEmitter stalled = new BlockingEmitter();
+            pooled.subscribe(stalled, event(1L, 5, 0, 0));
+            pooled.flush();
+            assertTrue(stalled.sending.await(5, TimeUnit.SECONDS));
+
+            Thread.sleep(200);
+            pooled.flush();
+            assertEquals(0, pooled.getSubscriberCount());
+            assertEquals(1, stalled.failed.getCount());
+
+            stalled.release.complete(null);
+
+            assertTrue(stalled.failed.await(5, TimeUnit.SECONDS));
+        } finally {
+            pooled.shutdown();
+        }
+    }
+
+    private BookAvailabilityChangedEvent event(Long id, int amount, int borrowed, long version) {
+        Book book = new Book();
+        book.setId(id);
+        book.setAmount(amount);
+        book.setAmountOfBorrowedBooks(borrowed);
+        book.setVersion(version);
+        return new BookAvailabilityChangedEvent(book);
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder event = new StringBuilder();
+            builder.build().forEach(part -> event.append(part.getData()));
+            sent.add(event.toString());
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+    }
+
+    /**
+     * An emitter whose client stops reading: the first send blocks until it is released, either
+     * failing as a blocking socket write does on the container's write timeout, or returning when
+     * the client reads again.
+     */
+    private static class BlockingEmitter extends SseEmitter {
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CompletableFuture<IOException> release = new CompletableFuture<>();
+        private final CountDownLatch failed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            IOException failure = release.join();
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            failed.countDown();
+        }
+    }
+}
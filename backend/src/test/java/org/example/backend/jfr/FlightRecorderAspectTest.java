@@ -0,0 +1,88 @@
+package org.example.backend.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderAspectTest {
+
+    @TempDir
+    Path tempDir;
+
+    private RecordedService target;
+    private RecordedService service;
+
+    @BeforeEach
+    void setUp() {
+        target = new RecordedService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new FlightRecorderAspect());
+        service = factory.getProxy();
+    }
+
+    @Test
+    void record_whileRecording_emitsEventWithIdsAndStatements() throws Exception {
+        List<RecordedEvent> events = record(() -> service.borrow(3L, 7L));
+
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("borrow", event.getString("operation"));
+        assertEquals(3L, event.getLong("userId"));
+        assertEquals(7L, event.getLong("bookId"));
+        assertEquals(2, event.getInt("statements"));
+        assertNull(event.getString("exception"));
+    }
+
+    @Test
+    void record_failure_emitsExceptionAndRethrows() throws Exception {
+        target.failure = new IllegalStateException("broken");
+
+        List<RecordedEvent> events = record(() -> assertThrows(IllegalStateException.class, () -> service.borrow(3L, 7L)));
+
+        assertEquals(1, events.size());
+        assertEquals("IllegalStateException", events.get(0).getString("exception"));
+    }
+
+    @Test
+    void record_withoutRecording_proceeds() {
+        assertEquals(10L, service.borrow(3L, 7L));
+        assertEquals(1, target.calls);
+    }
+
+    private List<RecordedEvent> record(Runnable calls) throws Exception {
+        Path file = tempDir.resolve("test.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.example.backend.Borrowing");
+            recording.start();
+            calls.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    static class RecordedService {
+        private final StatementCounter statementCounter = new StatementCounter();
+        int calls;
+        RuntimeException failure;
+
+        @FlightRecorded("borrow")
+        public long borrow(Long userId, Long bookId) {
+            calls++;
+            statementCounter.jdbcExecuteStatementEnd();
+            statementCounter.jdbcExecuteBatchEnd();
+            if (failure != null) throw failure;
+            return userId + bookId;
+        }
+    }
+}
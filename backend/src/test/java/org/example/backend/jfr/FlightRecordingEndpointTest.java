@@ -0,0 +1,121 @@
+package org.example.backend.jfr;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.example.backend.model.Book;
+import org.example.backend.model.User;
+import org.example.backend.repository.BookRepository;
+import org.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Takes a recording through the actuator endpoint while borrowing and returning a book, and
+ * checks that the returned file holds the application's events.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:flight-recording;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database=DEFAULT",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "jfr.connection-wait.threshold-ms=0",
+        "management.server.port=${server.port}",
+        "management.endpoints.web.exposure.include=jfr"
+})
+@AutoConfigureMockMvc
+class FlightRecordingEndpointTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void record_returnsRecordingWithBorrowingCacheAndPoolEvents() throws Exception {
+        Book book = new Book();
+        book.setTitle("Recorded");
+        book.setAuthor("Flight Author");
+        book.setAmount(1);
+        book.setAmountOfBorrowedBooks(0);
+        Long bookId = bookRepository.save(book).getId();
+        User user = new User();
+        user.setName("Recorder");
+        user.setNumberOfBorrowedBooks(0);
+        Long userId = userRepository.save(user).getId();
+
+        CompletableFuture<byte[]> recording = CompletableFuture.supplyAsync(() -> {
+            try {
+                return mockMvc.perform(post("/actuator/jfr?seconds=2").contentType(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsByteArray();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .noneMatch(r -> r.getName().equals("actuator") && r.getState() == RecordingState.RUNNING)) {
+            assertFalse(recording.isDone(), "recording finished before it was seen running");
+            Thread.sleep(10);
+        }
+
+        mockMvc.perform(post("/actuator/jfr?seconds=1").contentType(MediaType.APPLICATION_JSON)).andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/book/{id}/availability", bookId)).andExpect(status().isOk());
+        mockMvc.perform(get("/book/{id}/availability", bookId)).andExpect(status().isOk());
+        mockMvc.perform(post("/borrowing/user/{user_id}/book/{book_id}", userId, bookId)).andExpect(status().isCreated());
+        mockMvc.perform(delete("/borrowing/return/user/{user_id}/book/{book_id}", userId, bookId)).andExpect(status().isOk());
+
+        Path file = tempDir.resolve("actuator.jfr");
+        Files.write(file, recording.get());
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        List<RecordedEvent> borrowings = named(events, "org.example.backend.Borrowing");
+        assertEquals(List.of("borrow", "return"), borrowings.stream().map(e -> e.getString("operation")).toList());
+        for (RecordedEvent borrowing : borrowings) {
+            assertEquals(userId.longValue(), borrowing.getLong("userId"));
+            assertEquals(bookId.longValue(), borrowing.getLong("bookId"));
+            assertTrue(borrowing.getInt("statements") > 0);
+            assertFalse(borrowing.getDuration().isNegative());
+        }
+        List<RecordedEvent> lookups = named(events, "org.example.backend.CacheLookup").stream()
+                .filter(e -> e.getString("cache").equals("book.availability"))
+                .toList();
+        assertEquals(List.of(false, true), lookups.stream().map(e -> e.getBoolean("hit")).toList());
+        assertTrue(named(events, "org.example.backend.ConnectionWait").stream()
+                .anyMatch(e -> e.getString("pool").equals("primary")));
+        assertFalse(named(events, "jdk.GarbageCollection").isEmpty() && named(events, "jdk.CPULoad").isEmpty(),
+                "JDK events are recorded alongside the application's");
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+    }
+}
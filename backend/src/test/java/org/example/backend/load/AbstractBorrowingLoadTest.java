@@ -0,0 +1,194 @@
+package org.example.backend.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Closed-loop borrow/return workload shared by the servlet and reactive load tests, so both stacks
+ * are measured under identical load. Every client repeatedly borrows and returns a book; the report
+ * contains throughput and latency percentiles per endpoint, plus heap and thread usage sampled in
+ * the middle of the measured interval. Clients run in the same JVM, so the heap figure per connection
+ * includes client-side state and is only meaningful for comparing runs with each other.
+ */
+@Slf4j
+@Tag("load")
+abstract class AbstractBorrowingLoadTest {
+    @LocalServerPort
+    private int port;
+
+    @Value("${load.duration-seconds:30}")
+    int durationSeconds;
+
+    @Value("${load.warmup-seconds:5}")
+    private int warmupSeconds;
+
+    @Value("${load.books:50}")
+    int books;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    static IntStream clientCounts() {
+        return Arrays.stream(System.getProperty("load.clients", "200,2000").split(","))
+                .mapToInt(count -> Integer.parseInt(count.trim()));
+    }
+
+    /**
+     * Creates one user per client.
+     *
+     * @param clients number of clients
+     * @return IDs of the created users
+     */
+    abstract List<Long> createUsers(int clients);
+
+    /**
+     * Creates {@link #books} books with enough copies for every client.
+     *
+     * @param clients number of clients
+     * @return IDs of the created books
+     */
+    abstract List<Long> createBooks(int clients);
+
+    /**
+     * Names the stack and execution mode under test, used in the report and its file name.
+     *
+     * @return mode name
+     */
+    abstract String mode();
+
+    /**
+     * Called when the warmup ends and the measured interval starts.
+     */
+    void beforeMeasurement() {
+    }
+
+    /**
+     * Returns stack-specific lines appended to the report after the measured interval.
+     *
+     * @return additional report lines, or an empty string
+     */
+    String measurementReport() {
+        return "";
+    }
+
+    @ParameterizedTest(name = "{0} clients")
+    @MethodSource("clientCounts")
+    void borrowAndReturn(int clients) throws Exception {
+        List<Long> userIds = createUsers(clients);
+        List<Long> bookIds = createBooks(clients);
+
+        LatencyRecorder borrow = new LatencyRecorder("borrow");
+        LatencyRecorder giveBack = new LatencyRecorder("return");
+        System.gc();
+        long heapBefore = usedHeap();
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        long warmupEnd = System.nanoTime() + warmupSeconds * 1_000_000_000L;
+        long end = warmupEnd + durationSeconds * 1_000_000_000L;
+        CountDownLatch done = new CountDownLatch(clients);
+
+        for (int i = 0; i < clients; i++) {
+            long userId = userIds.get(i);
+            long bookId = bookIds.get(i % books);
+            Thread client = new Thread(() -> {
+                try {
+                    String path = "/user/" + userId + "/book/" + bookId;
+                    while (System.nanoTime() < end) {
+                        boolean measured = System.nanoTime() > warmupEnd;
+                        if (call("POST", "/borrowing" + path, 201, measured ? borrow : null)) {
+                            call("DELETE", "/borrowing/return" + path, 200, measured ? giveBack : null);
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+            client.setDaemon(true);
+            client.start();
+        }
+
+        Thread.sleep(Math.max(0, (warmupEnd - System.nanoTime()) / 1_000_000));
+        beforeMeasurement();
+        Thread.sleep(durationSeconds * 500L);
+        long heapDuring = usedHeap();
+        int serverThreads = ManagementFactory.getThreadMXBean().getThreadCount() - threadsBefore - clients;
+        done.await();
+
+        String report = String.format("mode=%s java=%s clients=%d books=%d duration=%ds%n%s%n%s%n"
+                        + "heap +%.1f MB (%.1f KB per connection)  additional server threads %d%n%s",
+                mode(), Runtime.version().feature(), clients, books, durationSeconds,
+                borrow.report(durationSeconds), giveBack.report(durationSeconds),
+                (heapDuring - heapBefore) / 1_048_576.0, (heapDuring - heapBefore) / 1024.0 / clients, serverThreads,
+                measurementReport());
+        log.info("Borrowing load report:\n{}", report);
+        Path reportDir = Files.createDirectories(Path.of("target", "load-reports"));
+        Files.writeString(reportDir.resolve("borrowing-" + mode() + "-" + clients + "-" + books + ".txt"), report);
+    }
+
+    /**
+     * Sends one request and records its latency. A client answered with 503 waits for the
+     * Retry-After interval before its next request, as a well-behaved client would.
+     *
+     * @return whether the request got the expected status
+     */
+    private boolean call(String method, String path, int expectedStatus, LatencyRecorder recorder) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<Void> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (Exception e) {
+            response = null;
+        }
+        long latency = System.nanoTime() - start;
+        if (response != null && response.statusCode() == 503) {
+            if (recorder != null) {
+                recorder.reject();
+            }
+            long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(0);
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(retryAfter));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+        boolean success = response != null && response.statusCode() == expectedStatus;
+        if (recorder != null) {
+            recorder.record(latency, success);
+        }
+        return success;
+    }
+
+    private static long usedHeap() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    static String letters(int value) {
+        StringBuilder letters = new StringBuilder();
+        do {
+            letters.append((char) ('a' + value % 26));
+            value /= 26;
+        } while (value > 0);
+        return letters.toString();
+    }
+}
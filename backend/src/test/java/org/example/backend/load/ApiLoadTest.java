@@ -0,0 +1,373 @@
+package org.example.backend.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.model.Book;
+import org.example.backend.model.Borrowing;
+import org.example.backend.model.User;
+import org.example.backend.repository.BookRepository;
+import org.example.backend.repository.BorrowingRepository;
+import org.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Open-model load test of the whole REST API. Requests arrive at a fixed average rate whether or
+ * not earlier requests have completed, as they do from independent users, and each latency is
+ * measured from the moment its request was scheduled to start. A slow server therefore shows up
+ * as growing latency instead of a lower request rate, which a closed-loop test would hide.
+ * <p>
+ * Three workload mixes are available:
+ * <ul>
+ *     <li>{@code browse}: catalog reads, user lookups and the borrowing statistics</li>
+ *     <li>{@code checkout}: mostly borrows, with some book reads</li>
+ *     <li>{@code return}: mostly returns of books borrowed before the run, with some reads</li>
+ * </ul>
+ * <pre>
+ * mvn test -Pload -Dtest=ApiLoadTest
+ * mvn test -Pload -Dtest=ApiLoadTest -Dload.workloads=checkout -Dload.rate=500 -Dload.arrivals=uniform
+ * </pre>
+ * The report contains throughput, p50/p99/p999 latency and error rate per endpoint. It is written to
+ * {@code target/load-reports} together with one HdrHistogram percentile distribution per endpoint.
+ * Requests answered with 503 or 429 count as rejected and are not retried.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:api-load;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database=DEFAULT",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "server.tomcat.accept-count=4096"
+})
+class ApiLoadTest {
+    private static final int NAME_WIDTH = 56;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowingRepository borrowingRepository;
+
+    @Value("${load.rate:200}")
+    private int rate;
+
+    @Value("${load.arrivals:poisson}")
+    private String arrivals;
+
+    @Value("${load.duration-seconds:30}")
+    private int durationSeconds;
+
+    @Value("${load.warmup-seconds:5}")
+    private int warmupSeconds;
+
+    @Value("${load.users:1000}")
+    private int minimumUsers;
+
+    @Value("${load.books:200}")
+    private int books;
+
+    @Value("${load.max-inflight:5000}")
+    private int maxInflight;
+
+    @Value("${borrowing.limit}")
+    private int borrowingLimit;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    static Stream<Workload> workloads() {
+        return Arrays.stream(System.getProperty("load.workloads", "browse,checkout,return").split(","))
+                .map(name -> Workload.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("workloads")
+    void openModel(Workload workload) throws Exception {
+        Dataset dataset = createDataset(workload);
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        for (Operation operation : workload.operations) {
+            recorders.put(operation, new LatencyRecorder(operation.toString()));
+        }
+        LatencyRecorder all = new LatencyRecorder("all");
+        AtomicInteger inflight = new AtomicInteger();
+        LongAdder dropped = new LongAdder();
+        LongAdder exhausted = new LongAdder();
+        SplittableRandom random = new SplittableRandom(workload.ordinal());
+
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(durationSeconds);
+        long scheduled = System.nanoTime();
+        while (scheduled < end) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = scheduled >= warmupEnd;
+            Operation operation = workload.next(random);
+            String path = dataset.path(operation, random);
+            if (path == null) {
+                if (measured) exhausted.increment();
+            } else if (inflight.get() >= maxInflight) {
+                if (measured) dropped.increment();
+            } else {
+                send(operation, path, scheduled, inflight, measured ? recorders.get(operation) : null, measured ? all : null);
+            }
+            scheduled += interarrivalNanos(random);
+        }
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inflight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+
+        StringBuilder report = new StringBuilder(String.format(
+                "workload=%s arrivals=%s rate=%d/s duration=%ds users=%d books=%d java=%d%n",
+                workload.name().toLowerCase(Locale.ROOT), arrivals, rate, durationSeconds,
+                dataset.userIds.size(), dataset.bookIds.size(), Runtime.version().feature()));
+        for (LatencyRecorder recorder : recorders.values()) {
+            report.append(recorder.report(durationSeconds, NAME_WIDTH)).append(System.lineSeparator());
+        }
+        report.append(all.report(durationSeconds, NAME_WIDTH)).append(System.lineSeparator());
+        report.append(String.format("offered %d req/s  dropped by client %d  no borrowed book left to return %d  still in flight %d%n",
+                rate, dropped.sum(), exhausted.sum(), inflight.get()));
+        log.info("API load report:\n{}", report);
+
+        String name = "api-" + workload.name().toLowerCase(Locale.ROOT) + "-" + rate;
+        Path reportDir = Files.createDirectories(Path.of("target", "load-reports"));
+        Files.writeString(reportDir.resolve(name + ".txt"), report);
+        for (Map.Entry<Operation, LatencyRecorder> entry : recorders.entrySet()) {
+            entry.getValue().writeDistribution(reportDir.resolve(name + "-" + entry.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm"));
+        }
+        assertTrue(inflight.get() == 0, "requests still in flight 30 s after the run ended");
+    }
+
+    private void send(Operation operation, String path, long scheduled, AtomicInteger inflight,
+                      LatencyRecorder recorder, LatencyRecorder all) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .method(operation.method, HttpRequest.BodyPublishers.noBody())
+                .build();
+        inflight.incrementAndGet();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    inflight.decrementAndGet();
+                    if (recorder == null) {
+                        return;
+                    }
+                    long latency = System.nanoTime() - scheduled;
+                    if (response != null && (response.statusCode() == 503 || response.statusCode() == 429)) {
+                        recorder.reject();
+                        all.reject();
+                        return;
+                    }
+                    boolean success = response != null && response.statusCode() == operation.expectedStatus;
+                    recorder.record(latency, success);
+                    all.record(latency, success);
+                });
+    }
+
+    private long interarrivalNanos(SplittableRandom random) {
+        double meanNanos = TimeUnit.SECONDS.toNanos(1) / (double) rate;
+        if (arrivals.equals("uniform")) {
+            return (long) meanNanos;
+        }
+        return (long) (-Math.log(1.0 - random.nextDouble()) * meanNanos);
+    }
+
+    /**
+     * Creates enough users and book copies for the expected number of borrows, and for the
+     * return workload the borrowings to be returned, so that the offered load and not the data
+     * limits the run.
+     */
+    private Dataset createDataset(Workload workload) {
+        int arrivalsExpected = rate * (warmupSeconds + durationSeconds);
+        int borrows = (int) Math.ceil(arrivalsExpected * workload.share(Operation.BORROW) * 1.2);
+        int held = (int) Math.ceil(arrivalsExpected * workload.share(Operation.RETURN) * 1.2);
+        int users = Math.max(minimumUsers, 2 * (Math.max(borrows, held) / borrowingLimit + 1));
+        int copies = 2 * (Math.max(borrows, held) / books + 1);
+        String prefix = "Api" + workload.name().toLowerCase(Locale.ROOT);
+
+        List<User> newUsers = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            User user = new User();
+            user.setName(prefix + "u" + i);
+            user.setNumberOfBorrowedBooks(Math.max(0, Math.min(borrowingLimit, held - i * borrowingLimit)));
+            newUsers.add(user);
+        }
+        List<User> savedUsers = userRepository.saveAll(newUsers);
+
+        List<Book> newBooks = new ArrayList<>();
+        for (int i = 0; i < books; i++) {
+            int borrowed = held / books + (i < held % books ? 1 : 0);
+            Book book = new Book();
+            book.setTitle(prefix + AbstractBorrowingLoadTest.letters(i));
+            book.setAuthor("Load Author");
+            book.setAmount(copies);
+            book.setAmountOfBorrowedBooks(borrowed);
+            newBooks.add(book);
+        }
+        List<Book> savedBooks = bookRepository.saveAll(newBooks);
+
+        Queue<long[]> holdings = new ConcurrentLinkedQueue<>();
+        List<Borrowing> borrowings = new ArrayList<>();
+        for (int i = 0; i < held; i++) {
+            Borrowing borrowing = new Borrowing();
+            borrowing.setUser(savedUsers.get(i / borrowingLimit));
+            borrowing.setBook(savedBooks.get(i % books));
+            borrowings.add(borrowing);
+        }
+        // returns of the same user in quick succession would mostly measure optimistic lock conflicts
+        Collections.shuffle(borrowings, new Random(workload.ordinal()));
+        for (Borrowing borrowing : borrowingRepository.saveAll(borrowings)) {
+            holdings.add(new long[]{borrowing.getUser().getId(), borrowing.getBook().getId()});
+        }
+        return new Dataset(savedUsers.stream().map(User::getId).toList(),
+                savedBooks.stream().map(Book::getId).toList(), holdings);
+    }
+
+    /**
+     * Requests issued by the workloads, named after the endpoint they call.
+     */
+    enum Operation {
+        READ_BOOK("GET", "/book/{id}", 200),
+        READ_AVAILABILITY("GET", "/book/{id}/availability", 200),
+        READ_USER("GET", "/user/{id}", 200),
+        BORROWED_TITLES("GET", "/borrowing/titles/distinct", 200),
+        BORROWED_STATISTIC("GET", "/borrowing/statistic", 200),
+        BORROW("POST", "/borrowing/user/{user_id}/book/{book_id}", 201),
+        RETURN("DELETE", "/borrowing/return/user/{user_id}/book/{book_id}", 200);
+
+        private final String method;
+        private final String template;
+        private final int expectedStatus;
+
+        Operation(String method, String template, int expectedStatus) {
+            this.method = method;
+            this.template = template;
+            this.expectedStatus = expectedStatus;
+        }
+
+        @Override
+        public String toString() {
+            return method + " " + template;
+        }
+    }
+
+    /**
+     * Weighted mixes of operations; every arrival picks one operation with probability
+     * proportional to its weight.
+     */
+    enum Workload {
+        BROWSE(new Operation[]{Operation.READ_BOOK, Operation.READ_AVAILABILITY, Operation.READ_USER,
+                Operation.BORROWED_TITLES, Operation.BORROWED_STATISTIC}, new int[]{55, 25, 10, 5, 5}),
+        CHECKOUT(new Operation[]{Operation.BORROW, Operation.READ_BOOK, Operation.READ_AVAILABILITY},
+                new int[]{80, 15, 5}),
+        RETURN(new Operation[]{Operation.RETURN, Operation.READ_BOOK, Operation.READ_USER},
+                new int[]{80, 10, 10});
+
+        private final Operation[] operations;
+        private final int[] weights;
+        private final int totalWeight;
+
+        Workload(Operation[] operations, int[] weights) {
+            this.operations = operations;
+            this.weights = weights;
+            this.totalWeight = Arrays.stream(weights).sum();
+        }
+
+        private Operation next(SplittableRandom random) {
+            int pick = random.nextInt(totalWeight);
+            for (int i = 0; i < operations.length; i++) {
+                pick -= weights[i];
+                if (pick < 0) {
+                    return operations[i];
+                }
+            }
+            throw new IllegalStateException();
+        }
+
+        private double share(Operation operation) {
+            for (int i = 0; i < operations.length; i++) {
+                if (operations[i] == operation) {
+                    return weights[i] / (double) totalWeight;
+                }
+            }
+            return 0.0;
+        }
+    }
+
+    /**
+     * Users, books and outstanding borrowings of one run.
+     */
+    private static final class Dataset {
+        private final List<Long> userIds;
+        private final List<Long> bookIds;
+        private final Queue<long[]> holdings;
+
+        private Dataset(List<Long> userIds, List<Long> bookIds, Queue<long[]> holdings) {
+            this.userIds = userIds;
+            this.bookIds = bookIds;
+            this.holdings = holdings;
+        }
+
+        /**
+         * Builds the request path of an operation for random users and books, or returns null
+         * when a return is due but every borrowed book has already been returned.
+         */
+        private String path(Operation operation, SplittableRandom random) {
+            long userId = userIds.get(random.nextInt(userIds.size()));
+            long bookId = bookIds.get(random.nextInt(bookIds.size()));
+            if (operation == Operation.RETURN) {
+                long[] holding = holdings.poll();
+                if (holding == null) {
+                    return null;
+                }
+                userId = holding[0];
+                bookId = holding[1];
+            }
+            return operation.template
+                    .replace("{id}", String.valueOf(operation == Operation.READ_USER ? userId : bookId))
+                    .replace("{user_id}", String.valueOf(userId))
+                    .replace("{book_id}", String.valueOf(bookId));
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package org.example.backend.load;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.backend.model.Book;
+import org.example.backend.model.User;
+import org.example.backend.repository.BookRepository;
+import org.example.backend.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load test of the servlet borrowing endpoints.
+ * Run it once per request execution mode to compare platform and virtual Tomcat threads:
+ * <pre>
+ * mvn test -Pload -Dtest=BorrowingLoadTest
+ * mvn test -Pload -Dtest=BorrowingLoadTest -Dload.virtual-threads=true   (Java 21+)
+ * </pre>
+ * By default the app runs against an in-memory H2 database; pass {@code load.datasource.*}
+ * properties to run it against a local PostgreSQL instead. To measure how long requests wait for a
+ * pooled connection when every client borrows the same book, with and without the in-process book lock:
+ * <pre>
+ * mvn test -Pload -Dtest=BorrowingLoadTest -Dload.clients=500 -Dload.books=1
+ * mvn test -Pload -Dtest=BorrowingLoadTest -Dload.clients=500 -Dload.books=1 -Dload.book-lock=false
+ * </pre>
+ * To compare database commits per second with borrows per second, with and without group commit:
+ * <pre>
+ * mvn test -Pload -Dtest=BorrowingLoadTest -Dload.clients=2000
+ * mvn test -Pload -Dtest=BorrowingLoadTest -Dload.clients=2000 -Dload.batch=true
+ * </pre>
+ * To compare admitted-request latency with and without the adaptive concurrency limit while the
+ * database is slow ({@code load.commit-delay-ms} holds the connection for that long on every commit):
+ * <pre>
+ * mvn test -Pload -Dtest=BorrowingLoadTest -Dload.clients=200 -Dload.books=200 -Dload.commit-delay-ms=100
+ * mvn test -Pload -Dtest=BorrowingLoadTest -Dload.clients=200 -Dload.books=200 -Dload.commit-delay-ms=100 -Dload.limit=false
+ * </pre>
+ * Every client loops on its own user as fast as it can, so the per-user rate limit is off unless
+ * {@code load.rate-limit=true} is passed.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=${load.virtual-threads:false}",
+        "borrowing.lock.enabled=${load.book-lock:true}",
+        "borrowing.batch.enabled=${load.batch:false}",
+        "concurrency.limit.enabled=${load.limit:true}",
+        "rate-limit.enabled=${load.rate-limit:false}",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.datasource.url=${load.datasource.url:jdbc:h2:mem:load;DB_CLOSE_DELAY=-1}",
+        "spring.datasource.driver-class-name=${load.datasource.driver:org.h2.Driver}",
+        "spring.datasource.username=${load.datasource.username:sa}",
+        "spring.datasource.password=${load.datasource.password:}",
+        "spring.jpa.database=DEFAULT",
+        "spring.jpa.database-platform=${load.datasource.dialect:org.hibernate.dialect.H2Dialect}",
+        "spring.jpa.hibernate.ddl-auto=${load.datasource.ddl-auto:create-drop}",
+        "spring.jpa.show-sql=false",
+        "server.tomcat.accept-count=4096"
+})
+class BorrowingLoadTest extends AbstractBorrowingLoadTest {
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${spring.threads.virtual.enabled}")
+    private boolean virtualThreads;
+
+    @Value("${borrowing.lock.enabled}")
+    private boolean bookLock;
+
+    @Value("${borrowing.batch.enabled}")
+    private boolean batch;
+
+    @Value("${concurrency.limit.enabled}")
+    private boolean limit;
+
+    private long acquireCount;
+    private double acquireMillis;
+    private long commitCount;
+    private double batchCommitCount;
+    private double batchedBorrowCount;
+
+    @Override
+    String mode() {
+        return (virtualThreads ? "virtual" : "platform") + (bookLock ? "" : "-nolock") + (batch ? "-batch" : "") + (limit ? "" : "-nolimit");
+    }
+
+    @Override
+    void beforeMeasurement() {
+        Timer acquire = meterRegistry.get("hikaricp.connections.acquire").timer();
+        acquireCount = acquire.count();
+        acquireMillis = acquire.totalTime(TimeUnit.MILLISECONDS);
+        commitCount = statistics().getSuccessfulTransactionCount();
+        if (batch) {
+            batchCommitCount = meterRegistry.get("borrowing.batch.commits").counter().count();
+            batchedBorrowCount = meterRegistry.get("borrowing.batch.size").summary().totalAmount();
+        }
+    }
+
+    @Override
+    String measurementReport() {
+        Timer acquire = meterRegistry.get("hikaricp.connections.acquire").timer();
+        long count = acquire.count() - acquireCount;
+        double millis = acquire.totalTime(TimeUnit.MILLISECONDS) - acquireMillis;
+        long commits = statistics().getSuccessfulTransactionCount() - commitCount;
+        String report = String.format("pool acquire: %d acquisitions, mean wait %.2f ms, total wait %.1f s%n"
+                        + "commits: %.1f/s (borrows and returns)%n",
+                count, count == 0 ? 0.0 : millis / count, millis / 1000, commits / (double) durationSeconds);
+        if (batch) {
+            double batchCommits = meterRegistry.get("borrowing.batch.commits").counter().count() - batchCommitCount;
+            double batchedBorrows = meterRegistry.get("borrowing.batch.size").summary().totalAmount() - batchedBorrowCount;
+            report += String.format("batch commits: %.1f/s for %.1f borrows/s (mean batch size %.1f)%n",
+                    batchCommits / durationSeconds, batchedBorrows / durationSeconds,
+                    batchCommits == 0 ? 0.0 : batchedBorrows / batchCommits);
+        }
+        if (limit) {
+            report += String.format("concurrency limit: borrow %.0f, return %.0f%n",
+                    meterRegistry.get("concurrency.limit").tag("endpoint", "borrowing.borrow").gauge().value(),
+                    meterRegistry.get("concurrency.limit").tag("endpoint", "borrowing.return").gauge().value());
+        }
+        return report;
+    }
+
+    /**
+     * Delays every commit by {@code load.commit-delay-ms} while the connection is held, to emulate a
+     * database that has slowed down.
+     */
+    @TestConfiguration
+    static class SlowCommitConfiguration {
+        @Bean
+        static BeanPostProcessor slowCommitPostProcessor(@Value("${load.commit-delay-ms:0}") long delayMs) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (delayMs <= 0 || !"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return slowCommits(super.getConnection(), delayMs);
+                        }
+                    };
+                }
+            };
+        }
+
+        private static Connection slowCommits(Connection connection, long delayMs) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("commit")) {
+                            Thread.sleep(delayMs);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    List<Long> createUsers(int clients) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            User user = new User();
+            user.setName("Load" + clients + "u" + i);
+            user.setNumberOfBorrowedBooks(0);
+            users.add(user);
+        }
+        return userRepository.saveAll(users).stream().map(User::getId).toList();
+    }
+
+    @Override
+    List<Long> createBooks(int clients) {
+        List<Book> created = new ArrayList<>();
+        for (int i = 0; i < books; i++) {
+            Book book = new Book();
+            book.setTitle("Load" + letters(clients) + letters(i));
+            book.setAuthor("Load Author");
+            book.setAmount(clients);
+            book.setAmountOfBorrowedBooks(0);
+            created.add(book);
+        }
+        return bookRepository.saveAll(created).stream().map(Book::getId).toList();
+    }
+}
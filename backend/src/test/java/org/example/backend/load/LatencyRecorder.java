@@ -0,0 +1,84 @@
+package org.example.backend.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe collector of request latencies and errors for one endpoint during a load run.
+ * Latencies go into an HdrHistogram with three significant digits, so percentiles up to p99.9
+ * stay accurate without keeping every sample.
+ */
+class LatencyRecorder {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final String endpoint;
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    LatencyRecorder(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void record(long latencyNanos, boolean success) {
+        if (!success) {
+            errors.increment();
+            return;
+        }
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    void reject() {
+        rejected.increment();
+    }
+
+    /**
+     * Formats throughput, latency percentiles, error rate and rejection count of the recorded requests.
+     *
+     * @param seconds length of the measured interval
+     * @return one report line
+     */
+    String report(double seconds) {
+        return report(seconds, 10);
+    }
+
+    /**
+     * Formats the report line with the endpoint name padded to the given width.
+     *
+     * @param seconds length of the measured interval
+     * @param nameWidth width of the endpoint name column
+     * @return one report line
+     */
+    String report(double seconds, int nameWidth) {
+        long count = latencies.getTotalCount();
+        long failed = errors.sum();
+        long total = count + failed;
+        return String.format("%-" + nameWidth + "s %10.1f req/s  p50 %8.2f ms  p99 %8.2f ms  p999 %8.2f ms  max %8.2f ms  errors %d (%.2f%%)  rejected %d",
+                endpoint, count / seconds, millis(50.0), millis(99.0), millis(99.9),
+                latencies.getMaxValue() / 1000.0, failed, total == 0 ? 0.0 : 100.0 * failed / total, rejected.sum());
+    }
+
+    /**
+     * Writes the full percentile distribution in milliseconds, in the HdrHistogram text format
+     * that the HdrHistogram plotter reads.
+     *
+     * @param file target file
+     * @throws IOException if the file cannot be written
+     */
+    void writeDistribution(Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            latencies.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private double millis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.backend.load;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.metrics.Measured;
+import org.example.backend.metrics.MeasuredAspect;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the cost {@link MeasuredAspect} adds to a service call, with several threads calling a
+ * method directly, through a plain AOP proxy, and through a proxy that records a Prometheus timer
+ * with a percentile histogram, as configured for the borrowing service.
+ * <pre>
+ * mvn test -Pload -Dtest=MetricsOverheadTest
+ * </pre>
+ */
+@Slf4j
+@Tag("load")
+class MetricsOverheadTest {
+    private static final int THREADS = 8;
+    private static final int CALLS_PER_THREAD = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    @Test
+    void measureOverhead() throws Exception {
+        Service plain = new Service();
+        Service proxied = proxy(null);
+        Service measured = proxy(histogramRegistry());
+        double plainNanos = Double.MAX_VALUE;
+        double proxiedNanos = Double.MAX_VALUE;
+        double measuredNanos = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            plainNanos = Math.min(plainNanos, run(plain));
+            proxiedNanos = Math.min(proxiedNanos, run(proxied));
+            measuredNanos = Math.min(measuredNanos, run(measured));
+        }
+
+        String report = String.format("threads=%d calls=%d cpus=%d%n"
+                        + "direct call              %8.1f ns/call%n"
+                        + "AOP proxy                %8.1f ns/call (+%.1f)%n"
+                        + "proxy + timer/histogram  %8.1f ns/call (+%.1f over proxy)%n",
+                THREADS, THREADS * CALLS_PER_THREAD, Runtime.getRuntime().availableProcessors(),
+                plainNanos, proxiedNanos, proxiedNanos - plainNanos, measuredNanos, measuredNanos - proxiedNanos);
+        log.info("Metrics overhead:\n{}", report);
+        Path reportDir = Files.createDirectories(Path.of("target", "load-reports"));
+        Files.writeString(reportDir.resolve("metrics-overhead.txt"), report);
+    }
+
+    /**
+     * Runs all threads and returns the wall-clock time per call; the best of several rounds is reported.
+     */
+    private static double run(Service service) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        AtomicLong sink = new AtomicLong();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    long sum = 0;
+                    for (long i = 0; i < CALLS_PER_THREAD; i++) {
+                        sum += service.borrow(i, 1L);
+                    }
+                    sink.addAndGet(sum);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        return (System.nanoTime() - begin) / (double) (THREADS * CALLS_PER_THREAD);
+    }
+
+    private static PrometheusMeterRegistry histogramRegistry() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+        return registry;
+    }
+
+    /**
+     * Proxies a new service; with a registry the proxy carries {@link MeasuredAspect}, without one
+     * it has no advice and measures the proxy alone.
+     */
+    private static Service proxy(PrometheusMeterRegistry registry) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Service());
+        factory.setProxyTargetClass(true);
+        if (registry != null) factory.addAspect(new MeasuredAspect(registry));
+        return factory.getProxy();
+    }
+
+    static class Service {
+        @Measured("overhead.borrow")
+        public long borrow(long userId, long bookId) {
+            return userId + bookId;
+        }
+    }
+}
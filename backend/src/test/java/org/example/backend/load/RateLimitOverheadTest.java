@@ -0,0 +1,107 @@
+package org.example.backend.load;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.concurrency.RateLimitAspect;
+import org.example.backend.concurrency.RateLimited;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Measures the cost the per-user rate limiter adds to an admitted call, with 64 threads calling
+ * an endpoint directly and through an AOP proxy with {@link RateLimitAspect}; the difference includes
+ * the proxy itself. Keys are either spread over many users or all the same user, which makes every
+ * thread CAS the same bucket.
+ * <pre>
+ * mvn test -Pload -Dtest=RateLimitOverheadTest
+ * </pre>
+ */
+@Slf4j
+@Tag("load")
+class RateLimitOverheadTest {
+    private static final int THREADS = 64;
+    private static final int CALLS_PER_THREAD = 200_000;
+    private static final int USERS = 10_000;
+    private static final int ROUNDS = 5;
+
+    @Test
+    void measureOverhead() throws Exception {
+        Endpoint plain = new Endpoint();
+        Endpoint limited = limitedProxy();
+        double plainNanos = Double.MAX_VALUE;
+        double spreadNanos = Double.MAX_VALUE;
+        double hotNanos = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            plainNanos = Math.min(plainNanos, run(plain, i -> i % USERS));
+            spreadNanos = Math.min(spreadNanos, run(limited, i -> i % USERS));
+            hotNanos = Math.min(hotNanos, run(limited, i -> 1L));
+        }
+
+        String report = String.format("threads=%d calls=%d cpus=%d%n"
+                        + "direct call              %8.1f ns/call%n"
+                        + "limiter, %d users     %8.1f ns/call (+%.1f)%n"
+                        + "limiter, one hot user    %8.1f ns/call (+%.1f)%n",
+                THREADS, THREADS * CALLS_PER_THREAD, Runtime.getRuntime().availableProcessors(),
+                plainNanos, USERS, spreadNanos, spreadNanos - plainNanos, hotNanos, hotNanos - plainNanos);
+        log.info("Rate limit overhead:\n{}", report);
+        Path reportDir = Files.createDirectories(Path.of("target", "load-reports"));
+        Files.writeString(reportDir.resolve("rate-limit-overhead.txt"), report);
+    }
+
+    /**
+     * Runs all threads and returns the wall-clock time per call, i.e. the inverse of the throughput.
+     * The best of several rounds is reported, so JIT warm-up and scheduler noise do not favour either proxy.
+     */
+    private static double run(Endpoint endpoint, LongUnaryOperator userOfCall) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        AtomicLong sink = new AtomicLong();
+        for (int t = 0; t < THREADS; t++) {
+            long offset = (long) t * CALLS_PER_THREAD;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    long sum = 0;
+                    for (long i = offset; i < offset + CALLS_PER_THREAD; i++) {
+                        sum += endpoint.borrow(userOfCall.applyAsLong(i), 1L);
+                    }
+                    sink.addAndGet(sum);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        return (System.nanoTime() - begin) / (double) (THREADS * CALLS_PER_THREAD);
+    }
+
+    private static Endpoint limitedProxy() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("rate-limit.default.permits-per-second", "1000000000")
+                .withProperty("rate-limit.default.burst", "1000000");
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Endpoint());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new RateLimitAspect(environment, new SimpleMeterRegistry(), USERS * 2));
+        return factory.getProxy();
+    }
+
+    static class Endpoint {
+        @RateLimited("overhead.borrow")
+        public long borrow(Long user_id, Long book_id) {
+            return user_id + book_id;
+        }
+    }
+}
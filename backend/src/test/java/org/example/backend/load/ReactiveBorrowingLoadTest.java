@@ -0,0 +1,71 @@
+package org.example.backend.load;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Closed-loop load test of the reactive borrowing endpoints, with the same workload as
+ * {@link BorrowingLoadTest}:
+ * <pre>
+ * mvn test -Pload -Dtest=ReactiveBorrowingLoadTest
+ * </pre>
+ * By default the app runs against an in-memory H2 database; pass {@code load.r2dbc.*}
+ * properties to run it against a local PostgreSQL instead.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.r2dbc.url=${load.r2dbc.url:r2dbc:h2:mem:///load?options=DB_CLOSE_DELAY=-1}",
+        "spring.r2dbc.username=${load.r2dbc.username:sa}",
+        "spring.r2dbc.password=${load.r2dbc.password:}"
+})
+@ActiveProfiles("reactive")
+class ReactiveBorrowingLoadTest extends AbstractBorrowingLoadTest {
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void createSchema() {
+        new ResourceDatabasePopulator(new ClassPathResource("r2dbc/schema.sql")).populate(connectionFactory).block();
+    }
+
+    @Override
+    String mode() {
+        return "reactive";
+    }
+
+    @Override
+    List<Long> createUsers(int clients) {
+        return Flux.range(0, clients)
+                .concatMap(i -> databaseClient.sql("INSERT INTO users (name, membership_date, number_of_borrowed_books) VALUES (:name, CURRENT_DATE, 0)")
+                        .bind("name", "Load" + clients + "u" + i)
+                        .filter(statement -> statement.returnGeneratedValues("id"))
+                        .map(row -> row.get("id", Long.class))
+                        .one())
+                .collectList()
+                .block();
+    }
+
+    @Override
+    List<Long> createBooks(int clients) {
+        return Flux.range(0, books)
+                .concatMap(i -> databaseClient.sql("INSERT INTO books (title, author, amount, amount_of_borrowed_books) VALUES (:title, 'Load Author', :amount, 0)")
+                        .bind("title", "Load" + letters(clients) + letters(i))
+                        .bind("amount", clients)
+                        .filter(statement -> statement.returnGeneratedValues("id"))
+                        .map(row -> row.get("id", Long.class))
+                        .one())
+                .collectList()
+                .block();
+    }
+}
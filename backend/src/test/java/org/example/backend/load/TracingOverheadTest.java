@@ -0,0 +1,110 @@
+package org.example.backend.load;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.tracing.Traced;
+import org.example.backend.tracing.TracingAspect;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the cost {@link TracingAspect} adds to a traced call when sampling is off: several
+ * threads call a method through a plain AOP proxy and through a proxy carrying the aspect, each
+ * inside an unsampled request span, as the server observation leaves it for an unsampled request.
+ * <pre>
+ * mvn test -Pload -Dtest=TracingOverheadTest
+ * </pre>
+ */
+@Slf4j
+@Tag("load")
+class TracingOverheadTest {
+    private static final int THREADS = 8;
+    private static final int CALLS_PER_THREAD = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    @Test
+    void measureOverhead() throws Exception {
+        try (SdkTracerProvider tracerProvider = SdkTracerProvider.builder().setSampler(Sampler.alwaysOff()).build()) {
+            Tracer tracer = new OtelTracer(tracerProvider.get("overhead"), new OtelCurrentTraceContext(), event -> { });
+            Service proxied = proxy(null);
+            Service traced = proxy(tracer);
+            double proxiedNanos = Double.MAX_VALUE;
+            double tracedNanos = Double.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                proxiedNanos = Math.min(proxiedNanos, run(proxied, tracer));
+                tracedNanos = Math.min(tracedNanos, run(traced, tracer));
+            }
+
+            String report = String.format("threads=%d calls=%d cpus=%d%n"
+                            + "AOP proxy                  %8.1f ns/call%n"
+                            + "proxy + unsampled tracing  %8.1f ns/call (+%.1f over proxy)%n",
+                    THREADS, THREADS * CALLS_PER_THREAD, Runtime.getRuntime().availableProcessors(),
+                    proxiedNanos, tracedNanos, tracedNanos - proxiedNanos);
+            log.info("Tracing overhead:\n{}", report);
+            Path reportDir = Files.createDirectories(Path.of("target", "load-reports"));
+            Files.writeString(reportDir.resolve("tracing-overhead.txt"), report);
+        }
+    }
+
+    /**
+     * Runs all threads, each inside its own unsampled span, and returns the wall-clock time per
+     * call; the best of several rounds is reported.
+     */
+    private static double run(Service service, Tracer tracer) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        AtomicLong sink = new AtomicLong();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                Span request = tracer.nextSpan().name("request").start();
+                try (Tracer.SpanInScope scope = tracer.withSpan(request)) {
+                    start.await();
+                    long sum = 0;
+                    for (long i = 0; i < CALLS_PER_THREAD; i++) {
+                        sum += service.lookup(i);
+                    }
+                    sink.addAndGet(sum);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    request.end();
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        return (System.nanoTime() - begin) / (double) (THREADS * CALLS_PER_THREAD);
+    }
+
+    /**
+     * Proxies a new service; with a tracer the proxy carries {@link TracingAspect}, without one
+     * it has no advice and measures the proxy alone.
+     */
+    private static Service proxy(Tracer tracer) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Service());
+        factory.setProxyTargetClass(true);
+        if (tracer != null) factory.addAspect(new TracingAspect(tracer));
+        return factory.getProxy();
+    }
+
+    static class Service {
+        @Traced("cache overhead")
+        public long lookup(long key) {
+            return key + 1;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.backend.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.concurrency.OptimisticRetry;
+import org.example.backend.concurrency.OptimisticRetryAspect;
+import org.example.backend.model.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeasuredAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MeasuredService target;
+    private MeasuredService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        OptimisticRetryAspect retryAspect = new OptimisticRetryAspect(meterRegistry, 100);
+        ReflectionTestUtils.setField(retryAspect, "maxAttempts", 3);
+        ReflectionTestUtils.setField(retryAspect, "initialBackoffMs", 1L);
+        ReflectionTestUtils.setField(retryAspect, "maxBackoffMs", 2L);
+
+        target = new MeasuredService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(retryAspect);
+        factory.addAspect(new MeasuredAspect(meterRegistry));
+        service = factory.getProxy();
+    }
+
+    @Test
+    void measure_success_recordsTimerWithoutException() {
+        assertEquals("done", service.borrow());
+        assertEquals("done", service.borrow());
+
+        Timer timer = meterRegistry.get("test.borrow").tag("exception", "none").timer();
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void measure_failure_recordsExceptionAndRethrows() {
+        target.failure = new IllegalStateException("broken");
+
+        assertThrows(IllegalStateException.class, () -> service.borrow());
+        assertEquals(1, meterRegistry.get("test.borrow").tag("exception", "IllegalStateException").timer().count());
+        assertTrue(meterRegistry.find("test.borrow").tag("exception", "none").timers().isEmpty());
+    }
+
+    @Test
+    void measure_wrapsRetries_recordsOneCall() {
+        target.conflicts = 2;
+
+        assertEquals("done", service.borrow());
+        assertEquals(3, target.calls);
+        assertEquals(1, meterRegistry.get("test.borrow").timer().count());
+    }
+
+    static class MeasuredService {
+        int conflicts;
+        int calls;
+        RuntimeException failure;
+
+        @Measured("test.borrow")
+        @OptimisticRetry
+        public String borrow() {
+            calls++;
+            if (failure != null) throw failure;
+            if (conflicts-- > 0) throw new ObjectOptimisticLockingFailureException(Book.class, 7L);
+            return "done";
+        }
+    }
+}
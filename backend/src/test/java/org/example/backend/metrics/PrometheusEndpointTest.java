@@ -0,0 +1,82 @@
+package org.example.backend.metrics;
+
+import org.example.backend.model.Book;
+import org.example.backend.model.User;
+import org.example.backend.repository.BookRepository;
+import org.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Calls a few endpoints and checks that the Prometheus scrape carries the endpoint and service
+ * histograms, the rejection counters, and the pool and Hibernate metrics.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:prometheus;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database=DEFAULT",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "management.server.port=${server.port}"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void scrape_containsEndpointServicePoolAndHibernateMetrics() throws Exception {
+        Book book = new Book();
+        book.setTitle("Scraped");
+        book.setAuthor("Metric Author");
+        book.setAmount(1);
+        book.setAmountOfBorrowedBooks(0);
+        Long bookId = bookRepository.save(book).getId();
+        User user = new User();
+        user.setName("Scraper");
+        user.setNumberOfBorrowedBooks(0);
+        Long userId = userRepository.save(user).getId();
+
+        mockMvc.perform(get("/book/{id}", bookId)).andExpect(status().isOk());
+        mockMvc.perform(post("/borrowing/user/{user_id}/book/{book_id}", userId, bookId)).andExpect(status().isCreated());
+        mockMvc.perform(post("/borrowing/user/{user_id}/book/{book_id}", userId, bookId)).andExpect(status().isNotFound());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertContains(scrape, "http_server_requests_seconds_bucket{", "uri=\"/book/{id}\"");
+        assertContains(scrape, "http_server_requests_seconds_bucket{", "uri=\"/borrowing/user/{user_id}/book/{book_id}\"");
+        assertContains(scrape, "borrowing_borrow_seconds_bucket{", "exception=\"none\"");
+        assertContains(scrape, "borrowing_borrow_seconds_count{", "exception=\"EntityNotFoundException\"");
+        assertContains(scrape, "borrowing_rejected_total{", "reason=\"unavailable\"");
+        assertContains(scrape, "hikaricp_connections_acquire_seconds_bucket{", "pool=\"primary\"");
+        assertContains(scrape, "hibernate_sessions_open_total{", "");
+        assertContains(scrape, "hibernate_statements_total{", "");
+    }
+
+    private static void assertContains(String scrape, String metric, String tag) {
+        assertTrue(scrape.lines().anyMatch(line -> line.startsWith(metric) && line.contains(tag)),
+                () -> "missing " + metric + tag);
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.backend.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.model.OutboxEvent;
+import org.example.backend.model.OutboxEventType;
+import org.example.backend.repository.OutboxEventRepository;
+import org.example.backend.repository.OutboxRelayLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxRelayLeaseRepository leaseRepository;
+
+    @Mock
+    private OutboxSink sink;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(outboxEventRepository, leaseRepository, sink, meterRegistry);
+        ReflectionTestUtils.setField(relay, "batchSize", 2);
+        ReflectionTestUtils.setField(relay, "leaseMs", 30000L);
+        when(leaseRepository.acquire(anyString(), anyString(), any(Instant.class), any(Instant.class))).thenReturn(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relay_publishesBatchesInOrderAndMarksThem() throws Exception {
+        when(outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(events(1, 2), events(3));
+
+        relay.relay();
+
+        ArgumentCaptor<List<OutboxMessage>> batches = ArgumentCaptor.forClass(List.class);
+        verify(sink, times(2)).publish(batches.capture());
+        assertEquals(List.of(1L, 2L, 3L), batches.getAllValues().stream()
+                .flatMap(List::stream)
+                .map(OutboxMessage::getId)
+                .toList());
+        verify(outboxEventRepository).markPublished(eq(List.of(1L, 2L)), any(Instant.class));
+        verify(outboxEventRepository).markPublished(eq(List.of(3L)), any(Instant.class));
+        assertEquals(3.0, meterRegistry.counter("outbox.published").count());
+    }
+
+    @Test
+    void relay_sinkFailure_leavesEventsPending() throws Exception {
+        when(outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(any(Pageable.class))).thenReturn(events(1, 2));
+        doThrow(new IllegalStateException("sink down")).when(sink).publish(anyList());
+        when(outboxEventRepository.countByPublishedAtIsNull()).thenReturn(2L);
+
+        assertDoesNotThrow(() -> relay.relay());
+
+        verify(outboxEventRepository, never()).markPublished(anyList(), any(Instant.class));
+        assertEquals(1.0, meterRegistry.counter("outbox.failures").count());
+        assertEquals(2.0, meterRegistry.get("outbox.pending").gauge().value());
+    }
+
+    @Test
+    void relay_noEvents_doesNotCallSink() throws Exception {
+        when(outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(any(Pageable.class))).thenReturn(List.of());
+
+        relay.relay();
+
+        verify(sink, never()).publish(anyList());
+    }
+
+    @Test
+    void relay_leaseHeldByAnotherInstance_doesNotPublish() throws Exception {
+        when(leaseRepository.acquire(anyString(), anyString(), any(Instant.class), any(Instant.class))).thenReturn(0);
+        when(leaseRepository.existsById("outbox-relay")).thenReturn(true);
+
+        relay.relay();
+
+        verify(outboxEventRepository, never()).findByPublishedAtIsNullOrderByIdAsc(any(Pageable.class));
+        verify(sink, never()).publish(anyList());
+    }
+
+    @Test
+    void relay_noLease_createsItAndPublishes() throws Exception {
+        when(leaseRepository.acquire(anyString(), anyString(), any(Instant.class), any(Instant.class))).thenReturn(0);
+        when(leaseRepository.existsById("outbox-relay")).thenReturn(false);
+        when(leaseRepository.create(eq("outbox-relay"), anyString(), any(Instant.class))).thenReturn(1);
+        when(outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(any(Pageable.class))).thenReturn(events(1));
+
+        relay.relay();
+
+        verify(sink).publish(anyList());
+    }
+
+    @Test
+    void relay_leaseCreatedConcurrently_doesNotPublish() throws Exception {
+        when(leaseRepository.acquire(anyString(), anyString(), any(Instant.class), any(Instant.class))).thenReturn(0);
+        when(leaseRepository.existsById("outbox-relay")).thenReturn(false);
+        when(leaseRepository.create(eq("outbox-relay"), anyString(), any(Instant.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        relay.relay();
+
+        verify(sink, never()).publish(anyList());
+    }
+
+    private static List<OutboxEvent> events(long... ids) {
+        return LongStream.of(ids).mapToObj(id -> {
+            OutboxEvent event = new OutboxEvent();
+            event.setId(id);
+            event.setAggregateType("book");
+            event.setAggregateId(1L);
+            event.setEventType(OutboxEventType.BOOK_BORROWED);
+            event.setPayload("{\"book_id\":1}");
+            event.setCreatedAt(Instant.now());
+            return event;
+        }).toList();
+    }
+}
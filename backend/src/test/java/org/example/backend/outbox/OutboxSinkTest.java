@@ -0,0 +1,108 @@
+package org.example.backend.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.example.backend.model.OutboxEvent;
+import org.example.backend.model.OutboxEventType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxSinkTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void fileSink_appendsOneLinePerMessage() throws Exception {
+        Path file = tempDir.resolve("events/out.jsonl");
+        FileOutboxSink sink = new FileOutboxSink(objectMapper, file);
+
+        sink.publish(List.of(message(1L), message(2L)));
+        sink.publish(List.of(message(3L)));
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        assertEquals(3L, objectMapper.readTree(lines.get(2)).get("id").asLong());
+        assertEquals(1L, objectMapper.readTree(lines.get(0)).get("payload").get("book_id").asLong());
+    }
+
+    @Test
+    void memorySink_rejectsBatchWhenFull() {
+        InMemoryOutboxSink sink = new InMemoryOutboxSink(2);
+
+        sink.publish(List.of(message(1L)));
+        assertThrows(IllegalStateException.class, () -> sink.publish(List.of(message(2L), message(3L))));
+
+        assertEquals(1, sink.drain().size());
+    }
+
+    @Test
+    void httpSink_postsBatchAsJsonArray() throws Exception {
+        List<String> bodies = new ArrayList<>();
+        HttpServer server = stub(204, bodies);
+        try {
+            HttpOutboxSink sink = new HttpOutboxSink(RestClient.builder(), url(server), 2000);
+
+            sink.publish(List.of(message(1L), message(2L)));
+
+            assertEquals(1, bodies.size());
+            assertEquals(2, objectMapper.readTree(bodies.get(0)).size());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void httpSink_errorStatus_throwsException() throws Exception {
+        HttpServer server = stub(503, new ArrayList<>());
+        try {
+            HttpOutboxSink sink = new HttpOutboxSink(RestClient.builder(), url(server), 2000);
+
+            assertThrows(RestClientException.class, () -> sink.publish(List.of(message(1L))));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static HttpServer stub(int status, List<String> bodies) throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/events", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                bodies.add(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+        return server;
+    }
+
+    private static String url(HttpServer server) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/events";
+    }
+
+    private static OutboxMessage message(Long id) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(id);
+        event.setAggregateType("book");
+        event.setAggregateId(1L);
+        event.setEventType(OutboxEventType.BOOK_BORROWED);
+        event.setPayload("{\"book_id\":1}");
+        event.setCreatedAt(Instant.now());
+        return new OutboxMessage(event);
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.backend.readmodel;
+
+import org.example.backend.dto.request.BookCreationRequest;
+import org.example.backend.model.Book;
+import org.example.backend.model.User;
+import org.example.backend.repository.BookRepository;
+import org.example.backend.repository.UserRepository;
+import org.example.backend.service.BookService;
+import org.example.backend.service.BorrowingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the read model follows changes made through the services.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@AutoConfigureTestDatabase
+class BookAvailabilityReadModelTest {
+
+    @Autowired
+    private BookAvailabilityReadModel readModel;
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void load_readsExistingBooks() {
+        Long bookId = createBook("Scanned", 4);
+
+        readModel.load();
+
+        assertTrue(readModel.isLoaded());
+        assertEquals(4, PackedAvailabilityMap.amount(readModel.get(bookId)));
+    }
+
+    @Test
+    void borrowAndReturn_updateCounters() {
+        Long bookId = createBook("Followed", 2);
+        Long userId = createUser("ReadModelUser");
+        readModel.load();
+
+        borrowingService.borrowBook(userId, bookId);
+        long packed = readModel.get(bookId);
+        assertEquals(1, PackedAvailabilityMap.amount(packed));
+        assertEquals(1, PackedAvailabilityMap.borrowed(packed));
+
+        borrowingService.returnBook(userId, bookId);
+        packed = readModel.get(bookId);
+        assertEquals(2, PackedAvailabilityMap.amount(packed));
+        assertEquals(0, PackedAvailabilityMap.borrowed(packed));
+    }
+
+    @Test
+    void createAndDelete_addAndRemoveBook() {
+        BookCreationRequest request = new BookCreationRequest();
+        request.setTitle("Created");
+        request.setAuthor("Model Author");
+        Long bookId = bookService.createBook(request).getId();
+        bookService.createBook(request);
+
+        assertEquals(2, PackedAvailabilityMap.amount(readModel.get(bookId)));
+
+        bookService.deleteBook(bookId);
+
+        assertEquals(PackedAvailabilityMap.MISSING, readModel.get(bookId));
+    }
+
+    private Long createBook(String title, int amount) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor("Model Author");
+        book.setAmount(amount);
+        book.setAmountOfBorrowedBooks(0);
+        return bookRepository.save(book).getId();
+    }
+
+    private Long createUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setNumberOfBorrowedBooks(0);
+        return userRepository.save(user).getId();
+    }
+}
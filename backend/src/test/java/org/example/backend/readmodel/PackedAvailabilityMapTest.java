@@ -0,0 +1,87 @@
+package org.example.backend.readmodel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedAvailabilityMapTest {
+
+    @Test
+    void pack_keepsBothCounters() {
+        long packed = PackedAvailabilityMap.pack(7, 3);
+        assertEquals(7, PackedAvailabilityMap.amount(packed));
+        assertEquals(3, PackedAvailabilityMap.borrowed(packed));
+    }
+
+    @Test
+    void get_unknownBook_returnsMissing() {
+        PackedAvailabilityMap map = new PackedAvailabilityMap(16);
+        assertEquals(PackedAvailabilityMap.MISSING, map.get(1L));
+        assertEquals(PackedAvailabilityMap.MISSING, map.get(0L));
+    }
+
+    @Test
+    void put_olderVersion_isIgnored() {
+        PackedAvailabilityMap map = new PackedAvailabilityMap(16);
+        assertTrue(map.put(1L, 3, 0, 5));
+        assertFalse(map.put(1L, 2, 1, 4));
+        assertFalse(map.put(1L, 2, 1, 5));
+
+        assertEquals(3, PackedAvailabilityMap.amount(map.get(1L)));
+    }
+
+    @Test
+    void remove_ignoresLaterPuts() {
+        PackedAvailabilityMap map = new PackedAvailabilityMap(16);
+        map.put(1L, 3, 0, 5);
+        map.remove(1L);
+
+        assertFalse(map.put(1L, 3, 0, 6));
+        assertEquals(PackedAvailabilityMap.MISSING, map.get(1L));
+    }
+
+    @Test
+    void put_pastCapacity_resizesAndKeepsEntries() {
+        PackedAvailabilityMap map = new PackedAvailabilityMap(4);
+        for (long id = 1; id <= 10_000; id++) {
+            map.put(id, (int) id, 0, 0);
+        }
+
+        assertEquals(10_000, map.size());
+        for (long id = 1; id <= 10_000; id++) {
+            assertEquals((int) id, PackedAvailabilityMap.amount(map.get(id)));
+        }
+        assertTrue(map.memoryBytes() <= 10_000L * 64);
+    }
+
+    @Test
+    void get_duringWritesAndResizes_seesConsistentCounters() throws Exception {
+        PackedAvailabilityMap map = new PackedAvailabilityMap(4);
+        int copies = 100;
+        map.put(1L, copies, 0, 0);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger torn = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                long packed = map.get(1L);
+                if (packed == PackedAvailabilityMap.MISSING
+                        || PackedAvailabilityMap.amount(packed) + PackedAvailabilityMap.borrowed(packed) != copies) {
+                    torn.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+        for (int version = 1; version <= 50_000; version++) {
+            int borrowed = version % (copies + 1);
+            map.put(1L, copies - borrowed, borrowed, version);
+            map.put(version + 1L, 1, 0, 0);
+        }
+        running.set(false);
+        reader.join();
+
+        assertEquals(0, torn.get());
+    }
+}
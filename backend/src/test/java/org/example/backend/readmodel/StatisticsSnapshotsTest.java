@@ -0,0 +1,127 @@
+package org.example.backend.readmodel;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.dto.response.BorrowedBooksStatisticResponse;
+import org.example.backend.dto.response.BorrowedTitlesResponse;
+import org.example.backend.exceptions.custom.ServiceOverloadedException;
+import org.example.backend.service.BorrowingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatisticsSnapshotsTest {
+
+    @Mock
+    private BorrowingService borrowingService;
+
+    private StatisticsSnapshots snapshots;
+
+    @BeforeEach
+    void setUp() {
+        snapshots = new StatisticsSnapshots(borrowingService, new ObjectMapper(), new SimpleMeterRegistry(), 60_000);
+    }
+
+    @Test
+    void statistics_noSnapshot_computesAndSerializes() {
+        when(borrowingService.getDistinctBorrowedBooksTitlesAndCounts())
+                .thenReturn(List.of(new BorrowedBooksStatisticResponse("Dune", 2L)));
+
+        StatisticsSnapshots.Snapshot snapshot = snapshots.statistics();
+
+        assertEquals("[{\"title\":\"Dune\",\"amount_of_borrowed_books\":2}]", new String(snapshot.getJson(), StandardCharsets.UTF_8));
+        assertEquals(0, snapshot.getLastModified().getNano());
+    }
+
+    @Test
+    void statistics_freshSnapshot_servedWithoutQuery() {
+        when(borrowingService.getDistinctBorrowedBooksTitlesAndCounts()).thenReturn(List.of());
+        snapshots.refresh();
+
+        StatisticsSnapshots.Snapshot first = snapshots.statistics();
+        StatisticsSnapshots.Snapshot second = snapshots.statistics();
+
+        assertSame(first, second);
+        verify(borrowingService, times(1)).getDistinctBorrowedBooksTitlesAndCounts();
+    }
+
+    @Test
+    void statistics_tooStale_recomputedByCaller() {
+        snapshots = new StatisticsSnapshots(borrowingService, new ObjectMapper(), new SimpleMeterRegistry(), 0);
+        when(borrowingService.getDistinctBorrowedBooksTitlesAndCounts()).thenReturn(List.of());
+        snapshots.statistics();
+
+        snapshots.statistics();
+
+        verify(borrowingService, times(2)).getDistinctBorrowedBooksTitlesAndCounts();
+    }
+
+    @Test
+    void refresh_unchangedResult_keepsLastModified() throws Exception {
+        when(borrowingService.getDistinctBorrowedBooksTitles()).thenReturn(List.of(new BorrowedTitlesResponse("Dune")));
+        snapshots.refresh();
+        StatisticsSnapshots.Snapshot first = snapshots.titles();
+        Thread.sleep(1100);
+
+        snapshots.refresh();
+        StatisticsSnapshots.Snapshot second = snapshots.titles();
+
+        assertNotSame(first, second);
+        assertEquals(first.getLastModified(), second.getLastModified());
+        assertTrue(second.getComputedAt().isAfter(first.getComputedAt()));
+    }
+
+    @Test
+    void refresh_changedResult_replacesSnapshot() {
+        when(borrowingService.getDistinctBorrowedBooksTitles())
+                .thenReturn(List.of(new BorrowedTitlesResponse("Dune")))
+                .thenReturn(List.of(new BorrowedTitlesResponse("Dune"), new BorrowedTitlesResponse("Emma")));
+        snapshots.refresh();
+
+        snapshots.refresh();
+
+        assertEquals("[{\"title\":\"Dune\"},{\"title\":\"Emma\"}]",
+                new String(snapshots.titles().getJson(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void refresh_changedWithinSameSecond_movesLastModifiedForward() {
+        when(borrowingService.getDistinctBorrowedBooksTitles())
+                .thenReturn(List.of(new BorrowedTitlesResponse("Dune")))
+                .thenReturn(List.of(new BorrowedTitlesResponse("Emma")))
+                .thenReturn(List.of(new BorrowedTitlesResponse("Dune")));
+        snapshots.refresh();
+        StatisticsSnapshots.Snapshot first = snapshots.titles();
+
+        snapshots.refresh();
+        StatisticsSnapshots.Snapshot second = snapshots.titles();
+        snapshots.refresh();
+        StatisticsSnapshots.Snapshot third = snapshots.titles();
+
+        assertTrue(second.getLastModified().isAfter(first.getLastModified()));
+        assertTrue(third.getLastModified().isAfter(second.getLastModified()));
+        assertEquals(0, third.getLastModified().getNano());
+    }
+
+    @Test
+    void refresh_queryFails_keepsPreviousSnapshot() {
+        when(borrowingService.getDistinctBorrowedBooksTitlesAndCounts())
+                .thenReturn(List.of(new BorrowedBooksStatisticResponse("Dune", 2L)))
+                .thenThrow(new ServiceOverloadedException("Reporting queue is full"));
+        snapshots.refresh();
+        StatisticsSnapshots.Snapshot before = snapshots.statistics();
+
+        assertDoesNotThrow(() -> snapshots.refresh());
+
+        assertSame(before, snapshots.statistics());
+    }
+}
@@ -33,4 +33,36 @@ class BookRepositoryTest {
         Book found = bookRepository.findByTitleAndAuthor("Nonexistent", "Nobody");
         assertThat(found).isNull();
     }
+
+    @Test
+    void deleteByIdIfNotBorrowed_deletesBook_whenNoCopiesBorrowed() {
+        Book book = createAndSaveBook(0);
+
+        int deleted = bookRepository.deleteByIdIfNotBorrowed(book.getId());
+        assertThat(deleted).isEqualTo(1);
+        assertThat(bookRepository.existsById(book.getId())).isFalse();
+    }
+
+    @Test
+    void deleteByIdIfNotBorrowed_keepsBook_whenCopiesBorrowed() {
+        Book book = createAndSaveBook(1);
+
+        int deleted = bookRepository.deleteByIdIfNotBorrowed(book.getId());
+        assertThat(deleted).isZero();
+        assertThat(bookRepository.existsById(book.getId())).isTrue();
+    }
+
+    @Test
+    void deleteByIdIfNotBorrowed_returnsZero_whenNotExists() {
+        assertThat(bookRepository.deleteByIdIfNotBorrowed(999L)).isZero();
+    }
+
+    private Book createAndSaveBook(int amountOfBorrowedBooks) {
+        Book book = new Book();
+        book.setTitle("TestTitle");
+        book.setAuthor("Test Author");
+        book.setAmount(5);
+        book.setAmountOfBorrowedBooks(amountOfBorrowedBooks);
+        return bookRepository.save(book);
+    }
 } 
\ No newline at end of file
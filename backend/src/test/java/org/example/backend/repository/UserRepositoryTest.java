@@ -30,4 +30,34 @@ class UserRepositoryTest {
         User found = userRepository.findByName("nonexistent");
         assertThat(found).isNull();
     }
+
+    @Test
+    void deleteByIdIfNoBorrowedBooks_deletesUser_whenNoBooksBorrowed() {
+        User user = createAndSaveUser(0);
+
+        int deleted = userRepository.deleteByIdIfNoBorrowedBooks(user.getId());
+        assertThat(deleted).isEqualTo(1);
+        assertThat(userRepository.existsById(user.getId())).isFalse();
+    }
+
+    @Test
+    void deleteByIdIfNoBorrowedBooks_keepsUser_whenBooksBorrowed() {
+        User user = createAndSaveUser(2);
+
+        int deleted = userRepository.deleteByIdIfNoBorrowedBooks(user.getId());
+        assertThat(deleted).isZero();
+        assertThat(userRepository.existsById(user.getId())).isTrue();
+    }
+
+    @Test
+    void deleteByIdIfNoBorrowedBooks_returnsZero_whenNotExists() {
+        assertThat(userRepository.deleteByIdIfNoBorrowedBooks(999L)).isZero();
+    }
+
+    private User createAndSaveUser(int numberOfBorrowedBooks) {
+        User user = new User();
+        user.setName("testuser");
+        user.setNumberOfBorrowedBooks(numberOfBorrowedBooks);
+        return userRepository.save(user);
+    }
 } 
\ No newline at end of file
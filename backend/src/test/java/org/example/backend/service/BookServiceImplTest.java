@@ -2,6 +2,8 @@ package org.example.backend.service;
 
 import org.example.backend.dto.request.BookCreationRequest;
 import org.example.backend.dto.request.BookUpdateRequest;
+import org.example.backend.event.BookAvailabilityChangedEvent;
+import org.example.backend.event.BookDeletedEvent;
 import org.example.backend.exceptions.custom.EntityBorrowedException;
 import org.example.backend.model.Book;
 import org.example.backend.repository.BookRepository;
@@ -12,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import jakarta.validation.ConstraintViolationException;
 
 import java.util.Optional;
@@ -24,6 +27,12 @@ class BookServiceImplTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -64,6 +73,8 @@ class BookServiceImplTest {
         assertEquals(1, result.getAmount());
         assertEquals(0, result.getAmountOfBorrowedBooks());
         verify(bookRepository).save(any(Book.class));
+        verify(outboxService).bookUpdated(result);
+        verify(eventPublisher).publishEvent(any(BookAvailabilityChangedEvent.class));
     }
 
     @Test
@@ -75,11 +86,13 @@ class BookServiceImplTest {
         existing.setAmountOfBorrowedBooks(0);
 
         when(bookRepository.findByTitleAndAuthor("TestTitle", "Test Author")).thenReturn(existing);
-        when(bookRepository.save(existing)).thenReturn(existing);
+        when(bookRepository.saveAndFlush(existing)).thenReturn(existing);
 
         Book result = bookService.createBook(creationRequest);
         assertEquals(2, result.getAmount());
-        verify(bookRepository).save(existing);
+        verify(bookRepository).saveAndFlush(existing);
+        verify(outboxService).bookUpdated(existing);
+        verify(eventPublisher).publishEvent(any(BookAvailabilityChangedEvent.class));
     }
 
     @Test
@@ -128,6 +141,8 @@ class BookServiceImplTest {
         assertEquals("Updated Author", updated.getAuthor());
         assertEquals(5, updated.getAmount());
         assertEquals(2, updated.getAmountOfBorrowedBooks());
+        verify(outboxService).bookUpdated(updated);
+        verify(eventPublisher).publishEvent(any(BookAvailabilityChangedEvent.class));
     }
 
     @Test
@@ -162,17 +177,29 @@ class BookServiceImplTest {
 
     @Test
     void deleteBook_success() {
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
-        doNothing().when(bookRepository).delete(book);
+        when(bookRepository.deleteByIdIfNotBorrowed(1L)).thenReturn(1);
         assertDoesNotThrow(() -> bookService.deleteBook(1L));
-        verify(bookRepository).delete(book);
+        verify(bookRepository).deleteByIdIfNotBorrowed(1L);
+        verify(bookRepository, never()).existsById(anyLong());
+        verify(bookRepository, never()).findById(anyLong());
+        verify(outboxService).bookDeleted(1L);
+        verify(eventPublisher).publishEvent(new BookDeletedEvent(1L));
     }
 
     @Test
     void deleteBook_borrowed_throwsException() {
-        book.setAmountOfBorrowedBooks(1);
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(bookRepository.deleteByIdIfNotBorrowed(1L)).thenReturn(0);
+        when(bookRepository.existsById(1L)).thenReturn(true);
         assertThrows(EntityBorrowedException.class, () -> bookService.deleteBook(1L));
+        verifyNoInteractions(eventPublisher);
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void deleteBook_notFound_throwsException() {
+        when(bookRepository.deleteByIdIfNotBorrowed(1L)).thenReturn(0);
+        when(bookRepository.existsById(1L)).thenReturn(false);
+        assertThrows(EntityNotFoundException.class, () -> bookService.deleteBook(1L));
     }
 
     private void validateBookRequest(String title, String author) {
@@ -0,0 +1,234 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityNotFoundException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.example.backend.concurrency.BookLockAspect;
+import org.example.backend.model.Book;
+import org.example.backend.model.Borrowing;
+import org.example.backend.model.User;
+import org.example.backend.repository.BookRepository;
+import org.example.backend.repository.BorrowingRepository;
+import org.example.backend.repository.UserRepository;
+import org.example.backend.service.impl.BorrowingBatcher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "borrowing.batch.enabled=true",
+        "borrowing.batch.max-wait-ms=200"
+})
+@AutoConfigureTestDatabase
+class BorrowingBatcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Autowired
+    private BorrowingBatcher borrowingBatcher;
+
+    @Autowired
+    private BookLockAspect bookLock;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BorrowingRepository borrowingRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void borrow_concurrentRequests_sharedCommit() throws Exception {
+        Long bookId = createBook("Batched", 8);
+        double commitsBefore = meterRegistry.counter("borrowing.batch.commits").count();
+        double fallbacksBefore = meterRegistry.counter("borrowing.batch.fallbacks").count();
+        long timedBefore = borrowTimerCount("none");
+
+        List<Future<Borrowing>> results = borrowConcurrently(createUsers("Batch", 8), bookId);
+
+        for (Future<Borrowing> result : results) {
+            assertEquals("Batched", result.get().getBook().getTitle());
+        }
+        double commits = meterRegistry.counter("borrowing.batch.commits").count() - commitsBefore;
+        assertTrue(commits >= 1 && commits < 8, "expected fewer commits than borrows, got " + commits);
+        assertEquals(fallbacksBefore, meterRegistry.counter("borrowing.batch.fallbacks").count());
+        assertEquals(timedBefore + 8, borrowTimerCount("none"));
+        Book book = bookRepository.findById(bookId).orElseThrow();
+        assertEquals(0, book.getAmount());
+        assertEquals(8, book.getAmountOfBorrowedBooks());
+        assertEquals(8, borrowingRepository.findAll().stream()
+                .filter(borrowing -> borrowing.getBook().getId().equals(bookId))
+                .count());
+    }
+
+    @Test
+    void borrow_lastCopy_onlyOneRequestSucceeds() throws Exception {
+        Long bookId = createBook("Scarce", 1);
+
+        List<Future<Borrowing>> results = borrowConcurrently(createUsers("Scarce", 3), bookId);
+
+        int succeeded = 0;
+        for (Future<Borrowing> result : results) {
+            try {
+                result.get();
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(EntityNotFoundException.class, e.getCause());
+                assertEquals("Book is not available", e.getCause().getMessage());
+            }
+        }
+        assertEquals(1, succeeded);
+        Book book = bookRepository.findById(bookId).orElseThrow();
+        assertEquals(0, book.getAmount());
+        assertEquals(1, book.getAmountOfBorrowedBooks());
+    }
+
+    @Test
+    void borrow_unknownUserInBatch_rejectedWithoutFallback() throws Exception {
+        Long bookId = createBook("Mixed", 4);
+        double commitsBefore = meterRegistry.counter("borrowing.batch.commits").count();
+        double fallbacksBefore = meterRegistry.counter("borrowing.batch.fallbacks").count();
+        long rejectedBefore = borrowTimerCount("EntityNotFoundException");
+        List<Long> userIds = createUsers("Mixed", 3);
+        userIds.add(1, Long.MAX_VALUE);
+
+        List<Future<Borrowing>> results = borrowConcurrently(userIds, bookId);
+
+        for (int i = 0; i < results.size(); i++) {
+            if (userIds.get(i) == Long.MAX_VALUE) {
+                ExecutionException e = assertThrows(ExecutionException.class, results.get(i)::get);
+                assertInstanceOf(EntityNotFoundException.class, e.getCause());
+            } else {
+                assertEquals("Mixed", results.get(i).get().getBook().getTitle());
+            }
+        }
+        assertEquals(commitsBefore + 1, meterRegistry.counter("borrowing.batch.commits").count());
+        assertEquals(fallbacksBefore, meterRegistry.counter("borrowing.batch.fallbacks").count());
+        assertEquals(rejectedBefore + 1, borrowTimerCount("EntityNotFoundException"));
+        assertEquals(3, bookRepository.findById(bookId).orElseThrow().getAmountOfBorrowedBooks());
+    }
+
+    @Test
+    void borrow_bookLockedByReturn_batchWaitsForLock() throws Exception {
+        Long bookId = createBook("Locked", 2);
+        Long userId = createUsers("Locked", 1).get(0);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread returning = new Thread(() -> {
+            try {
+                bookLock.runLocked(List.of(bookId), () -> {
+                    locked.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        returning.start();
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        Future<Borrowing> result = borrowConcurrently(List.of(userId), bookId).get(0);
+
+        assertThrows(TimeoutException.class, () -> result.get(500, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertEquals("Locked", result.get(5, TimeUnit.SECONDS).getBook().getTitle());
+        returning.join(5000);
+    }
+
+    @Test
+    void borrow_whileRecording_emitsEventPerBorrow() throws Exception {
+        Long bookId = createBook("Recorded", 1);
+        List<Long> userIds = createUsers("Recorded", 2);
+        Path file = tempDir.resolve("batch.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("org.example.backend.Borrowing");
+            recording.start();
+            for (Future<Borrowing> result : borrowConcurrently(userIds, bookId)) {
+                try {
+                    result.get();
+                } catch (ExecutionException rejected) {
+                    assertInstanceOf(EntityNotFoundException.class, rejected.getCause());
+                }
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getLong("bookId") == bookId)
+                .toList();
+        assertEquals(2, events.size());
+        assertTrue(events.stream().allMatch(event -> event.getString("operation").equals("borrow")));
+        assertEquals(1, events.stream().filter(event -> event.getString("exception") == null).count());
+        assertEquals(1, events.stream().filter(event -> "EntityNotFoundException".equals(event.getString("exception"))).count());
+    }
+
+    private long borrowTimerCount(String exception) {
+        Timer timer = meterRegistry.find("borrowing.borrow").tag("exception", exception).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private List<Future<Borrowing>> borrowConcurrently(List<Long> userIds, Long bookId) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(userIds.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Borrowing>> results = new ArrayList<>();
+        for (Long userId : userIds) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return borrowingBatcher.borrow(userId, bookId);
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        return results;
+    }
+
+    private Long createBook(String title, int amount) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor("Batch Author");
+        book.setAmount(amount);
+        book.setAmountOfBorrowedBooks(0);
+        return bookRepository.save(book).getId();
+    }
+
+    private List<Long> createUsers(String prefix, int count) {
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setName(prefix + i);
+            user.setNumberOfBorrowedBooks(0);
+            userIds.add(userRepository.save(user).getId());
+        }
+        return userIds;
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.dto.request.BookUpdateRequest;
+import org.example.backend.model.Book;
+import org.example.backend.model.User;
+import org.example.backend.repository.BookRepository;
+import org.example.backend.repository.BorrowingRepository;
+import org.example.backend.repository.UserRepository;
+import org.example.backend.service.impl.BorrowingServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs concurrent borrows, returns and book updates against the same book and checks
+ * that no counter update is lost.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@AutoConfigureTestDatabase
+class BorrowingConcurrencyTest {
+    private static final int COPIES = 3;
+    private static final int USERS = 8;
+    private static final int ROUNDS = 25;
+
+    @Autowired
+    private BorrowingServiceImpl borrowingService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BorrowingRepository borrowingRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void concurrentBorrowReturnAndUpdate_conserveCopies() throws Exception {
+        Book book = new Book();
+        book.setTitle("Contended");
+        book.setAuthor("Stress Author");
+        book.setAmount(COPIES);
+        book.setAmountOfBorrowedBooks(0);
+        Long bookId = bookRepository.save(book).getId();
+
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setName("Stress" + i);
+            user.setNumberOfBorrowedBooks(0);
+            userIds.add(userRepository.save(user).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(USERS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger borrowed = new AtomicInteger();
+        for (Long userId : userIds) {
+            executor.submit(() -> {
+                start.await();
+                boolean holding = false;
+                for (int round = 0; round < ROUNDS * 2; round++) {
+                    try {
+                        if (holding) {
+                            borrowingService.returnBook(userId, bookId);
+                        } else {
+                            borrowingService.borrowBook(userId, bookId);
+                            borrowed.incrementAndGet();
+                        }
+                        holding = !holding;
+                    } catch (RuntimeException rejectedOrExhausted) {
+                        // no free copy or retries exhausted; the invariant must hold either way
+                    }
+                }
+                return null;
+            });
+        }
+        executor.submit(() -> {
+            start.await();
+            for (int round = 0; round < ROUNDS; round++) {
+                BookUpdateRequest request = new BookUpdateRequest();
+                request.setTitle("Contended");
+                request.setAuthor("Stress Author");
+                try {
+                    bookService.updateBook(bookId, request);
+                } catch (RuntimeException exhausted) {
+                    // retries exhausted
+                }
+            }
+            return null;
+        });
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+
+        Book result = bookRepository.findById(bookId).orElseThrow();
+        long openBorrowings = borrowingRepository.findAll().stream()
+                .filter(borrowing -> borrowing.getBook().getId().equals(bookId))
+                .count();
+        assertEquals(COPIES, result.getAmount() + result.getAmountOfBorrowedBooks());
+        assertEquals(openBorrowings, (long) result.getAmountOfBorrowedBooks());
+        for (Long userId : userIds) {
+            User user = userRepository.findById(userId).orElseThrow();
+            long userBorrowings = borrowingRepository.findBorrowingByUserIdAndBookId(userId, bookId).size();
+            assertEquals(userBorrowings, (long) user.getNumberOfBorrowedBooks());
+        }
+        assertTrue(borrowed.get() > 0);
+        log.info("borrows={} conflicts={}", borrowed.get(),
+                (long) meterRegistry.find("optimistic.lock.conflicts").counters().stream().mapToDouble(c -> c.count()).sum());
+    }
+}
@@ -0,0 +1,247 @@
+package org.example.backend.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.dto.request.BookUpdateRequest;
+import org.example.backend.exceptions.custom.ServiceOverloadedException;
+import org.example.backend.model.Book;
+import org.example.backend.model.User;
+import org.example.backend.repository.BookRepository;
+import org.example.backend.repository.UserRepository;
+import org.example.backend.service.impl.BorrowingBatcher;
+import org.example.backend.service.impl.BorrowingServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers borrow, return and book update on a few books and users from many threads and checks
+ * the borrowing invariants while the load runs and after it:
+ * <ul>
+ *     <li>no book has a negative amount, and amount plus borrowed copies stays at the initial copies</li>
+ *     <li>no user holds more than the borrowing limit</li>
+ *     <li>book and user counters equal their borrowing rows, and those equal successful borrows minus returns</li>
+ * </ul>
+ * There are fewer copies than the users may hold together, so both "not available" and
+ * "limit exceeded" are hit constantly. Runs in the normal build against H2; to gate a change
+ * more thoroughly, run it longer, with the batcher, or against a local PostgreSQL:
+ * <pre>
+ * mvn test -Dtest=BorrowingInvariantStressTest -Dstress.duration-seconds=60 -Dstress.threads=32
+ * mvn test -Dtest=BorrowingInvariantStressTest -Dstress.batch=true -Dstress.book-lock=false
+ * mvn test -Dtest=BorrowingInvariantStressTest -Dstress.datasource.url=jdbc:postgresql://localhost:5432/stress \
+ *     -Dstress.datasource.driver=org.postgresql.Driver -Dstress.datasource.username=postgres -Dstress.datasource.password=password \
+ *     -Dstress.datasource.dialect=org.hibernate.dialect.PostgreSQLDialect
+ * </pre>
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "borrowing.limit=${stress.borrowing-limit:3}",
+        "borrowing.lock.enabled=${stress.book-lock:true}",
+        "borrowing.batch.enabled=${stress.batch:false}",
+        "spring.datasource.url=${stress.datasource.url:jdbc:h2:mem:stress;DB_CLOSE_DELAY=-1}",
+        "spring.datasource.driver-class-name=${stress.datasource.driver:org.h2.Driver}",
+        "spring.datasource.username=${stress.datasource.username:sa}",
+        "spring.datasource.password=${stress.datasource.password:}",
+        "spring.jpa.database=DEFAULT",
+        "spring.jpa.database-platform=${stress.datasource.dialect:org.hibernate.dialect.H2Dialect}",
+        "spring.jpa.hibernate.ddl-auto=update",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BorrowingInvariantStressTest {
+    private static final int BOOKS = 4;
+    private static final int COPIES = 4;
+    private static final int USERS = 6;
+
+    @Autowired
+    private BorrowingServiceImpl borrowingService;
+
+    @Autowired
+    private ObjectProvider<BorrowingBatcher> borrowingBatcher;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${borrowing.limit}")
+    private int borrowingLimit;
+
+    @Value("${stress.threads:8}")
+    private int threads;
+
+    @Value("${stress.duration-seconds:5}")
+    private int durationSeconds;
+
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder returns = new LongAdder();
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final Queue<String> violations = new ConcurrentLinkedQueue<>();
+    private final Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+    @Test
+    void borrowReturnAndUpdate_keepInvariants() throws Exception {
+        String run = Long.toString(System.nanoTime(), 36).replaceAll("[0-9]", "");
+        List<Long> bookIds = createBooks(run);
+        List<Long> userIds = createUsers(run);
+        String books = bookIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        String users = userIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        for (int i = 0; i < threads; i++) {
+            SplittableRandom random = new SplittableRandom(i);
+            executor.submit(() -> {
+                start.await();
+                work(random, userIds, bookIds, end);
+                return null;
+            });
+        }
+        executor.shutdown();
+        long started = System.nanoTime();
+        start.countDown();
+        int samples = 0;
+        while (!executor.awaitTermination(20, TimeUnit.MILLISECONDS)) {
+            checkRowInvariants(books, users);
+            samples++;
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        checkRowInvariants(books, users);
+        long borrowingRows = count("SELECT COUNT(*) FROM borrowing WHERE book_id IN (" + books + ")");
+        assertEquals(borrows.sum() - returns.sum(), borrowingRows, "borrowing rows vs. successful borrows minus returns");
+        assertEquals(0, count("SELECT COUNT(*) FROM books b WHERE b.id IN (" + books + ") AND b.amount_of_borrowed_books <> "
+                + "(SELECT COUNT(*) FROM borrowing br WHERE br.book_id = b.id)"), "book counter vs. borrowing rows");
+        assertEquals(0, count("SELECT COUNT(*) FROM users u WHERE u.id IN (" + users + ") AND u.number_of_borrowed_books <> "
+                + "(SELECT COUNT(*) FROM borrowing br WHERE br.user_id = u.id)"), "user counter vs. borrowing rows");
+        assertTrue(violations.isEmpty(), () -> String.join("\n", violations));
+        assertTrue(unexpected.isEmpty(), () -> "unexpected failures: " + unexpected);
+        assertTrue(borrows.sum() > 0 && returns.sum() > 0 && rejected.sum() > 0);
+
+        log.info("stress: {} threads {} s  borrows {}/s  returns {}/s  updates {}/s  rejected {}  conflicts {}  "
+                        + "invariant samples {}",
+                threads, oneDecimal(seconds), oneDecimal(borrows.sum() / seconds), oneDecimal(returns.sum() / seconds),
+                oneDecimal(updates.sum() / seconds), rejected.sum(), conflicts.sum(), samples);
+    }
+
+    /**
+     * Runs random operations until the deadline. Each worker returns only books it borrowed
+     * itself, but users and books are shared by all workers.
+     */
+    private void work(SplittableRandom random, List<Long> userIds, List<Long> bookIds, long end) {
+        List<long[]> held = new ArrayList<>();
+        BorrowingBatcher batcher = borrowingBatcher.getIfAvailable();
+        while (System.nanoTime() < end) {
+            int dice = random.nextInt(100);
+            try {
+                if (dice < 15) {
+                    long bookId = bookIds.get(random.nextInt(bookIds.size()));
+                    BookUpdateRequest request = new BookUpdateRequest();
+                    request.setTitle("Stressed");
+                    request.setAuthor(random.nextBoolean() ? "Stress Author" : "Other Author");
+                    bookService.updateBook(bookId, request);
+                    updates.increment();
+                } else if (dice < 55 && !held.isEmpty()) {
+                    long[] borrowing = held.remove(random.nextInt(held.size()));
+                    try {
+                        borrowingService.returnBook(borrowing[0], borrowing[1]);
+                        returns.increment();
+                    } catch (RuntimeException e) {
+                        held.add(borrowing);
+                        throw e;
+                    }
+                } else {
+                    long userId = userIds.get(random.nextInt(userIds.size()));
+                    long bookId = bookIds.get(random.nextInt(bookIds.size()));
+                    if (batcher != null) batcher.borrow(userId, bookId);
+                    else borrowingService.borrowBook(userId, bookId);
+                    held.add(new long[]{userId, bookId});
+                    borrows.increment();
+                }
+            } catch (EntityNotFoundException e) {
+                rejected.increment();
+            } catch (TransientDataAccessException | ServiceOverloadedException e) {
+                conflicts.increment();
+            } catch (RuntimeException e) {
+                unexpected.add(e);
+            }
+        }
+    }
+
+    private void checkRowInvariants(String books, String users) {
+        jdbcTemplate.query("SELECT id, amount, amount_of_borrowed_books FROM books WHERE id IN (" + books + ")", row -> {
+            int amount = row.getInt("amount");
+            int borrowed = row.getInt("amount_of_borrowed_books");
+            if (amount < 0 || borrowed < 0 || amount + borrowed != COPIES) {
+                violations.add("book " + row.getLong("id") + ": amount " + amount + ", borrowed " + borrowed);
+            }
+        });
+        jdbcTemplate.query("SELECT id, number_of_borrowed_books FROM users WHERE id IN (" + users + ")", row -> {
+            int borrowed = row.getInt("number_of_borrowed_books");
+            if (borrowed < 0 || borrowed > borrowingLimit) {
+                violations.add("user " + row.getLong("id") + ": borrowed " + borrowed);
+            }
+        });
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private List<Long> createBooks(String run) {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = new Book();
+            book.setTitle("Stress" + run + (char) ('a' + i));
+            book.setAuthor("Stress Author");
+            book.setAmount(COPIES);
+            book.setAmountOfBorrowedBooks(0);
+            books.add(book);
+        }
+        return bookRepository.saveAll(books).stream().map(Book::getId).toList();
+    }
+
+    private List<Long> createUsers(String run) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setName("Stress" + run + i);
+            user.setNumberOfBorrowedBooks(0);
+            users.add(user);
+        }
+        return userRepository.saveAll(users).stream().map(User::getId).toList();
+    }
+
+    private static String oneDecimal(double value) {
+        return String.format("%.1f", value);
+    }
+}
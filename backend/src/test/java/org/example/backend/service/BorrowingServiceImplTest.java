@@ -1,9 +1,12 @@
 package org.example.backend.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.example.backend.dto.request.UserInformationRequest;
 import org.example.backend.dto.response.BorrowedBooksStatisticResponse;
 import org.example.backend.dto.response.BorrowedTitlesResponse;
+import org.example.backend.event.BookAvailabilityChangedEvent;
 import org.example.backend.model.Book;
 import org.example.backend.model.Borrowing;
 import org.example.backend.model.User;
@@ -11,6 +14,7 @@ import org.example.backend.repository.BookRepository;
 import org.example.backend.repository.BorrowingRepository;
 import org.example.backend.repository.UserRepository;
 import org.example.backend.service.BookService;
+import org.example.backend.service.OutboxService;
 import org.example.backend.service.UserService;
 import org.example.backend.service.impl.BorrowingServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +22,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
@@ -40,6 +46,12 @@ class BorrowingServiceImplTest {
     private BorrowingRepository borrowingRepository;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private OutboxService outboxService;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private BorrowingServiceImpl borrowingService;
@@ -76,8 +88,8 @@ class BorrowingServiceImplTest {
 
     @Test
     void borrowBook_success() {
-        when(userService.readUser(1L)).thenReturn(user);
-        when(bookService.readBook(1L)).thenReturn(book);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
         when(bookRepository.save(any(Book.class))).thenReturn(book);
         when(userRepository.save(any(User.class))).thenReturn(user);
         when(borrowingRepository.save(any(Borrowing.class))).thenReturn(borrowing);
@@ -88,24 +100,45 @@ class BorrowingServiceImplTest {
         verify(bookRepository).save(any(Book.class));
         verify(userRepository).save(any(User.class));
         verify(borrowingRepository).save(any(Borrowing.class));
+        verify(outboxService).bookBorrowed(book, user);
+        verify(eventPublisher).publishEvent(any(BookAvailabilityChangedEvent.class));
     }
 
     @Test
     void borrowBook_bookNotAvailable_throwsException() {
         book.setAmount(0);
-        when(userService.readUser(1L)).thenReturn(user);
-        when(bookService.readBook(1L)).thenReturn(book);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
 
         assertThrows(EntityNotFoundException.class, () -> borrowingService.borrowBook(1L, 1L));
+        verifyNoInteractions(eventPublisher);
+        verifyNoInteractions(outboxService);
+        assertEquals(1.0, meterRegistry.get("borrowing.rejected").tag("reason", "unavailable").counter().count());
     }
 
     @Test
     void borrowBook_userLimitExceeded_throwsException() {
         user.getBorrowings().add(new Borrowing());
         user.getBorrowings().add(new Borrowing());
-        when(userService.readUser(1L)).thenReturn(user);
-        when(bookService.readBook(1L)).thenReturn(book);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+
+        assertThrows(EntityNotFoundException.class, () -> borrowingService.borrowBook(1L, 1L));
+        assertEquals(1.0, meterRegistry.get("borrowing.rejected").tag("reason", "limit_exceeded").counter().count());
+        assertEquals(0.0, meterRegistry.get("borrowing.rejected").tag("reason", "unavailable").counter().count());
+    }
+
+    @Test
+    void borrowBook_secondBorrowInSameTransaction_countsFirst() {
+        user.getBorrowings().add(new Borrowing());
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(bookRepository.save(any(Book.class))).thenReturn(book);
+        when(borrowingRepository.save(any(Borrowing.class))).thenReturn(borrowing);
+
+        borrowingService.borrowBook(1L, 1L);
 
+        assertEquals(2, user.getBorrowings().size());
         assertThrows(EntityNotFoundException.class, () -> borrowingService.borrowBook(1L, 1L));
     }
 
@@ -168,6 +201,8 @@ class BorrowingServiceImplTest {
         verify(bookRepository).save(book);
         verify(userRepository).save(user);
         verify(borrowingRepository).delete(borrowing);
+        verify(outboxService).bookReturned(book, user);
+        verify(eventPublisher).publishEvent(any(BookAvailabilityChangedEvent.class));
     }
 
     @Test
@@ -0,0 +1,169 @@
+package org.example.backend.service;
+
+import org.example.backend.dto.request.BookCreationRequest;
+import org.example.backend.dto.request.BookUpdateRequest;
+import org.example.backend.dto.request.UserUpdateRequest;
+import org.example.backend.model.Book;
+import org.example.backend.model.OutboxEventType;
+import org.example.backend.model.User;
+import org.example.backend.outbox.InMemoryOutboxSink;
+import org.example.backend.outbox.OutboxMessage;
+import org.example.backend.repository.BookRepository;
+import org.example.backend.repository.OutboxEventRepository;
+import org.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs borrows, returns, creates, updates and deletes through the services and checks what the
+ * outbox relay delivers to the in-memory sink.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"outbox.sink=memory", "outbox.relay.interval-ms=20"})
+@AutoConfigureTestDatabase
+class OutboxIntegrationTest {
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private InMemoryOutboxSink sink;
+
+    @Test
+    void changes_areRelayedInCommitOrder() throws Exception {
+        Long bookId = createBook("Outbox", 1);
+        Long userId = createUser("OutboxUser");
+
+        borrowingService.borrowBook(userId, bookId);
+        borrowingService.returnBook(userId, bookId);
+        BookUpdateRequest bookUpdate = new BookUpdateRequest();
+        bookUpdate.setTitle("Renamed");
+        bookUpdate.setAuthor("Outbox Author");
+        bookService.updateBook(bookId, bookUpdate);
+        UserUpdateRequest userUpdate = new UserUpdateRequest();
+        userUpdate.setName("OutboxUserRenamed");
+        userService.updateUser(userId, userUpdate);
+
+        List<OutboxMessage> messages = awaitRelayed();
+        assertEquals(List.of(OutboxEventType.BOOK_BORROWED, OutboxEventType.BOOK_RETURNED,
+                        OutboxEventType.BOOK_UPDATED, OutboxEventType.USER_UPDATED),
+                messages.stream().map(OutboxMessage::getEventType).toList());
+        assertTrue(messages.get(0).getPayload().contains("\"amount\":0"));
+        assertTrue(messages.get(3).getPayload().contains("OutboxUserRenamed"));
+    }
+
+    @Test
+    void createRestockAndDelete_areRelayed() throws Exception {
+        BookCreationRequest creation = new BookCreationRequest();
+        creation.setTitle("Restocked");
+        creation.setAuthor("Outbox Author");
+        Long bookId = bookService.createBook(creation).getId();
+        bookService.createBook(creation);
+        bookService.deleteBook(bookId);
+
+        List<OutboxMessage> messages = awaitRelayed().stream()
+                .filter(message -> message.getAggregateType().equals("book") && message.getAggregateId().equals(bookId))
+                .toList();
+        assertEquals(List.of(OutboxEventType.BOOK_UPDATED, OutboxEventType.BOOK_UPDATED, OutboxEventType.BOOK_DELETED),
+                messages.stream().map(OutboxMessage::getEventType).toList());
+        assertTrue(messages.get(1).getPayload().contains("\"amount\":2"));
+    }
+
+    @Test
+    void rejectedBorrow_writesNoEvent() throws Exception {
+        Long bookId = createBook("Unavailable", 0);
+        Long userId = createUser("RejectedUser");
+
+        assertThrows(RuntimeException.class, () -> borrowingService.borrowBook(userId, bookId));
+
+        assertTrue(awaitRelayed().stream().noneMatch(message -> message.getAggregateId().equals(bookId)
+                && message.getAggregateType().equals("book")));
+    }
+
+    @Test
+    void concurrentBorrowAndReturn_keepPerBookVersionOrder() throws Exception {
+        Long bookId = createBook("Ordered", 2);
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            userIds.add(createUser("Ordered" + i));
+        }
+        AtomicInteger changes = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(userIds.size());
+        for (Long userId : userIds) {
+            executor.submit(() -> {
+                for (int round = 0; round < 10; round++) {
+                    try {
+                        borrowingService.borrowBook(userId, bookId);
+                        changes.incrementAndGet();
+                        borrowingService.returnBook(userId, bookId);
+                        changes.incrementAndGet();
+                    } catch (RuntimeException rejected) {
+                        // no free copy
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        List<Long> versions = awaitRelayed().stream()
+                .filter(message -> message.getAggregateType().equals("book") && message.getAggregateId().equals(bookId))
+                .map(message -> Long.valueOf(message.getPayload().replaceAll(".*\"version\":(\\d+).*", "$1")))
+                .toList();
+        assertEquals(changes.get(), versions.size());
+        for (int i = 1; i < versions.size(); i++) {
+            assertTrue(versions.get(i) > versions.get(i - 1), "versions out of order: " + versions);
+        }
+    }
+
+    private List<OutboxMessage> awaitRelayed() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (outboxEventRepository.countByPublishedAtIsNull() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, outboxEventRepository.countByPublishedAtIsNull());
+        return sink.drain();
+    }
+
+    private Long createBook(String title, int amount) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor("Outbox Author");
+        book.setAmount(amount);
+        book.setAmountOfBorrowedBooks(0);
+        return bookRepository.save(book).getId();
+    }
+
+    private Long createUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setNumberOfBorrowedBooks(0);
+        return userRepository.save(user).getId();
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import org.example.backend.model.Book;
+import org.example.backend.model.OutboxEvent;
+import org.example.backend.model.OutboxEventType;
+import org.example.backend.model.User;
+import org.example.backend.repository.OutboxEventRepository;
+import org.example.backend.service.impl.OutboxServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OutboxServiceImplTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private OutboxServiceImpl outboxService;
+
+    private Book book;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        outboxService = new OutboxServiceImpl(outboxEventRepository, entityManager, new ObjectMapper());
+
+        book = new Book();
+        book.setId(7L);
+        book.setTitle("TestTitle");
+        book.setAuthor("Test Author");
+        book.setAmount(2);
+        book.setAmountOfBorrowedBooks(1);
+        book.setVersion(4L);
+
+        user = new User();
+        user.setId(3L);
+        user.setName("TestUser");
+        user.setNumberOfBorrowedBooks(1);
+        user.setVersion(2L);
+    }
+
+    @Test
+    void bookBorrowed_flushesBeforeSavingEvent() {
+        outboxService.bookBorrowed(book, user);
+
+        InOrder inOrder = inOrder(entityManager, outboxEventRepository);
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(outboxEventRepository).save(any(OutboxEvent.class));
+    }
+
+    @Test
+    void bookBorrowed_translatesVersionConflictOnFlush() {
+        doThrow(new OptimisticLockException("conflict")).when(entityManager).flush();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> outboxService.bookBorrowed(book, user));
+        verify(outboxEventRepository, never()).save(any());
+    }
+
+    @Test
+    void bookBorrowed_savesBookEventWithUser() {
+        outboxService.bookBorrowed(book, user);
+
+        OutboxEvent event = savedEvent();
+        assertEquals("book", event.getAggregateType());
+        assertEquals(7L, event.getAggregateId());
+        assertEquals(OutboxEventType.BOOK_BORROWED, event.getEventType());
+        assertTrue(event.getPayload().contains("\"user_id\":3"));
+        assertTrue(event.getPayload().contains("\"version\":4"));
+        assertNotNull(event.getCreatedAt());
+        assertNull(event.getPublishedAt());
+    }
+
+    @Test
+    void bookReturned_savesReturnEvent() {
+        outboxService.bookReturned(book, user);
+
+        assertEquals(OutboxEventType.BOOK_RETURNED, savedEvent().getEventType());
+    }
+
+    @Test
+    void bookUpdated_omitsUser() {
+        outboxService.bookUpdated(book);
+
+        OutboxEvent event = savedEvent();
+        assertEquals(OutboxEventType.BOOK_UPDATED, event.getEventType());
+        assertFalse(event.getPayload().contains("user_id"));
+    }
+
+    @Test
+    void userUpdated_savesUserEvent() {
+        outboxService.userUpdated(user);
+
+        OutboxEvent event = savedEvent();
+        assertEquals("user", event.getAggregateType());
+        assertEquals(3L, event.getAggregateId());
+        assertEquals(OutboxEventType.USER_UPDATED, event.getEventType());
+        assertTrue(event.getPayload().contains("\"number_of_borrowed_books\":1"));
+    }
+
+    private OutboxEvent savedEvent() {
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.backend.service;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.persistence.EntityNotFoundException;
+import org.example.backend.dto.request.UserInformationRequest;
+import org.example.backend.service.impl.ReactiveBorrowingServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveBorrowingServiceImplTest {
+
+    private DatabaseClient databaseClient;
+    private ReactiveBorrowingServiceImpl borrowingService;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("r2dbc/schema.sql")).populate(connectionFactory).block();
+        databaseClient = DatabaseClient.create(connectionFactory);
+        Flux.just(
+                "INSERT INTO users (name, membership_date, number_of_borrowed_books) VALUES ('TestUser', CURRENT_DATE, 0)",
+                "INSERT INTO books (title, author, amount, amount_of_borrowed_books) VALUES ('TestTitle', 'Test Author', 1, 0)"
+        ).concatMap(sql -> databaseClient.sql(sql).then()).blockLast();
+
+        borrowingService = new ReactiveBorrowingServiceImpl(databaseClient);
+        ReflectionTestUtils.setField(borrowingService, "borrowingLimit", 1);
+    }
+
+    @Test
+    void borrowBook_success() {
+        StepVerifier.create(borrowingService.borrowBook(1L, 1L))
+                .assertNext(borrowing -> {
+                    assertNotNull(borrowing.getId());
+                    assertEquals("TestUser", borrowing.getUser().getName());
+                    assertEquals(0, borrowing.getBook().getAmount());
+                    assertEquals(1, borrowing.getBook().getAmountOfBorrowedBooks());
+                })
+                .verifyComplete();
+
+        assertEquals(0, bookAmount());
+    }
+
+    @Test
+    void borrowBook_bookNotAvailable_throwsException() {
+        borrowingService.borrowBook(1L, 1L).block();
+
+        StepVerifier.create(borrowingService.borrowBook(1L, 1L))
+                .expectErrorMatches(e -> e instanceof EntityNotFoundException && e.getMessage().equals("Book is not available"))
+                .verify();
+    }
+
+    @Test
+    void borrowBook_limitExceeded_throwsException() {
+        databaseClient.sql("INSERT INTO books (title, author, amount, amount_of_borrowed_books) VALUES ('OtherTitle', 'Test Author', 1, 0)").then().block();
+        borrowingService.borrowBook(1L, 1L).block();
+
+        StepVerifier.create(borrowingService.borrowBook(1L, 2L))
+                .expectErrorMatches(e -> e instanceof EntityNotFoundException && e.getMessage().equals("User's borrowing limit exceeded"))
+                .verify();
+    }
+
+    @Test
+    void borrowBook_userNotFound_throwsException() {
+        StepVerifier.create(borrowingService.borrowBook(99L, 1L))
+                .expectErrorMatches(e -> e instanceof EntityNotFoundException && e.getMessage().equals("User not found with id: 99"))
+                .verify();
+    }
+
+    @Test
+    void getBorrowedBooksByUserName_success() {
+        borrowingService.borrowBook(1L, 1L).block();
+        UserInformationRequest request = new UserInformationRequest();
+        request.setName("TestUser");
+
+        StepVerifier.create(borrowingService.getBorrowedBooksByUserName(request))
+                .assertNext(book -> assertEquals("TestTitle", book.getTitle()))
+                .verifyComplete();
+    }
+
+    @Test
+    void getDistinctBorrowedBooksTitlesAndCounts_success() {
+        borrowingService.borrowBook(1L, 1L).block();
+
+        StepVerifier.create(borrowingService.getDistinctBorrowedBooksTitlesAndCounts())
+                .assertNext(statistic -> {
+                    assertEquals("TestTitle", statistic.getTitle());
+                    assertEquals(1L, statistic.getAmountOfBorrowedBooks());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void returnBook_success() {
+        borrowingService.borrowBook(1L, 1L).block();
+
+        StepVerifier.create(borrowingService.returnBook(1L, 1L)).verifyComplete();
+
+        assertEquals(1, bookAmount());
+        StepVerifier.create(borrowingService.getDistinctBorrowedBooksTitles()).verifyComplete();
+    }
+
+    @Test
+    void returnBook_borrowingNotFound_throwsException() {
+        StepVerifier.create(borrowingService.returnBook(1L, 1L))
+                .expectErrorMatches(e -> e instanceof EntityNotFoundException && e.getMessage().equals("Borrowing is not available"))
+                .verify();
+    }
+
+    private Integer bookAmount() {
+        return databaseClient.sql("SELECT amount FROM books WHERE id = 1")
+                .map(row -> row.get("amount", Integer.class))
+                .one()
+                .block();
+    }
+}
@@ -23,6 +23,9 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -91,6 +94,7 @@ class UserServiceImplTest {
         User updated = userService.updateUser(1L, updateRequest);
         assertEquals("John", updated.getName());
         assertEquals(2, updated.getNumberOfBorrowedBooks());
+        verify(outboxService).userUpdated(updated);
     }
 
     @Test
@@ -111,16 +115,24 @@ class UserServiceImplTest {
 
     @Test
     void deleteUser_success() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        doNothing().when(userRepository).delete(user);
+        when(userRepository.deleteByIdIfNoBorrowedBooks(1L)).thenReturn(1);
         assertDoesNotThrow(() -> userService.deleteUser(1L));
-        verify(userRepository).delete(user);
+        verify(userRepository).deleteByIdIfNoBorrowedBooks(1L);
+        verify(userRepository, never()).existsById(anyLong());
+        verify(userRepository, never()).findById(anyLong());
     }
 
     @Test
     void deleteUser_borrowedBooks_throwsException() {
-        user.setNumberOfBorrowedBooks(2);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.deleteByIdIfNoBorrowedBooks(1L)).thenReturn(0);
+        when(userRepository.existsById(1L)).thenReturn(true);
         assertThrows(EntityBorrowedException.class, () -> userService.deleteUser(1L));
     }
+
+    @Test
+    void deleteUser_notFound_throwsException() {
+        when(userRepository.deleteByIdIfNoBorrowedBooks(1L)).thenReturn(0);
+        when(userRepository.existsById(1L)).thenReturn(false);
+        assertThrows(EntityNotFoundException.class, () -> userService.deleteUser(1L));
+    }
 }
@@ -0,0 +1,117 @@
+package org.example.backend.sql;
+
+import org.example.backend.model.Book;
+import org.example.backend.model.User;
+import org.example.backend.repository.BookRepository;
+import org.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Traces every statement and checks that a request's statements can be listed, with their
+ * originating endpoint, through the actuator endpoint, also when a reporting thread or the
+ * borrow batcher ran them.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sql-trace;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database=DEFAULT",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "sql.trace.sample-rate=1",
+        "sql.trace.slow-threshold-ms=60000",
+        "management.server.port=${server.port}",
+        "management.endpoints.web.exposure.include=sqltrace",
+        "statistics.snapshot.enabled=false",
+        "borrowing.batch.enabled=true"
+})
+@AutoConfigureMockMvc
+class SqlTraceEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SqlTrace sqlTrace;
+
+    @Test
+    void statements_listsTracedStatementsOfEndpoint() throws Exception {
+        Book book = new Book();
+        book.setTitle("Traced");
+        book.setAuthor("Trace Author");
+        book.setAmount(1);
+        book.setAmountOfBorrowedBooks(0);
+        Long bookId = bookRepository.save(book).getId();
+
+        mockMvc.perform(get("/book/{id}", bookId)).andExpect(status().isOk());
+        sqlTrace.flush();
+
+        mockMvc.perform(get("/actuator/sqltrace").param("endpoint", "GET /book/{id}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].endpoint").value("GET /book/{id}"))
+                .andExpect(jsonPath("$[0].statement", startsWith("select")))
+                .andExpect(jsonPath("$[0].binds").value(1))
+                .andExpect(jsonPath("$[0].slow").value(false))
+                .andExpect(jsonPath("$[0].duration_micros").isNumber());
+        mockMvc.perform(get("/actuator/sqltrace").param("slowOnly", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void statements_reportingQueryAttributedToRequest() throws Exception {
+        mockMvc.perform(get("/borrowing/titles/distinct")).andExpect(status().isOk());
+        sqlTrace.flush();
+
+        mockMvc.perform(get("/actuator/sqltrace").param("endpoint", "GET /borrowing/titles/distinct"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].statement", startsWith("select")));
+    }
+
+    @Test
+    void statements_batchedBorrowAttributedToRequest() throws Exception {
+        Book book = new Book();
+        book.setTitle("Batched");
+        book.setAuthor("Trace Author");
+        book.setAmount(1);
+        book.setAmountOfBorrowedBooks(0);
+        Long bookId = bookRepository.save(book).getId();
+        User user = new User();
+        user.setName("BatchedReader");
+        user.setNumberOfBorrowedBooks(0);
+        Long userId = userRepository.save(user).getId();
+
+        mockMvc.perform(post("/borrowing/user/{user_id}/book/{book_id}", userId, bookId)).andExpect(status().isCreated());
+        sqlTrace.flush();
+
+        String endpoint = "POST /borrowing/user/{user_id}/book/{book_id}";
+        mockMvc.perform(get("/actuator/sqltrace").param("endpoint", endpoint))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.statement =~ /select.*/)]").exists())
+                .andExpect(jsonPath("$[?(@.statement =~ /insert into borrowing.*/)]").exists());
+        mockMvc.perform(get("/actuator/sqltrace").param("endpoint", "borrowing-batcher"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.backend.sql;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlTraceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void afterQuery_belowThresholdWithoutSampling_keepsNothing() {
+        SqlTrace trace = new SqlTrace(0, 60_000, 10, 10, meterRegistry);
+
+        execute(trace, "select 1", 2);
+        trace.flush();
+
+        assertTrue(trace.recent(entry -> true, 10).isEmpty());
+    }
+
+    @Test
+    void afterQuery_slow_alwaysKept() {
+        SqlTrace trace = new SqlTrace(0, 0, 10, 10, meterRegistry);
+
+        execute(trace, "select * from book where id=?", 1);
+        trace.flush();
+
+        List<SqlTraceEntry> entries = trace.recent(entry -> true, 10);
+        assertEquals(1, entries.size());
+        assertEquals("select * from book where id=?", entries.get(0).getStatement());
+        assertEquals(1, entries.get(0).getBinds());
+        assertEquals(Thread.currentThread().getName(), entries.get(0).getEndpoint());
+        assertTrue(entries.get(0).isSlow());
+        assertEquals(1, meterRegistry.get("sql.trace.recorded").tag("reason", "slow").counter().count());
+    }
+
+    @Test
+    void afterQuery_fullSampling_keepsEveryStatementAsSampled() {
+        SqlTrace trace = new SqlTrace(1, 60_000, 10, 10, meterRegistry);
+
+        execute(trace, "select 1", 0);
+        execute(trace, "select 2", 0);
+        trace.flush();
+
+        assertEquals(List.of("select 2", "select 1"), statements(trace.recent(entry -> true, 10)));
+        assertFalse(trace.recent(entry -> true, 10).get(0).isSlow());
+        assertEquals(2, meterRegistry.get("sql.trace.recorded").tag("reason", "sampled").counter().count());
+    }
+
+    @Test
+    void afterQuery_queueFull_dropsWithoutWaiting() {
+        SqlTrace trace = new SqlTrace(1, 60_000, 2, 10, meterRegistry);
+
+        execute(trace, "select 1", 0);
+        execute(trace, "select 2", 0);
+        execute(trace, "select 3", 0);
+        trace.flush();
+        execute(trace, "select 4", 0);
+        trace.flush();
+
+        assertEquals(List.of("select 4", "select 2", "select 1"), statements(trace.recent(entry -> true, 10)));
+        assertEquals(1, meterRegistry.get("sql.trace.dropped").counter().count());
+    }
+
+    @Test
+    void recent_bufferFull_keepsNewestFirstAndFilters() {
+        SqlTrace trace = new SqlTrace(1, 60_000, 10, 3, meterRegistry);
+
+        for (int i = 1; i <= 5; i++) {
+            execute(trace, "select " + i, 0);
+        }
+        trace.flush();
+
+        assertEquals(List.of("select 5", "select 4", "select 3"), statements(trace.recent(entry -> true, 10)));
+        assertEquals(List.of("select 5"), statements(trace.recent(entry -> true, 1)));
+        assertEquals(List.of("select 4"), statements(trace.recent(entry -> entry.getStatement().endsWith("4"), 10)));
+    }
+
+    private static void execute(SqlTrace trace, String sql, int binds) {
+        QueryInfo queryInfo = new QueryInfo(sql);
+        List<ParameterSetOperation> parameters = new ArrayList<>();
+        for (int i = 0; i < binds; i++) {
+            parameters.add(new ParameterSetOperation());
+        }
+        queryInfo.getParametersList().add(parameters);
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        trace.beforeQuery(executionInfo, List.of(queryInfo));
+        trace.afterQuery(executionInfo, List.of(queryInfo));
+    }
+
+    private static List<String> statements(List<SqlTraceEntry> entries) {
+        return entries.stream().map(SqlTraceEntry::getStatement).toList();
+    }
+}
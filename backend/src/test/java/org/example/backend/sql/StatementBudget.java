@@ -0,0 +1,48 @@
+package org.example.backend.sql;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits the number of SQL statements each request to an endpoint may execute during a test.
+ * Checked by {@link StatementBudgetExtension} after the test; the test fails if any matching
+ * request went over the budget, or if no request matched at all. Can be placed on the test
+ * class to apply to every test method.
+ * <pre>
+ * &#64;Test
+ * &#64;StatementBudget(endpoint = "POST /borrowing/user/{user_id}/book/{book_id}", max = 9)
+ * void borrow() { ... }
+ * </pre>
+ */
+@Documented
+@Repeatable(StatementBudgets.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface StatementBudget {
+
+    /**
+     * The endpoint as HTTP method and handler mapping pattern, e.g. {@code GET /book/{id}}.
+     * Empty applies the budget to every request of the test.
+     *
+     * @return the endpoint
+     */
+    String endpoint() default "";
+
+    /**
+     * The maximum number of statements per request, counting a JDBC batch as one.
+     *
+     * @return the maximum statement count
+     */
+    int max();
+
+    /**
+     * The maximum number of statements in any one transaction of a request.
+     *
+     * @return the maximum statement count per transaction
+     */
+    int maxPerTransaction() default Integer.MAX_VALUE;
+}
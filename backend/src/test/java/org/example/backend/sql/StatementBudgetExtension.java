@@ -0,0 +1,82 @@
+package org.example.backend.sql;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * JUnit extension checking {@link StatementBudget} annotations against the requests recorded by
+ * {@link StatementLog} during each test. The query log of every test is written to
+ * {@code target/statement-logs/<test class>/<test method>.log}; when a budget is exceeded, the
+ * failure message carries the statements of the offending request, so the extra query is visible
+ * without rerunning anything.
+ */
+public class StatementBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+    private static final Path LOG_DIRECTORY = Path.of("target", "statement-logs");
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        statementLog(context).clear();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        List<StatementLog.Request> requests = statementLog(context).requests();
+        Path logFile = writeLog(context, requests);
+
+        List<StatementBudget> budgets = new ArrayList<>(
+                AnnotationSupport.findRepeatableAnnotations(context.getRequiredTestClass(), StatementBudget.class));
+        budgets.addAll(AnnotationSupport.findRepeatableAnnotations(context.getRequiredTestMethod(), StatementBudget.class));
+
+        List<String> failures = new ArrayList<>();
+        for (StatementBudget budget : budgets) {
+            List<StatementLog.Request> matching = requests.stream()
+                    .filter(request -> budget.endpoint().isEmpty() || budget.endpoint().equals(request.endpoint()))
+                    .toList();
+            if (matching.isEmpty()) {
+                failures.add("No request matched the statement budget for '" + budget.endpoint() + "'; recorded: "
+                        + requests.stream().map(StatementLog.Request::endpoint).distinct().collect(Collectors.joining(", ")));
+            }
+            for (StatementLog.Request request : matching) {
+                if (request.statementCount() > budget.max()) {
+                    failures.add(request.endpoint() + " executed " + request.statementCount()
+                            + " statements, budget is " + budget.max() + ":\n" + request.format());
+                } else if (request.maxStatementsPerTransaction() > budget.maxPerTransaction()) {
+                    failures.add(request.endpoint() + " executed " + request.maxStatementsPerTransaction()
+                            + " statements in one transaction, budget is " + budget.maxPerTransaction() + ":\n" + request.format());
+                }
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new AssertionFailedError(String.join("\n", failures) + "Query log: " + logFile.toAbsolutePath());
+        }
+    }
+
+    private static StatementLog statementLog(ExtensionContext context) {
+        return SpringExtension.getApplicationContext(context).getBean(StatementLog.class);
+    }
+
+    private static Path writeLog(ExtensionContext context, List<StatementLog.Request> requests) {
+        Method method = context.getRequiredTestMethod();
+        Path logFile = LOG_DIRECTORY.resolve(context.getRequiredTestClass().getSimpleName()).resolve(method.getName() + ".log");
+        try {
+            Files.createDirectories(logFile.getParent());
+            Files.writeString(logFile, requests.stream().map(StatementLog.Request::format).collect(Collectors.joining("\n")));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return logFile;
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.backend.sql;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Container for repeated {@link StatementBudget} annotations.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface StatementBudgets {
+
+    /**
+     * The budgets.
+     *
+     * @return the budgets
+     */
+    StatementBudget[] value();
+}
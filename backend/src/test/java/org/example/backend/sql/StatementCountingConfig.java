@@ -0,0 +1,78 @@
+package org.example.backend.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+/**
+ * Test configuration wrapping the application's {@code dataSource} in a datasource-proxy that
+ * feeds a {@link StatementLog}, and registering a filter that records each request. Import it
+ * together with {@link StatementBudgetExtension} in a {@code @SpringBootTest} using MockMvc.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class StatementCountingConfig {
+
+    /**
+     * Creates the statement log shared by the proxy and the filter.
+     *
+     * @return the statement log
+     */
+    @Bean
+    static StatementLog statementLog() {
+        return new StatementLog();
+    }
+
+    /**
+     * Wraps the {@code dataSource} bean, the one JPA and {@code JdbcTemplate} use, so that every
+     * statement and commit goes through the statement log.
+     *
+     * @param statementLog the statement log
+     * @return the post-processor
+     */
+    @Bean
+    static BeanPostProcessor statementCountingDataSourcePostProcessor(StatementLog statementLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!beanName.equals("dataSource") || !(bean instanceof DataSource dataSource)) return bean;
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(statementLog)
+                        .methodListener(statementLog)
+                        .build();
+            }
+        };
+    }
+
+    /**
+     * Creates the filter that attributes statements to the request being handled.
+     *
+     * @param statementLog the statement log
+     * @return the filter
+     */
+    @Bean
+    OncePerRequestFilter statementCountingFilter(StatementLog statementLog) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                StatementLog.Request recording = statementLog.begin(request.getMethod(), request.getRequestURI());
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    statementLog.end(recording, (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE),
+                            response.getStatus());
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,192 @@
+package org.example.backend.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Records the JDBC statements executed while an HTTP request is handled, split by transaction.
+ * A statement is attributed to the request running on the same thread, so work handed to other
+ * threads (the borrowing batcher, scheduled jobs) is not counted. Statements issued outside a
+ * request, such as test fixtures saved through repositories, are ignored.
+ */
+public class StatementLog implements QueryExecutionListener, MethodExecutionListener {
+    private static final ThreadLocal<Request> CURRENT = new ThreadLocal<>();
+
+    private final Queue<Request> requests = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Starts recording the statements of a request on the current thread.
+     *
+     * @param method the HTTP method
+     * @param uri the request URI
+     * @return the recording, to be passed to {@link #end}
+     */
+    Request begin(String method, String uri) {
+        Request request = new Request(method, uri);
+        CURRENT.set(request);
+        requests.add(request);
+        return request;
+    }
+
+    /**
+     * Stops recording the request on the current thread.
+     *
+     * @param request the recording returned by {@link #begin}
+     * @param pattern the handler mapping pattern of the request, or {@code null} if none matched
+     * @param status the response status
+     */
+    void end(Request request, String pattern, int status) {
+        CURRENT.remove();
+        request.pattern = pattern;
+        request.status = status;
+    }
+
+    /**
+     * Returns the requests recorded since the last {@link #clear()}, in the order they started.
+     *
+     * @return the recorded requests
+     */
+    public List<Request> requests() {
+        return List.copyOf(requests);
+    }
+
+    /**
+     * Forgets all recorded requests.
+     */
+    public void clear() {
+        requests.clear();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Request request = CURRENT.get();
+        if (request == null) return;
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        request.add(sql, execInfo.isBatch() ? execInfo.getBatchSize() : 0, execInfo.getElapsedTime());
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        Request request = CURRENT.get();
+        if (request == null) return;
+        String method = executionContext.getMethod().getName();
+        if (method.equals("commit") || method.equals("rollback")) {
+            request.endTransaction(method);
+        }
+    }
+
+    /**
+     * The statements of one HTTP request. Statements are numbered by the transaction they ran in,
+     * starting at 1; statements run outside a transaction, e.g. lazy loading while the response
+     * is rendered, belong to transaction 0.
+     */
+    public static final class Request {
+        private final String method;
+        private final String uri;
+        private final List<Statement> statements = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> transactionEnds = Collections.synchronizedList(new ArrayList<>());
+        private volatile String pattern;
+        private volatile int status;
+
+        private Request(String method, String uri) {
+            this.method = method;
+            this.uri = uri;
+        }
+
+        private void add(String sql, int batchSize, long elapsedMillis) {
+            int transaction = TransactionSynchronizationManager.isActualTransactionActive() ? transactionEnds.size() + 1 : 0;
+            statements.add(new Statement(transaction, sql, batchSize, elapsedMillis));
+        }
+
+        private void endTransaction(String outcome) {
+            transactionEnds.add(outcome);
+        }
+
+        /**
+         * Returns the endpoint in the form used by {@link StatementBudget#endpoint()},
+         * e.g. {@code POST /borrowing/user/{user_id}/book/{book_id}}.
+         *
+         * @return the HTTP method and handler mapping pattern, or the URI if no handler matched
+         */
+        public String endpoint() {
+            return method + " " + (pattern != null ? pattern : uri);
+        }
+
+        /**
+         * Returns the number of statements sent to the database, counting a JDBC batch as one.
+         *
+         * @return the statement count
+         */
+        public int statementCount() {
+            return statements.size();
+        }
+
+        /**
+         * Returns the largest number of statements run in any one transaction.
+         *
+         * @return the largest per-transaction statement count
+         */
+        public int maxStatementsPerTransaction() {
+            synchronized (statements) {
+                return statements.stream()
+                        .filter(statement -> statement.transaction > 0)
+                        .collect(Collectors.groupingBy(statement -> statement.transaction, Collectors.counting()))
+                        .values().stream().mapToInt(Long::intValue).max().orElse(0);
+            }
+        }
+
+        /**
+         * Formats the request and its statements, one line per statement.
+         *
+         * @return the query log of the request
+         */
+        public String format() {
+            StringBuilder out = new StringBuilder();
+            out.append(method).append(' ').append(uri).append(" -> ").append(status)
+                    .append("  (").append(endpoint()).append(", ").append(statementCount()).append(" statements, ")
+                    .append(transactionEnds.size()).append(" transactions)\n");
+            synchronized (statements) {
+                for (Statement statement : statements) {
+                    out.append("  ").append(statement.transaction == 0 ? "no tx" : "tx " + statement.transaction);
+                    out.append(String.format("  %4d ms  ", statement.elapsedMillis));
+                    if (statement.batchSize > 0) out.append("[batch of ").append(statement.batchSize).append("] ");
+                    out.append(statement.sql).append('\n');
+                }
+            }
+            return out.toString();
+        }
+    }
+
+    private static final class Statement {
+        private final int transaction;
+        private final String sql;
+        private final int batchSize;
+        private final long elapsedMillis;
+
+        private Statement(int transaction, String sql, int batchSize, long elapsedMillis) {
+            this.transaction = transaction;
+            this.sql = sql;
+            this.batchSize = batchSize;
+            this.elapsedMillis = elapsedMillis;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.backend.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OtlpJsonFileSpanExporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void export_writesOneOtlpJsonRequestPerLine() throws Exception {
+        Path file = tempDir.resolve("traces").resolve("spans.jsonl");
+        OtlpJsonFileSpanExporter exporter = new OtlpJsonFileSpanExporter(file);
+        String traceId;
+        String parentId;
+        try (SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .setResource(Resource.getDefault().toBuilder().put("service.name", "backend").build())
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build()) {
+            Tracer tracer = tracerProvider.get("test", "1.0");
+            Span parent = tracer.spanBuilder("http get /book/{id}").setSpanKind(SpanKind.SERVER).startSpan();
+            try (Scope scope = parent.makeCurrent()) {
+                tracer.spanBuilder("cache book.availability").startSpan()
+                        .setAttribute("cache.hit", true)
+                        .setAttribute(AttributeKey.longKey("book.id"), 7L)
+                        .setAttribute(AttributeKey.stringArrayKey("tags"), List.of("a", "b"))
+                        .setStatus(StatusCode.ERROR, "broken")
+                        .end();
+            } finally {
+                parent.end();
+            }
+            traceId = parent.getSpanContext().getTraceId();
+            parentId = parent.getSpanContext().getSpanId();
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        JsonNode child = new ObjectMapper().readTree(lines.get(0));
+        JsonNode resourceSpans = child.get("resourceSpans").get(0);
+        assertTrue(resourceSpans.get("resource").get("attributes").toString()
+                .contains("{\"key\":\"service.name\",\"value\":{\"stringValue\":\"backend\"}}"));
+        JsonNode scopeSpans = resourceSpans.get("scopeSpans").get(0);
+        assertEquals("test", scopeSpans.get("scope").get("name").asText());
+        assertEquals("1.0", scopeSpans.get("scope").get("version").asText());
+        JsonNode span = scopeSpans.get("spans").get(0);
+        assertEquals(traceId, span.get("traceId").asText());
+        assertEquals(parentId, span.get("parentSpanId").asText());
+        assertEquals("cache book.availability", span.get("name").asText());
+        assertEquals(1, span.get("kind").asInt());
+        assertTrue(span.get("startTimeUnixNano").isTextual());
+        assertEquals(2, span.get("status").get("code").asInt());
+        assertEquals("broken", span.get("status").get("message").asText());
+        String attributes = span.get("attributes").toString();
+        assertTrue(attributes.contains("{\"key\":\"cache.hit\",\"value\":{\"boolValue\":true}}"), attributes);
+        assertTrue(attributes.contains("{\"key\":\"book.id\",\"value\":{\"intValue\":\"7\"}}"), attributes);
+        assertTrue(attributes.contains("{\"key\":\"tags\",\"value\":{\"arrayValue\":{\"values\":"
+                + "[{\"stringValue\":\"a\"},{\"stringValue\":\"b\"}]}}}"), attributes);
+        JsonNode server = new ObjectMapper().readTree(lines.get(1)).get("resourceSpans").get(0)
+                .get("scopeSpans").get(0).get("spans").get(0);
+        assertEquals(2, server.get("kind").asInt());
+        assertFalse(server.has("parentSpanId"));
+    }
+
+    @Test
+    void shutdown_closesFileAndRejectsLaterExports() throws Exception {
+        OtlpJsonFileSpanExporter exporter = new OtlpJsonFileSpanExporter(tempDir.resolve("spans.jsonl"));
+
+        assertTrue(exporter.shutdown().isSuccess());
+
+        CompletableResultCode result = exporter.export(List.of());
+        assertFalse(result.isSuccess());
+        assertTrue(exporter.shutdown().isSuccess());
+    }
+}
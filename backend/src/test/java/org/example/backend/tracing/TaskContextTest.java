@@ -0,0 +1,78 @@
+package org.example.backend.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskContextTest {
+
+    @Test
+    void wrap_runsTaskInCallersSpanAndMdc() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (SdkTracerProvider tracerProvider = SdkTracerProvider.builder().build()) {
+            Span span = tracerProvider.get("test").spanBuilder("request").startSpan();
+            Callable<String> task;
+            try (Scope scope = span.makeCurrent()) {
+                MDC.put("traceId", span.getSpanContext().getTraceId());
+                task = TaskContext.capture().wrap(() -> Span.current().getSpanContext().getSpanId() + " " + MDC.get("traceId"));
+            } finally {
+                MDC.clear();
+                span.end();
+            }
+
+            assertEquals(span.getSpanContext().getSpanId() + " " + span.getSpanContext().getTraceId(),
+                    executor.submit(task).get());
+            assertEquals(SpanContext.getInvalid(), executor.submit(() -> Span.current().getSpanContext()).get());
+            assertNull(executor.submit(() -> MDC.get("traceId")).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void get_restoresWorkersOwnMdc() {
+        MDC.put("traceId", "worker");
+        TaskContext captured;
+        try {
+            MDC.put("traceId", "request");
+            captured = TaskContext.capture();
+            MDC.put("traceId", "worker");
+
+            assertEquals("request", captured.get(() -> MDC.get("traceId")));
+            assertEquals("worker", MDC.get("traceId"));
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @Test
+    void wrap_handsRequestEndpointToWorker() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/borrowing/statistic");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/borrowing/statistic");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            assertEquals("GET /borrowing/statistic", TaskContext.endpoint());
+            Callable<String> task = TaskContext.capture().wrap(TaskContext::endpoint);
+
+            assertEquals("GET /borrowing/statistic", executor.submit(task).get());
+            assertNull(executor.submit(TaskContext::endpoint).get());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+            executor.shutdown();
+        }
+    }
+}
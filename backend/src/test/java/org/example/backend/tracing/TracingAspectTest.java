@@ -0,0 +1,119 @@
+package org.example.backend.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingAspectTest {
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+    private SdkTracerProvider tracerProvider;
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void traceCache_sampledParent_opensChildSpan() {
+        Tracer tracer = tracer(Sampler.alwaysOn());
+        CacheService service = proxy(tracer);
+
+        Span parent = tracer.nextSpan().name("request").start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(parent)) {
+            assertEquals("value", service.lookup(true));
+        } finally {
+            parent.end();
+        }
+
+        List<SpanData> spans = exporter.getFinishedSpanItems();
+        assertEquals(2, spans.size());
+        SpanData lookup = spans.get(0);
+        assertEquals("cache test", lookup.getName());
+        assertEquals(parent.context().spanId(), lookup.getParentSpanId());
+        assertEquals("cache", lookup.getAttributes().get(AttributeKey.stringKey("component")));
+        assertEquals(true, lookup.getAttributes().get(AttributeKey.booleanKey("cache.hit")));
+    }
+
+    @Test
+    void traceCache_failure_marksSpanAndRethrows() {
+        Tracer tracer = tracer(Sampler.alwaysOn());
+        CacheService service = proxy(tracer);
+
+        Span parent = tracer.nextSpan().name("request").start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(parent)) {
+            assertThrows(IllegalStateException.class, () -> service.fail());
+        } finally {
+            parent.end();
+        }
+
+        SpanData lookup = exporter.getFinishedSpanItems().get(0);
+        assertEquals(StatusCode.ERROR, lookup.getStatus().getStatusCode());
+    }
+
+    @Test
+    void traceCache_unsampledParent_createsNoSpan() {
+        Tracer tracer = tracer(Sampler.alwaysOff());
+        CacheService service = proxy(tracer);
+
+        Span parent = tracer.nextSpan().name("request").start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(parent)) {
+            assertEquals("value", service.lookup(false));
+        } finally {
+            parent.end();
+        }
+
+        assertTrue(exporter.getFinishedSpanItems().isEmpty());
+    }
+
+    @Test
+    void traceCache_withoutParent_createsNoSpan() {
+        CacheService service = proxy(tracer(Sampler.alwaysOn()));
+
+        assertEquals("value", service.lookup(true));
+        assertTrue(exporter.getFinishedSpanItems().isEmpty());
+    }
+
+    private Tracer tracer(Sampler sampler) {
+        tracerProvider = SdkTracerProvider.builder()
+                .setSampler(sampler)
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build();
+        return new OtelTracer(tracerProvider.get("test"), new OtelCurrentTraceContext(), event -> { });
+    }
+
+    private static CacheService proxy(Tracer tracer) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new CacheService());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new TracingAspect(tracer));
+        return factory.getProxy();
+    }
+
+    static class CacheService {
+        @Traced("cache test")
+        public String lookup(boolean hit) {
+            io.opentelemetry.api.trace.Span.current().setAttribute("cache.hit", hit);
+            return "value";
+        }
+
+        @Traced("cache test")
+        public String fail() {
+            throw new IllegalStateException("broken");
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package org.example.backend.tracing;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.example.backend.model.Book;
+import org.example.backend.model.User;
+import org.example.backend.repository.BookRepository;
+import org.example.backend.repository.UserRepository;
+import org.example.backend.sql.SqlTrace;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Samples every request and checks the spans of a borrow, a statistics query run on the reporting
+ * executor and an availability lookup, both in an in-memory collector and in the OTLP JSON file,
+ * and that SQL trace entries carry the trace ID.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tracing;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database=DEFAULT",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "management.tracing.sampling.probability=1.0",
+        "sql.trace.sample-rate=1",
+        "statistics.snapshot.enabled=false"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+@Import(TracingIntegrationTest.InMemoryExportConfig.class)
+class TracingIntegrationTest {
+    private static final AtomicInteger NAMES = new AtomicInteger();
+
+    @TempDir
+    static Path tempDir;
+
+    @DynamicPropertySource
+    static void spanFile(DynamicPropertyRegistry registry) {
+        registry.add("tracing.file.path", () -> tempDir.resolve("spans.jsonl").toString());
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InMemorySpanExporter exporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private SqlTrace sqlTrace;
+
+    private Long bookId;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        Book book = new Book();
+        book.setTitle("Traced");
+        book.setAuthor("Span Author");
+        book.setAmount(1);
+        book.setAmountOfBorrowedBooks(0);
+        bookId = bookRepository.save(book).getId();
+        User user = new User();
+        user.setName("Tracer" + NAMES.incrementAndGet());
+        user.setNumberOfBorrowedBooks(0);
+        userId = userRepository.save(user).getId();
+        flush();
+        exporter.reset();
+    }
+
+    @Test
+    void borrow_spansServiceAndRepositoryCallsUnderServerSpan() throws Exception {
+        mockMvc.perform(post("/borrowing/user/{user_id}/book/{book_id}", userId, bookId)).andExpect(status().isCreated());
+        flush();
+
+        SpanData server = exporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getName().equals("http post /borrowing/user/{user_id}/book/{book_id}"))
+                .findFirst().orElseThrow();
+        List<SpanData> trace = exporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getTraceId().equals(server.getTraceId()))
+                .toList();
+        Map<String, SpanData> byId = trace.stream().collect(Collectors.toMap(SpanData::getSpanId, Function.identity()));
+
+        SpanData service = named(trace, "BorrowingServiceImpl.borrowBook");
+        assertEquals(server.getSpanId(), service.getParentSpanId());
+        assertEquals("service", service.getAttributes().get(AttributeKey.stringKey("component")));
+        List<SpanData> repositoryCalls = trace.stream()
+                .filter(span -> "repository".equals(span.getAttributes().get(AttributeKey.stringKey("component"))))
+                .toList();
+        assertFalse(repositoryCalls.isEmpty());
+        for (SpanData call : repositoryCalls) {
+            assertTrue(call.getName().matches("(Book|User|Borrowing|OutboxEvent)Repository\\.\\w+"), call.getName());
+            assertTrue(descendsFrom(call, service, byId), call.getName() + " is not inside the service span");
+        }
+
+        sqlTrace.flush();
+        assertFalse(sqlTrace.recent(entry -> server.getTraceId().equals(entry.getTraceId()), 100).isEmpty());
+
+        String file = Files.readString(tempDir.resolve("spans.jsonl"));
+        assertTrue(file.lines().allMatch(line -> line.startsWith("{\"resourceSpans\":")));
+        assertTrue(file.contains("\"traceId\":\"" + server.getTraceId() + "\""));
+    }
+
+    @Test
+    void statistic_spansReportingThreadUnderServerSpan() throws Exception {
+        mockMvc.perform(get("/borrowing/statistic")).andExpect(status().isOk());
+        flush();
+
+        SpanData server = exporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getName().equals("http get /borrowing/statistic"))
+                .findFirst().orElseThrow();
+        List<SpanData> trace = exporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getTraceId().equals(server.getTraceId()))
+                .toList();
+        Map<String, SpanData> byId = trace.stream().collect(Collectors.toMap(SpanData::getSpanId, Function.identity()));
+
+        SpanData service = named(trace, "BorrowingServiceImpl.getDistinctBorrowedBooksTitlesAndCounts");
+        SpanData query = named(trace, "BorrowingRepository.findDistinctBorrowedBooksTitlesAndCountsBorrowedCopies");
+        assertTrue(descendsFrom(query, service, byId), "reporting query is not inside the service span");
+    }
+
+    @Test
+    void availability_spansCacheLookupWithHitAttribute() throws Exception {
+        mockMvc.perform(get("/book/{id}/availability", bookId)).andExpect(status().isOk());
+        mockMvc.perform(get("/book/{id}/availability", bookId)).andExpect(status().isOk());
+        flush();
+
+        List<Boolean> hits = exporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getName().equals("cache book.availability"))
+                .map(span -> span.getAttributes().get(AttributeKey.booleanKey("cache.hit")))
+                .toList();
+        assertEquals(List.of(false, true), hits);
+    }
+
+    private void flush() {
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+    }
+
+    private static SpanData named(List<SpanData> spans, String name) {
+        return spans.stream().filter(span -> span.getName().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError("no span " + name + " in " + spans.stream().map(SpanData::getName).toList()));
+    }
+
+    private static boolean descendsFrom(SpanData span, SpanData ancestor, Map<String, SpanData> byId) {
+        for (SpanData parent = byId.get(span.getParentSpanId()); parent != null; parent = byId.get(parent.getParentSpanId())) {
+            if (parent.getSpanId().equals(ancestor.getSpanId())) return true;
+        }
+        return false;
+    }
+
+    @TestConfiguration
+    static class InMemoryExportConfig {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
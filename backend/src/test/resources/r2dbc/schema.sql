@@ -0,0 +1,22 @@
+CREATE TABLE IF NOT EXISTS books (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title varchar(255),
+    author varchar(255),
+    amount integer,
+    amount_of_borrowed_books integer,
+    version bigint NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name varchar(255),
+    membership_date date,
+    number_of_borrowed_books integer,
+    version bigint NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS borrowing (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id bigint NOT NULL REFERENCES users(id),
+    book_id bigint NOT NULL REFERENCES books(id)
+);